@@ -1,5 +1,5 @@
 import { NextRequest, NextResponse } from "next/server";
-import { SERVICES } from "@/config/services";
+import { SERVICES, forwardedFor } from "@/config/services";
 
 export async function POST(request: NextRequest) {
   try {
@@ -9,6 +9,7 @@ export async function POST(request: NextRequest) {
       method: "POST",
       headers: {
         "Content-Type": "application/json",
+        ...forwardedFor(request),
       },
       body: JSON.stringify(body),
     });
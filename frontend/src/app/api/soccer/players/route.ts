@@ -1,5 +1,5 @@
 import { NextRequest, NextResponse } from 'next/server';
-import { SERVICES, SOCCER_ENDPOINTS } from '@/config/services';
+import { SERVICES, SOCCER_ENDPOINTS, forwardedFor } from '@/config/services';
 
 /**
  * Soccer Service - Players API Routes
@@ -13,6 +13,7 @@ export async function GET(request: NextRequest) {
       method: 'GET',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardedFor(request),
       },
       cache: 'no-store',
     });
@@ -49,6 +50,7 @@ export async function POST(request: NextRequest) {
       method: 'POST',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardedFor(request),
       },
       body: JSON.stringify(body),
     });
@@ -85,6 +87,7 @@ export async function PUT(request: NextRequest) {
       method: 'PUT',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardedFor(request),
       },
       body: JSON.stringify(body),
     });
@@ -121,6 +124,7 @@ export async function DELETE(request: NextRequest) {
       method: 'DELETE',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardedFor(request),
       },
       body: JSON.stringify(body),
     });
@@ -1,5 +1,5 @@
 import { NextRequest, NextResponse } from 'next/server';
-import { SERVICES, SOCCER_ENDPOINTS } from '@/config/services';
+import { SERVICES, SOCCER_ENDPOINTS, forwardedFor } from '@/config/services';
 
 /**
  * Soccer Service - Schedules findById API Route
@@ -14,6 +14,7 @@ export async function POST(request: NextRequest) {
       method: 'POST',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardedFor(request),
       },
       body: JSON.stringify(body),
     });
@@ -1,5 +1,5 @@
 import { NextRequest, NextResponse } from 'next/server';
-import { SERVICES, SOCCER_ENDPOINTS } from '@/config/services';
+import { SERVICES, SOCCER_ENDPOINTS, forwardedFor } from '@/config/services';
 
 /**
  * Soccer Service - Schedules API Routes
@@ -15,6 +15,7 @@ export async function GET(request: NextRequest) {
       method: 'GET',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardedFor(request),
       },
       cache: 'no-store',
     });
@@ -51,6 +52,7 @@ export async function POST(request: NextRequest) {
       method: 'POST',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardedFor(request),
       },
       body: JSON.stringify(body),
     });
@@ -87,6 +89,7 @@ export async function PUT(request: NextRequest) {
       method: 'PUT',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardedFor(request),
       },
       body: JSON.stringify(body),
     });
@@ -123,6 +126,7 @@ export async function DELETE(request: NextRequest) {
       method: 'DELETE',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardedFor(request),
       },
       body: JSON.stringify(body),
     });
@@ -21,3 +21,12 @@ export const SOCCER_ENDPOINTS = {
   STADIUMS: '/api/soccer/stadiums',
 } as const;
 
+
+/**
+ * 게이트웨이로 넘길 클라이언트 주소 헤더
+ * 게이트웨이는 이 서버가 넘긴 X-Forwarded-For로 클라이언트별 요청 제한을 적용 (GATEWAY_TRUSTED_PROXIES)
+ */
+export function forwardedFor(request: Request): Record<string, string> {
+  const forwarded = request.headers.get('x-forwarded-for');
+  return forwarded ? { 'X-Forwarded-For': forwarded } : {};
+}
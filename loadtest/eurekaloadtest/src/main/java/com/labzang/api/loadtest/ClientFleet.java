@@ -0,0 +1,213 @@
+package com.labzang.api.loadtest;
+
+import java.io.IOException;
+import java.lang.management.MemoryUsage;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.IntStream;
+
+/**
+ * One tier: {@code clients} simulated Eureka clients, a virtual thread each, making the
+ * calls a real client makes. The ramp-up registers them all (with a full fetch each, as a
+ * client does at startup); then each renews and fetches the delta on its own schedule,
+ * phase-shifted at random within the interval so the load is spread as it is in a real
+ * fleet. Only the calls due inside the measured window after the warm-up are recorded.
+ * Their latency counts from when they were due, so a server that falls behind shows in
+ * the percentiles instead of quietly stretching every client's schedule.
+ *
+ * The clients share one HTTP/1.1 connection pool, where real clients hold a connection
+ * each; the server sees the same requests over fewer connections.
+ */
+final class ClientFleet {
+
+    private static final String JSON = "application/json";
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final EurekaServerProcess server;
+    private final LoadTestOptions options;
+    private final int size;
+    private final Latencies register = new Latencies("register");
+    private final Latencies fullFetch = new Latencies("full-fetch");
+    private final Latencies renew = new Latencies("renew");
+    private final Latencies deltaFetch = new Latencies("delta-fetch");
+
+    ClientFleet(EurekaServerProcess server, LoadTestOptions options, int size) {
+        this.server = server;
+        this.options = options;
+        this.size = size;
+    }
+
+    TierResult run() throws InterruptedException {
+        Random random = new Random(options.seed());
+        List<Client> clients = IntStream.range(0, size)
+                .mapToObj(i -> new Client("LOADTEST-" + (i % options.apps()), "loadtest-" + i, 10_000 + i,
+                        random.nextDouble(), random.nextDouble()))
+                .toList();
+
+        long rampStarted;
+        long measureFrom;
+        Duration rampUp;
+        EurekaServerProcess.Counters before;
+        EurekaServerProcess.Counters after;
+        MemoryUsage heap;
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore inFlight = new Semaphore(options.registerConcurrency());
+            rampStarted = System.nanoTime();
+            for (Client client : clients) {
+                inFlight.acquire();
+                threads.execute(() -> {
+                    try {
+                        client.register(true);
+                        client.fullFetch();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(options.registerConcurrency());
+            rampUp = Duration.ofNanos(System.nanoTime() - rampStarted);
+
+            measureFrom = System.nanoTime() + options.warmup().toNanos();
+            long measureUntil = measureFrom + options.duration().toNanos();
+            for (Client client : clients) {
+                threads.execute(() -> client.runUntil(measureFrom, measureUntil));
+            }
+            sleepUntil(measureFrom);
+            before = server.counters();
+            sleepUntil(measureUntil);
+            after = server.counters();
+            heap = server.heap();
+        }
+        MemoryUsage live = server.liveHeap();
+
+        return new TierResult(size, rampUp,
+                List.of(register.stats(rampStarted, rampUp), fullFetch.stats(rampStarted, rampUp),
+                        renew.stats(measureFrom, options.duration()), deltaFetch.stats(measureFrom, options.duration())),
+                megabytes(heap.getUsed()), megabytes(heap.getCommitted()), megabytes(live.getUsed()),
+                after.collections() - before.collections(), after.collectionMillis() - before.collectionMillis(),
+                (after.cpuNanos() - before.cpuNanos()) / (double) options.duration().toNanos());
+    }
+
+    private static long megabytes(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(Duration.ofNanos(remaining));
+        }
+    }
+
+    private final class Client {
+
+        private final String app;
+        private final String id;
+        private final int port;
+        private final double renewPhase;
+        private final double fetchPhase;
+        private final long dirtyTimestamp = System.currentTimeMillis();
+
+        Client(String app, String id, int port, double renewPhase, double fetchPhase) {
+            this.app = app;
+            this.id = id;
+            this.port = port;
+            this.renewPhase = renewPhase;
+            this.fetchPhase = fetchPhase;
+        }
+
+        void register(boolean measured) {
+            int renewalSeconds = (int) Math.max(1, options.renewInterval().toSeconds());
+            String body = """
+                    {"instance":{"instanceId":"%s","hostName":"localhost","app":"%s","ipAddr":"127.0.0.1",\
+                    "status":"UP","port":{"$":%d,"@enabled":"true"},"securePort":{"$":443,"@enabled":"false"},\
+                    "dataCenterInfo":{"@class":"com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo","name":"MyOwn"},\
+                    "leaseInfo":{"renewalIntervalInSecs":%d,"durationInSecs":%d},"vipAddress":"%s",\
+                    "lastUpdatedTimestamp":"%d","lastDirtyTimestamp":"%d","metadata":{"management.port":"%d"}}}"""
+                    .formatted(id, app, port, renewalSeconds, renewalSeconds * 3, app.toLowerCase(),
+                            dirtyTimestamp, dirtyTimestamp, port);
+            call(HttpRequest.newBuilder(uri("/apps/" + app))
+                    .header("Content-Type", JSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(body)), register, measured, System.nanoTime());
+        }
+
+        void fullFetch() {
+            call(fetch("/apps/"), fullFetch, true, System.nanoTime());
+        }
+
+        void runUntil(long measureFrom, long measureUntil) {
+            long renewEvery = options.renewInterval().toNanos();
+            long fetchEvery = options.fetchInterval().toNanos();
+            long started = System.nanoTime();
+            long nextRenew = started + (long) (renewPhase * renewEvery);
+            long nextFetch = started + (long) (fetchPhase * fetchEvery);
+            while (true) {
+                long next = Math.min(nextRenew, nextFetch);
+                if (next >= measureUntil) {
+                    return;
+                }
+                try {
+                    sleepUntil(next);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                boolean measured = next >= measureFrom;
+                if (nextRenew <= nextFetch) {
+                    int status = call(HttpRequest.newBuilder(uri("/apps/" + app + "/" + id
+                                    + "?status=UP&lastDirtyTimestamp=" + dirtyTimestamp))
+                            .PUT(HttpRequest.BodyPublishers.noBody()), renew, measured, next);
+                    if (status == 404) {
+                        // What a real client does when the server lost its lease.
+                        register(false);
+                    }
+                    nextRenew += renewEvery;
+                } else {
+                    call(fetch("/apps/delta"), deltaFetch, measured, next);
+                    nextFetch += fetchEvery;
+                }
+            }
+        }
+
+        private HttpRequest.Builder fetch(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Accept", JSON).header("Accept-Encoding", "gzip").GET();
+        }
+
+        private URI uri(String path) {
+            return URI.create(server.baseUrl() + path);
+        }
+
+        /** Sends and reads the whole response; any status from 300 up counts as an error. */
+        private int call(HttpRequest.Builder request, Latencies latencies, boolean measured, long due) {
+            try {
+                int status = http.send(request.timeout(Duration.ofSeconds(10)).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (measured) {
+                    latencies.record(due, System.nanoTime());
+                    if (status >= 300) {
+                        latencies.error();
+                    }
+                }
+                return status;
+            } catch (IOException e) {
+                if (measured) {
+                    latencies.error();
+                }
+                return -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        }
+    }
+}
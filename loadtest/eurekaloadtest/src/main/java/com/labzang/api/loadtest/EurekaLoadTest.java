@@ -0,0 +1,95 @@
+package com.labzang.api.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sizing tool for one eurekaserver node: for each client-count tier it starts a fresh
+ * server ({@link EurekaServerProcess}), drives it with that many simulated clients
+ * ({@link ClientFleet}) and reports throughput, p50/p99 latency per operation, heap and
+ * GC. Everything runs locally and is seeded, so runs on the same machine are comparable.
+ * The load generator shares the machine with the server; on a small box, watch the
+ * server's CPU column before reading too much into the latencies.
+ *
+ *   ./gradlew :loadtest:eurekaloadtest:bootRun --args='--tiers=1000,2000,5000'
+ *
+ * Options are listed on {@link LoadTestOptions}.
+ */
+public final class EurekaLoadTest {
+
+    private EurekaLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        List<TierResult> results = run(options, System.out);
+        printSummary(System.out, results);
+        if (options.report() != null) {
+            writeCsv(options.report(), results);
+            System.out.println("CSV written to " + options.report().toAbsolutePath());
+        }
+    }
+
+    static List<TierResult> run(LoadTestOptions options, PrintStream out) throws IOException, InterruptedException {
+        out.printf("Eureka load test: tiers %s, %d apps, renew every %ss, delta fetch every %ss, %ss warm-up, %ss measured%n",
+                options.tiers(), options.apps(), options.renewInterval().toMillis() / 1000.0,
+                options.fetchInterval().toMillis() / 1000.0, options.warmup().toSeconds(), options.duration().toSeconds());
+        List<TierResult> results = new ArrayList<>();
+        for (int clients : options.tiers()) {
+            try (EurekaServerProcess server = EurekaServerProcess.start(options, clients + "-clients")) {
+                TierResult result = new ClientFleet(server, options, clients).run();
+                printTier(out, result);
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private static void printTier(PrintStream out, TierResult result) {
+        out.printf(Locale.ROOT, "%n== %d clients (ramp-up %.1fs) ==%n", result.clients(), result.rampUp().toMillis() / 1000.0);
+        out.printf("%-12s %8s %7s %9s %8s %8s %8s%n", "operation", "count", "errors", "ops/s", "p50 ms", "p99 ms", "max ms");
+        for (Latencies.OperationStats stats : result.operations()) {
+            out.printf(Locale.ROOT, "%-12s %8d %7d %9.1f %8.2f %8.2f %8.2f%n", stats.operation(), stats.count(),
+                    stats.errors(), stats.perSecond(), stats.p50Millis(), stats.p99Millis(), stats.maxMillis());
+        }
+        out.printf(Locale.ROOT, "server: heap %d/%d MB, live %d MB after GC, %d GCs taking %d ms, %.2f CPU cores%n",
+                result.heapUsedMb(), result.heapCommittedMb(), result.liveHeapMb(),
+                result.gcCollections(), result.gcMillis(), result.cpuCores());
+    }
+
+    private static void printSummary(PrintStream out, List<TierResult> results) {
+        out.printf("%n%8s %12s %16s %16s %9s %6s %6s %5s%n",
+                "clients", "steady op/s", "renew p50/p99", "delta p50/p99", "live MB", "GCs", "GC ms", "CPU");
+        for (TierResult result : results) {
+            Latencies.OperationStats renew = result.operation("renew");
+            Latencies.OperationStats delta = result.operation("delta-fetch");
+            out.printf(Locale.ROOT, "%8d %12.1f %7.2f/%-8.2f %7.2f/%-8.2f %9d %6d %6d %5.2f%n",
+                    result.clients(), renew.perSecond() + delta.perSecond(),
+                    renew.p50Millis(), renew.p99Millis(), delta.p50Millis(), delta.p99Millis(),
+                    result.liveHeapMb(), result.gcCollections(), result.gcMillis(), result.cpuCores());
+        }
+    }
+
+    static void writeCsv(Path path, List<TierResult> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("clients,operation,count,errors,ops_per_second,p50_ms,p99_ms,max_ms,"
+                + "heap_used_mb,heap_committed_mb,live_heap_mb,gc_collections,gc_ms,cpu_cores");
+        for (TierResult result : results) {
+            for (Latencies.OperationStats stats : result.operations()) {
+                lines.add(String.format(Locale.ROOT, "%d,%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%d,%d,%d,%d,%d,%.3f",
+                        result.clients(), stats.operation(), stats.count(), stats.errors(), stats.perSecond(),
+                        stats.p50Millis(), stats.p99Millis(), stats.maxMillis(),
+                        result.heapUsedMb(), result.heapCommittedMb(), result.liveHeapMb(),
+                        result.gcCollections(), result.gcMillis(), result.cpuCores()));
+            }
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Files.write(path, lines);
+    }
+}
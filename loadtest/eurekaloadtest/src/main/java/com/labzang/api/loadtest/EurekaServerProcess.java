@@ -0,0 +1,179 @@
+package com.labzang.api.loadtest;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import com.sun.management.OperatingSystemMXBean;
+
+/**
+ * A freshly started eurekaserver in its own JVM, so heap, GC and CPU figures are the
+ * server's alone and one tier's garbage does not carry into the next. The server is
+ * watched over local JMX; its output goes to a log file per tier.
+ */
+final class EurekaServerProcess implements AutoCloseable {
+
+    static final String CLASSPATH_PROPERTY = "loadtest.server-classpath";
+    private static final String MAIN_CLASS = "com.labzang.api.eureka.EurekaApplication";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    private final Process process;
+    private final Path log;
+    private final String baseUrl;
+    private JMXConnector jmx;
+    private MemoryMXBean memory;
+    private List<GarbageCollectorMXBean> collectors;
+    private OperatingSystemMXBean os;
+
+    private EurekaServerProcess(Process process, Path log, int port) {
+        this.process = process;
+        this.log = log;
+        this.baseUrl = "http://localhost:" + port + "/eureka";
+    }
+
+    static EurekaServerProcess start(LoadTestOptions options, String name) throws IOException, InterruptedException {
+        String classpath = System.getProperty(CLASSPATH_PROPERTY);
+        if (classpath == null || classpath.isBlank()) {
+            throw new IllegalStateException(CLASSPATH_PROPERTY + " is not set; run through ./gradlew :loadtest:eurekaloadtest:bootRun");
+        }
+        int port = freePort();
+        int jmxPort = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + options.serverHeap(),
+                "-Dcom.sun.management.jmxremote.port=" + jmxPort,
+                "-Dcom.sun.management.jmxremote.rmi.port=" + jmxPort,
+                "-Dcom.sun.management.jmxremote.authenticate=false",
+                "-Dcom.sun.management.jmxremote.ssl=false",
+                "-Dcom.sun.management.jmxremote.local.only=true",
+                "-Djava.rmi.server.hostname=localhost",
+                "-cp", classpath,
+                MAIN_CLASS,
+                "--server.port=" + port,
+                "--eureka.instance.hostname=localhost",
+                // One line per registration is most of the output at these client counts.
+                "--logging.level.com.netflix.eureka=WARN"));
+        if (!options.profiles().isBlank()) {
+            command.add("--spring.profiles.active=" + options.profiles());
+        }
+        Files.createDirectories(options.logDir());
+        Path log = options.logDir().resolve("eurekaserver-" + name + ".log");
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+
+        EurekaServerProcess server = new EurekaServerProcess(process, log, port);
+        try {
+            server.awaitStarted();
+            server.connect(jmxPort);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        return server;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    Path log() {
+        return log;
+    }
+
+    Counters counters() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return new Counters(count, millis, os.getProcessCpuTime());
+    }
+
+    MemoryUsage heap() {
+        return memory.getHeapMemoryUsage();
+    }
+
+    /** Heap still in use after a full collection: the registry and caches the server holds. */
+    MemoryUsage liveHeap() {
+        memory.gc();
+        return memory.getHeapMemoryUsage();
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (jmx != null) {
+                jmx.close();
+            }
+        } catch (IOException ignored) {
+            // the process goes away next
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitStarted() throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/apps"))
+                .header("Accept", "application/json").timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("eurekaserver exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notYet) {
+                // still starting
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("eurekaserver did not start within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private void connect(int jmxPort) throws IOException {
+        jmx = JMXConnectorFactory.connect(new JMXServiceURL("service:jmx:rmi:///jndi/rmi://localhost:" + jmxPort + "/jmxrmi"));
+        MBeanServerConnection connection = jmx.getMBeanServerConnection();
+        memory = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+        collectors = ManagementFactory.getPlatformMXBeans(connection, GarbageCollectorMXBean.class);
+        os = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME,
+                OperatingSystemMXBean.class);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /** Collections, collection time and process CPU time so far; tiers report the difference over the measured window. */
+    record Counters(long collections, long collectionMillis, long cpuNanos) {
+    }
+}
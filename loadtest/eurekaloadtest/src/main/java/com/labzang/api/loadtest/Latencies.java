@@ -0,0 +1,56 @@
+package com.labzang.api.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Every latency of one operation, kept in full so percentiles are exact; a tier records
+ * at most a few hundred thousand samples. The rate is over the window or, when the server
+ * fell behind, until the last call in it completed.
+ */
+final class Latencies {
+
+    private final String operation;
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private long lastCompleted;
+
+    Latencies(String operation) {
+        this.operation = operation;
+    }
+
+    /** {@code due} is when the call should have started, which may be before it could be sent. */
+    synchronized void record(long due, long completed) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = completed - due;
+        lastCompleted = Math.max(lastCompleted, completed);
+    }
+
+    synchronized void error() {
+        errors++;
+    }
+
+    synchronized OperationStats stats(long windowStart, Duration window) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long span = count == 0 ? window.toNanos() : Math.max(window.toNanos(), lastCompleted - windowStart);
+        return new OperationStats(operation, count, errors, count / (span / 1e9),
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                millis(count == 0 ? 0 : sorted[count - 1]));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    record OperationStats(String operation, int count, long errors, double perSecond,
+                          double p50Millis, double p99Millis, double maxMillis) {
+    }
+}
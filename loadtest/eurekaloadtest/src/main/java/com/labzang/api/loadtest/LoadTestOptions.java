@@ -0,0 +1,80 @@
+package com.labzang.api.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options, all {@code --name=value}. The defaults are Eureka's own client
+ * timings (30s renewals and delta fetches), so ops/s per tier is what that many real
+ * clients would send; shorter intervals compress time to reach a higher request rate
+ * with fewer clients.
+ *
+ * <pre>
+ * --tiers=500,1000,2000,4000     client counts, each against a fresh server
+ * --apps=20                      applications the clients are spread over
+ * --renew-interval=30s           heartbeat period per client
+ * --fetch-interval=30s           delta fetch period per client
+ * --warmup=30s                   steady load before measuring
+ * --duration=60s                 measured steady load
+ * --register-concurrency=50      registrations in flight during the ramp-up
+ * --server-heap=512m             -Xmx of the forked server
+ * --profiles=                    server Spring profiles, e.g. fast-convergence
+ * --seed=1                       client phases, so runs are repeatable
+ * --report=                      also write the results as CSV to this file
+ * --log-dir=build/loadtest       server output, one file per tier
+ * </pre>
+ */
+record LoadTestOptions(List<Integer> tiers, int apps, Duration renewInterval, Duration fetchInterval,
+                       Duration warmup, Duration duration, int registerConcurrency, String serverHeap,
+                       String profiles, long seed, Path report, Path logDir) {
+
+    static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Arrays.stream(values.getOrDefault("tiers", "500,1000,2000,4000").split(","))
+                        .map(String::trim).map(Integer::valueOf).toList(),
+                Integer.parseInt(values.getOrDefault("apps", "20")),
+                duration(values.getOrDefault("renew-interval", "30s")),
+                duration(values.getOrDefault("fetch-interval", "30s")),
+                duration(values.getOrDefault("warmup", "30s")),
+                duration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("register-concurrency", "50")),
+                values.getOrDefault("server-heap", "512m"),
+                values.getOrDefault("profiles", ""),
+                Long.parseLong(values.getOrDefault("seed", "1")),
+                values.containsKey("report") ? Path.of(values.get("report")) : null,
+                Path.of(values.getOrDefault("log-dir", "build/loadtest")));
+        for (String name : List.of("tiers", "apps", "renew-interval", "fetch-interval", "warmup", "duration",
+                "register-concurrency", "server-heap", "profiles", "seed", "report", "log-dir")) {
+            values.remove(name);
+        }
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        return options;
+    }
+
+    /** 500ms, 30s, 2m. */
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Expected a duration like 500ms, 30s or 2m, got " + value);
+        };
+    }
+}
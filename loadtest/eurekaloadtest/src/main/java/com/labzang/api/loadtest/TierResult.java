@@ -0,0 +1,18 @@
+package com.labzang.api.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * What one client count did to the server. Register and full-fetch rates are over the
+ * ramp-up; renew and delta-fetch rates, GC and CPU over the measured window. Live heap is
+ * taken after a full collection at the end of the window.
+ */
+record TierResult(int clients, Duration rampUp, List<Latencies.OperationStats> operations,
+                  long heapUsedMb, long heapCommittedMb, long liveHeapMb,
+                  long gcCollections, long gcMillis, double cpuCores) {
+
+    Latencies.OperationStats operation(String name) {
+        return operations.stream().filter(stats -> stats.operation().equals(name)).findFirst().orElseThrow();
+    }
+}
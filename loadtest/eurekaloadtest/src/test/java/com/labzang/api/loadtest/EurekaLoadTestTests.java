@@ -0,0 +1,46 @@
+package com.labzang.api.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * One small, time-compressed tier against a forked server: every kind of call is made
+ * and answered without errors, and the server's heap and GC are read.
+ */
+class EurekaLoadTestTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void smallTierReportsEveryOperation() throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse("--tiers=40", "--apps=4",
+                "--renew-interval=1s", "--fetch-interval=1s", "--warmup=1s", "--duration=3s",
+                "--log-dir=" + directory);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        List<TierResult> results = EurekaLoadTest.run(options, new PrintStream(output, true));
+
+        TierResult tier = results.getFirst();
+        assertThat(tier.clients()).isEqualTo(40);
+        for (String operation : List.of("register", "full-fetch", "renew", "delta-fetch")) {
+            assertThat(tier.operation(operation).count()).as(operation).isPositive();
+            assertThat(tier.operation(operation).errors()).as(operation).isZero();
+        }
+        assertThat(tier.operation("register").count()).isEqualTo(40);
+        assertThat(tier.liveHeapMb()).isPositive();
+        assertThat(output.toString()).contains("== 40 clients");
+
+        Path csv = directory.resolve("report.csv");
+        EurekaLoadTest.writeCsv(csv, results);
+        assertThat(Files.readAllLines(csv)).hasSize(1 + 4);
+    }
+}
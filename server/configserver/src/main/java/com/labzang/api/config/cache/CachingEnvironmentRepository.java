@@ -0,0 +1,50 @@
+package com.labzang.api.config.cache;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.core.Ordered;
+
+/**
+ * Stands in for the {@link NativeEnvironmentRepository} bean and answers from the
+ * {@link EnvironmentCache}, so the YAML behind a given application/profile/label is read
+ * and parsed once instead of on every client bootstrap and refresh.
+ *
+ * Callers get a fresh {@link Environment} over the cached property sources; the chain
+ * above (composite, decryption, overrides) adds to the environment it is handed.
+ */
+public class CachingEnvironmentRepository implements EnvironmentRepository, SearchPathLocator, Ordered {
+
+    private final NativeEnvironmentRepository delegate;
+    private final EnvironmentCache cache;
+
+    public CachingEnvironmentRepository(NativeEnvironmentRepository delegate, EnvironmentCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label) {
+        return findOne(application, profile, label, false);
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+        EnvironmentCache.Key key = new EnvironmentCache.Key(application, profile, label, includeOrigin);
+        Environment cached = cache.get(key, () -> delegate.findOne(application, profile, label, includeOrigin)).environment();
+        Environment copy = new Environment(cached);
+        copy.addAll(cached.getPropertySources());
+        return copy;
+    }
+
+    @Override
+    public Locations getLocations(String application, String profile, String label) {
+        return delegate.getLocations(application, profile, label);
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate.getOrder();
+    }
+}
@@ -0,0 +1,118 @@
+package com.labzang.api.config.cache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.cloud.config.environment.Environment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Environments as the native repository parsed them, per application/profile/label (and
+ * whether origins were asked for), each with an ETag over its content. A content ETag
+ * survives invalidations that did not change the result and is the same on every
+ * configserver replica.
+ *
+ * Concurrent first requests for one key wait for a single parse. Entries stay until
+ * {@link #invalidate} (the {@link SearchLocationWatcher} calls it on any change under the
+ * search locations); a parse that was running across an invalidation is served but not
+ * kept.
+ */
+@Slf4j
+public class EnvironmentCache {
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final List<Consumer<Map<Key, Entry>>> invalidationListeners = new CopyOnWriteArrayList<>();
+    private volatile String disabledReason;
+
+    public EnvironmentCache(ObjectMapper objectMapper, int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+    }
+
+    Entry get(Key key, Supplier<Environment> loader) {
+        if (disabledReason != null) {
+            return load(loader, generation.get());
+        }
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        if (entries.size() >= maxEntries) {
+            return load(loader, generation.get());
+        }
+        long started = generation.get();
+        entry = entries.computeIfAbsent(key, k -> load(loader, started));
+        if (entry.generation() != generation.get()) {
+            entries.remove(key, entry);
+        }
+        return entry;
+    }
+
+    /** The cached entry, without loading it. */
+    public Entry peek(Key key) {
+        return entries.get(key);
+    }
+
+    public void invalidate(String reason) {
+        generation.incrementAndGet();
+        Map<Key, Entry> dropped = new HashMap<>(entries);
+        entries.keySet().removeAll(dropped.keySet());
+        log.info("Config sources changed ({}), dropped {} cached environments", reason, dropped.size());
+        invalidationListeners.forEach(listener -> listener.accept(dropped));
+    }
+
+    /** Called after each {@link #invalidate} with the entries it dropped, on the invalidating thread. */
+    public void addInvalidationListener(Consumer<Map<Key, Entry>> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /** Stops caching for good, e.g. when a search location cannot be watched for changes. */
+    public void disable(String reason) {
+        disabledReason = reason;
+        entries.clear();
+        log.warn("Environment cache disabled: {}", reason);
+    }
+
+    /** How many times an environment was parsed rather than served from the cache. */
+    public long loads() {
+        return loads.get();
+    }
+
+    private Entry load(Supplier<Environment> loader, long generation) {
+        loads.incrementAndGet();
+        Environment environment = loader.get();
+        return new Entry(environment, etag(environment), generation);
+    }
+
+    private String etag(Environment environment) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(environment));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash environment " + environment.getName(), e);
+        }
+    }
+
+    public record Key(String application, String profile, String label, boolean includeOrigin) {
+    }
+
+    public record Entry(Environment environment, String etag, long generation) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.labzang.api.config.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Caches what the native repository parses until its files change, and serves the
+ * environment endpoints with ETags. Only for the native profile: the other backends have
+ * their own notion of versions and refresh.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("native")
+@ConditionalOnProperty(name = "configserver.cache.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(EnvironmentCacheProperties.class)
+public class EnvironmentCacheConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<EnvironmentETagInterceptor> interceptor;
+
+    public EnvironmentCacheConfiguration(ObjectProvider<EnvironmentETagInterceptor> interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Bean
+    public EnvironmentCache environmentCache(ObjectMapper objectMapper, EnvironmentCacheProperties properties) {
+        return new EnvironmentCache(objectMapper, properties.getMaxEntries());
+    }
+
+    @Bean
+    public SearchLocationWatcher searchLocationWatcher(NativeEnvironmentProperties nativeProperties,
+                                                       ResourceLoader resourceLoader, EnvironmentCache cache) {
+        return new SearchLocationWatcher(nativeProperties.getSearchLocations(), resourceLoader, cache);
+    }
+
+    @Bean
+    public EnvironmentETagInterceptor environmentETagInterceptor(EnvironmentRepository repository, EnvironmentCache cache) {
+        return new EnvironmentETagInterceptor(repository, cache);
+    }
+
+    /** Swaps the native repository bean for its cached form wherever it is injected. */
+    @Bean
+    public static BeanPostProcessor cachingNativeEnvironmentRepository(ObjectProvider<EnvironmentCache> cache) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof NativeEnvironmentRepository repository
+                        ? new CachingEnvironmentRepository(repository, cache.getObject())
+                        : bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor.getObject());
+    }
+}
@@ -0,0 +1,26 @@
+package com.labzang.api.config.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Parsed-environment cache of the native profile ({@link EnvironmentCacheConfiguration}).
+ *
+ * <pre>
+ * configserver:
+ *   cache:
+ *     enabled: true
+ *     max-entries: 1000
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties("configserver.cache")
+public class EnvironmentCacheProperties {
+
+    private boolean enabled = true;
+    /** Distinct application/profile/label combinations kept; requests beyond that are served uncached. */
+    private int maxEntries = 1000;
+}
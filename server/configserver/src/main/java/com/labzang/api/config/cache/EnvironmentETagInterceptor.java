@@ -0,0 +1,62 @@
+package com.labzang.api.config.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentController;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Conditional GETs for the JSON environment endpoints ({@code /{name}/{profiles}[/{label}]}).
+ * Before the controller runs, the environment is looked up through the repository chain,
+ * which fills the {@link EnvironmentCache} on a miss; its ETag then goes on the response,
+ * and a matching {@code If-None-Match} is answered with 304 without parsing or
+ * serialising anything. Empty environments and lookup errors are left to the controller.
+ */
+public class EnvironmentETagInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> ENVIRONMENT_METHODS =
+            Set.of("defaultLabel", "labelled", "defaultLabelIncludeOrigin", "labelledIncludeOrigin");
+
+    private final EnvironmentRepository repository;
+    private final EnvironmentCache cache;
+
+    public EnvironmentETagInterceptor(EnvironmentRepository repository, EnvironmentCache cache) {
+        this.repository = repository;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)
+                || !EnvironmentController.class.isAssignableFrom(method.getBeanType())
+                || !ENVIRONMENT_METHODS.contains(method.getMethod().getName())) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        // Same arguments as EnvironmentController.getEnvironment passes down.
+        String name = Environment.normalize(variables.get("name"));
+        String profiles = variables.get("profiles");
+        String label = Environment.normalize(variables.get("label"));
+        boolean includeOrigin = method.getMethod().getName().endsWith("IncludeOrigin");
+
+        try {
+            if (repository.findOne(name, profiles, label, includeOrigin).getPropertySources().isEmpty()) {
+                return true;
+            }
+        } catch (RuntimeException e) {
+            return true;
+        }
+        EnvironmentCache.Entry entry = cache.peek(new EnvironmentCache.Key(name, profiles, label, includeOrigin));
+        return entry == null || !new ServletWebRequest(request, response).checkNotModified(entry.etag());
+    }
+}
@@ -0,0 +1,124 @@
+package com.labzang.api.config.cache;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches the native search locations and invalidates the {@link EnvironmentCache} on any
+ * create, change or delete below them (subdirectories included, so label directories are
+ * covered). Placeholders such as {@code {application}} are watched from the directory
+ * before the first one.
+ *
+ * A classpath location inside a jar cannot change while the server runs and needs no
+ * watching; one that is a directory on disk (an IDE or exploded run) is watched like a
+ * {@code file:} location. If a location is neither, e.g. a {@code file:} directory that
+ * does not exist yet, changes there would go unnoticed, so the cache is disabled instead.
+ */
+@Slf4j
+public class SearchLocationWatcher {
+
+    /** NativeEnvironmentRepository's own defaults when no search-locations are configured. */
+    private static final List<String> DEFAULT_LOCATIONS =
+            List.of("optional:classpath:/", "optional:classpath:/config/", "optional:file:./", "optional:file:./config/");
+
+    private final List<String> locations;
+    private final ResourceLoader resourceLoader;
+    private final EnvironmentCache cache;
+    private WatchService watchService;
+
+    public SearchLocationWatcher(String[] locations, ResourceLoader resourceLoader, EnvironmentCache cache) {
+        this.locations = locations == null || locations.length == 0 ? DEFAULT_LOCATIONS : List.of(locations);
+        this.resourceLoader = resourceLoader;
+        this.cache = cache;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        List<Path> directories = new ArrayList<>();
+        for (String location : locations) {
+            String path = staticPrefix(location.startsWith("optional:") ? location.substring("optional:".length()) : location);
+            Resource resource = resourceLoader.getResource(path);
+            Path directory = resource.isFile() ? resource.getFile().toPath() : null;
+            if (directory != null && Files.isDirectory(directory)) {
+                directories.add(directory);
+            } else if (!path.startsWith("classpath:")) {
+                cache.disable(location + " is not a directory that can be watched");
+                return;
+            }
+        }
+        if (directories.isEmpty()) {
+            log.info("Search locations {} are packaged with the server, caching environments until restart", locations);
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : directories) {
+            register(directory);
+        }
+        Thread.ofVirtual().name("config-source-watcher").start(this::watch);
+        log.info("Watching {} for config changes", directories);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                Path changed = directory;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path name) {
+                        changed = directory.resolve(name);
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                            register(changed);
+                        }
+                    }
+                }
+                key.reset();
+                cache.invalidate(changed.toString());
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        } catch (IOException e) {
+            cache.disable("watching config sources failed: " + e.getMessage());
+        }
+    }
+
+    private void register(Path root) throws IOException {
+        try (Stream<Path> tree = Files.walk(root)) {
+            for (Path directory : tree.filter(Files::isDirectory).toList()) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    /** {@code file:/config/{application}/} watches {@code file:/config/}. */
+    private static String staticPrefix(String location) {
+        int placeholder = location.indexOf('{');
+        return placeholder < 0 ? location : location.substring(0, location.lastIndexOf('/', placeholder) + 1);
+    }
+}
@@ -0,0 +1,30 @@
+package com.labzang.api.config.refresh;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.client.RestClient;
+
+import com.labzang.api.config.cache.EnvironmentCache;
+
+/**
+ * Pushes refreshes to config clients found in Eureka when the native sources change. Needs
+ * the environment cache, whose file watcher notices the changes.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("native")
+@ConditionalOnProperty(name = {"configserver.cache.enabled", "configserver.push.enabled"}, matchIfMissing = true)
+@EnableConfigurationProperties(RefreshPushProperties.class)
+public class RefreshPushConfiguration {
+
+    @Bean
+    public RefreshPusher refreshPusher(EnvironmentCache cache, EnvironmentRepository repository,
+                                       DiscoveryClient discoveryClient, RefreshPushProperties properties,
+                                       RestClient.Builder restClientBuilder) {
+        return new RefreshPusher(cache, repository, discoveryClient, properties, restClientBuilder);
+    }
+}
@@ -0,0 +1,26 @@
+package com.labzang.api.config.refresh;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Recent refresh pushes with per-instance acknowledgements, latest first. */
+@RestController
+@Profile("native")
+@ConditionalOnProperty(name = {"configserver.cache.enabled", "configserver.push.enabled"}, matchIfMissing = true)
+public class RefreshPushController {
+
+    private final RefreshPusher pusher;
+
+    public RefreshPushController(RefreshPusher pusher) {
+        this.pusher = pusher;
+    }
+
+    @GetMapping("/push/rounds")
+    public List<RefreshPushRound> rounds() {
+        return pusher.rounds();
+    }
+}
@@ -0,0 +1,40 @@
+package com.labzang.api.config.refresh;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Refresh push to config clients found in Eureka ({@link RefreshPushConfiguration}).
+ *
+ * <pre>
+ * configserver:
+ *   push:
+ *     enabled: true
+ *     parallelism: 16
+ *     timeout: 5s
+ *     quiet-period: 500ms
+ *     path: /actuator/refresh
+ *     history: 20
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties("configserver.push")
+public class RefreshPushProperties {
+
+    private boolean enabled = true;
+    /** Instances notified at the same time; the rest of a round waits for a free slot. */
+    private int parallelism = 16;
+    /** Connect and read timeout per instance; the refresh endpoint answers once the refresh is done. */
+    private Duration timeout = Duration.ofSeconds(5);
+    /** Changes closer together than this (an editor's save, a git checkout) go out as one round. */
+    private Duration quietPeriod = Duration.ofMillis(500);
+    /** POSTed on each instance, relative to its Eureka home URI. */
+    private String path = "/actuator/refresh";
+    /** Rounds kept for GET /push/rounds. */
+    private int history = 20;
+}
@@ -0,0 +1,28 @@
+package com.labzang.api.config.refresh;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One push after a config change: the keys that changed per application and how each
+ * instance of those applications answered.
+ */
+public record RefreshPushRound(long id, Instant startedAt, Duration took,
+                               Map<String, Set<String>> changedKeys, List<InstanceAck> instances) {
+
+    public long acknowledged() {
+        return instances.stream().filter(InstanceAck::acknowledged).count();
+    }
+
+    /**
+     * {@code refreshedKeys} is what the instance reported as changed in its own environment
+     * after refetching, empty until it acknowledged.
+     */
+    public record InstanceAck(String application, String instanceId, URI uri, boolean acknowledged,
+                              List<String> refreshedKeys, String error, long millis) {
+    }
+}
@@ -0,0 +1,267 @@
+package com.labzang.api.config.refresh;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.labzang.api.config.cache.EnvironmentCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tells running config clients to refresh when their configuration changes, instead of
+ * restarting them or calling each one by hand.
+ *
+ * Each {@link EnvironmentCache#invalidate} hands over the environments it dropped. After
+ * the quiet period those are parsed again and compared key by key, and only applications
+ * with changed keys are notified: every instance Eureka lists for them gets a POST to its
+ * refresh endpoint, on its management port if it advertises one, at most
+ * {@code parallelism} at a time. The endpoint refetches from this server (a cache hit by
+ * then) and answers with the keys that changed on its side, which is recorded as that
+ * instance's acknowledgement.
+ *
+ * Clients opt in by advertising their active profiles as the {@code config-profiles}
+ * instance metadata. Their environments are loaded on each Eureka heartbeat if not cached,
+ * so a change is noticed even for clients that fetched before this server (re)started.
+ */
+@Slf4j
+public class RefreshPusher {
+
+    /** Instance metadata listing the client's active profiles, as it asks this server for them. */
+    public static final String PROFILES_METADATA = "config-profiles";
+
+    /** Set by the Eureka client when actuator listens on its own port. */
+    static final String MANAGEMENT_PORT_METADATA = "management.port";
+
+    private static final ParameterizedTypeReference<List<String>> KEYS = new ParameterizedTypeReference<>() {
+    };
+
+    private final EnvironmentCache cache;
+    private final EnvironmentRepository repository;
+    private final DiscoveryClient discoveryClient;
+    private final RefreshPushProperties properties;
+    private final RestClient restClient;
+    private final Map<EnvironmentCache.Key, EnvironmentCache.Entry> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("config-refresh-push").daemon().factory());
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong rounds = new AtomicLong();
+    private final Deque<RefreshPushRound> history = new ArrayDeque<>();
+    private ScheduledFuture<?> scheduled;
+
+    public RefreshPusher(EnvironmentCache cache, EnvironmentRepository repository, DiscoveryClient discoveryClient,
+                         RefreshPushProperties properties, RestClient.Builder restClientBuilder) {
+        this.cache = cache;
+        this.repository = repository;
+        this.discoveryClient = discoveryClient;
+        this.properties = properties;
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(properties.getTimeout()).build());
+        requestFactory.setReadTimeout(properties.getTimeout());
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        cache.addInvalidationListener(this::sourcesChanged);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /** Latest first. */
+    public synchronized List<RefreshPushRound> rounds() {
+        return List.copyOf(history);
+    }
+
+    /** Loads the environment of every opted-in instance that is not cached yet, so its changes can be diffed. */
+    @EventListener(HeartbeatEvent.class)
+    void track() {
+        for (String service : discoveryClient.getServices()) {
+            for (ServiceInstance instance : discoveryClient.getInstances(service)) {
+                String profiles = instance.getMetadata().get(PROFILES_METADATA);
+                EnvironmentCache.Key key = new EnvironmentCache.Key(service, profiles, null, false);
+                if (StringUtils.hasText(profiles) && !pending.containsKey(key) && cache.peek(key) == null) {
+                    reload(key);
+                }
+            }
+        }
+    }
+
+    private void sourcesChanged(Map<EnvironmentCache.Key, EnvironmentCache.Entry> dropped) {
+        dropped.forEach((key, entry) -> {
+            // origins shift with every edit above a key; clients never ask for them anyway
+            if (!key.includeOrigin()) {
+                pending.putIfAbsent(key, entry);
+            }
+        });
+        synchronized (this) {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            scheduled = scheduler.schedule(this::push, properties.getQuietPeriod().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Runs on the scheduler thread only, so rounds never overlap. */
+    void push() {
+        Map<EnvironmentCache.Key, EnvironmentCache.Entry> previous = new HashMap<>();
+        for (EnvironmentCache.Key key : List.copyOf(pending.keySet())) {
+            previous.put(key, pending.remove(key));
+        }
+        Map<String, Set<String>> changed = new TreeMap<>();
+        previous.forEach((key, entry) -> {
+            Environment current = reload(key);
+            if (current == null) {
+                return;
+            }
+            Set<String> keys = changedKeys(entry.environment(), current);
+            if (!keys.isEmpty()) {
+                for (String application : StringUtils.commaDelimitedListToSet(key.application())) {
+                    changed.computeIfAbsent(application, a -> new TreeSet<>()).addAll(keys);
+                }
+            }
+        });
+        if (changed.isEmpty()) {
+            log.debug("Config sources changed without changing any served environment");
+            return;
+        }
+
+        Instant started = Instant.now();
+        Semaphore permits = new Semaphore(properties.getParallelism());
+        List<Callable<RefreshPushRound.InstanceAck>> notifications = new ArrayList<>();
+        changed.forEach((application, keys) -> {
+            for (ServiceInstance instance : discoveryClient.getInstances(application)) {
+                notifications.add(() -> {
+                    permits.acquire();
+                    try {
+                        return notify(application, instance);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        });
+        List<RefreshPushRound.InstanceAck> acks = new ArrayList<>();
+        try {
+            for (Future<RefreshPushRound.InstanceAck> ack : executor.invokeAll(notifications)) {
+                acks.add(ack.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Refresh notification failed", e.getCause());
+        }
+
+        RefreshPushRound round = new RefreshPushRound(rounds.incrementAndGet(), started,
+                Duration.between(started, Instant.now()), changed, acks);
+        synchronized (this) {
+            history.addFirst(round);
+            while (history.size() > properties.getHistory()) {
+                history.removeLast();
+            }
+        }
+        log.info("Refresh push #{} - {} of {} instances acknowledged in {} ms, changed keys {}", round.id(),
+                round.acknowledged(), acks.size(), round.took().toMillis(), changed);
+    }
+
+    private RefreshPushRound.InstanceAck notify(String application, ServiceInstance instance) {
+        URI uri = refreshUri(instance);
+        long start = System.nanoTime();
+        try {
+            List<String> refreshed = restClient.post().uri(uri).retrieve().body(KEYS);
+            return new RefreshPushRound.InstanceAck(application, instance.getInstanceId(), uri, true,
+                    refreshed == null ? List.of() : refreshed, null, elapsedMillis(start));
+        } catch (RuntimeException e) {
+            log.warn("Refresh push - {} at {} did not acknowledge: {}", instance.getInstanceId(), uri, e.toString());
+            return new RefreshPushRound.InstanceAck(application, instance.getInstanceId(), uri, false,
+                    List.of(), e.toString(), elapsedMillis(start));
+        }
+    }
+
+    private URI refreshUri(ServiceInstance instance) {
+        URI base = instance.getUri();
+        String managementPort = instance.getMetadata().get(MANAGEMENT_PORT_METADATA);
+        if (StringUtils.hasText(managementPort)) {
+            base = UriComponentsBuilder.fromUri(base).port(Integer.parseInt(managementPort)).build().toUri();
+        }
+        return URI.create(base + properties.getPath());
+    }
+
+    /** The environment as it is now; reading it through the repository also puts it in the cache. */
+    private Environment reload(EnvironmentCache.Key key) {
+        try {
+            Environment loaded = repository.findOne(key.application(), key.profile(), key.label(), false);
+            EnvironmentCache.Entry entry = cache.peek(key);
+            return entry != null ? entry.environment() : loaded;
+        } catch (RuntimeException e) {
+            log.warn("Refresh push - cannot load {}/{}: {}", key.application(), key.profile(), e.toString());
+            return null;
+        }
+    }
+
+    /** Keys added, removed or given another value, each judged by the property source that wins it. */
+    static Set<String> changedKeys(Environment before, Environment after) {
+        Map<Object, Object> old = flatten(before);
+        Map<Object, Object> current = flatten(after);
+        Set<Object> keys = new HashSet<>(old.keySet());
+        keys.addAll(current.keySet());
+        Set<String> changed = new TreeSet<>();
+        for (Object key : keys) {
+            if (!Objects.equals(old.get(key), current.get(key))) {
+                changed.add(String.valueOf(key));
+            }
+        }
+        return changed;
+    }
+
+    private static Map<Object, Object> flatten(Environment environment) {
+        Map<Object, Object> properties = new HashMap<>();
+        for (PropertySource source : environment.getPropertySources()) {
+            source.getSource().forEach(properties::putIfAbsent);
+        }
+        return properties;
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
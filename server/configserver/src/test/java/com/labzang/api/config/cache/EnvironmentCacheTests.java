@@ -0,0 +1,114 @@
+package com.labzang.api.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.RestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "eureka.client.enabled=false")
+@ActiveProfiles("native")
+class EnvironmentCacheTests {
+
+    @TempDir
+    static Path sources;
+
+    @DynamicPropertySource
+    static void nativeSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.config.server.native.search-locations", () -> sources.toUri().toString());
+    }
+
+    @BeforeAll
+    static void writeSources() throws IOException {
+        write("greeting: hello\n");
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    EnvironmentCache cache;
+
+    @Test
+    void unchangedEnvironmentIsNotModifiedAndEditsAreServed() throws Exception {
+        RestClient client = RestClient.create("http://localhost:" + port);
+
+        ResponseEntity<String> first = get(client, null);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody()).contains("hello");
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotBlank();
+        long loads = cache.loads();
+
+        ResponseEntity<String> again = get(client, etag);
+        assertThat(again.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(again.getBody()).isNull();
+        assertThat(get(client, null).getHeaders().getETag()).isEqualTo(etag);
+        assertThat(cache.loads()).isEqualTo(loads);
+
+        write("greeting: bonjour\n");
+        ResponseEntity<String> changed = awaitChange(client, etag);
+        assertThat(changed.getBody()).contains("bonjour");
+        String newEtag = changed.getHeaders().getETag();
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        // Saving without edits drops the cache but yields the same content, so the same ETag.
+        long before = cache.loads();
+        write("greeting: bonjour\n");
+        Instant deadline = Instant.now().plusSeconds(20);
+        while (cache.loads() == before && Instant.now().isBefore(deadline)) {
+            assertThat(get(client, newEtag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            Thread.sleep(100);
+        }
+        assertThat(cache.loads()).isGreaterThan(before);
+    }
+
+    /** Replaces the file in one step, as a deploy would; an in-place rewrite is briefly empty. */
+    private static void write(String content) throws IOException {
+        Path temp = Files.writeString(sources.resolve("soccerservice.yml.tmp"), content);
+        Files.move(temp, sources.resolve("soccerservice.yml"), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private ResponseEntity<String> awaitChange(RestClient client, String etag) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(20));
+        while (true) {
+            ResponseEntity<String> response = get(client, etag);
+            if (response.getStatusCode() == HttpStatus.OK || Instant.now().isAfter(deadline)) {
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                return response;
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static ResponseEntity<String> get(RestClient client, String ifNoneMatch) {
+        return client.get()
+                .uri("/soccerservice/default")
+                .headers(headers -> {
+                    if (ifNoneMatch != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+                    }
+                })
+                .retrieve()
+                .toEntity(String.class);
+    }
+}
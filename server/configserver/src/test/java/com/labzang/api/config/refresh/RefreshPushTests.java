@@ -0,0 +1,161 @@
+package com.labzang.api.config.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.labzang.api.config.cache.EnvironmentCache;
+import com.sun.net.httpserver.HttpServer;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "configserver.push.quiet-period=100ms",
+        "configserver.push.timeout=2s"
+})
+@ActiveProfiles("native")
+class RefreshPushTests {
+
+    @TempDir
+    static Path sources;
+
+    /** Stand in for one instance each of demo and other; count the refreshes they get. */
+    static HttpServer demo;
+    static HttpServer other;
+    static final Map<String, AtomicInteger> refreshes = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    static void startClients() throws IOException {
+        demo = startClient("demo");
+        other = startClient("other");
+    }
+
+    @AfterAll
+    static void stopClients() {
+        demo.stop(0);
+        other.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void nativeSourcesAndInstances(DynamicPropertyRegistry registry) throws IOException {
+        write("demo.yml", "greeting: hello\n");
+        write("other.yml", "greeting: hi\n");
+        registry.add("spring.cloud.config.server.native.search-locations", () -> sources.toUri().toString());
+
+        // actuator on its own port: the service port is closed, only the management port answers
+        registry.add("spring.cloud.discovery.client.simple.instances.demo[0].uri", () -> "http://localhost:" + closedPort());
+        registry.add("spring.cloud.discovery.client.simple.instances.demo[0].metadata.config-profiles", () -> "default");
+        registry.add("spring.cloud.discovery.client.simple.instances.demo[0].metadata[management.port]",
+                () -> String.valueOf(demo.getAddress().getPort()));
+        registry.add("spring.cloud.discovery.client.simple.instances.demo[1].uri", () -> "http://localhost:" + closedPort());
+        registry.add("spring.cloud.discovery.client.simple.instances.other[0].uri", () -> uri(other));
+        registry.add("spring.cloud.discovery.client.simple.instances.other[0].metadata.config-profiles", () -> "default");
+    }
+
+    @Autowired
+    RefreshPusher pusher;
+
+    @Autowired
+    EnvironmentCache cache;
+
+    @Autowired
+    ApplicationEventPublisher events;
+
+    @Test
+    void onlyInstancesWhoseConfigChangedAreNotifiedAndEachAckIsRecorded() throws Exception {
+        // what a Eureka registry fetch does: clients that opted in get their environments tracked
+        events.publishEvent(new HeartbeatEvent(this, 1L));
+        assertThat(cache.loads()).isEqualTo(2);
+
+        write("demo.yml", "greeting: bonjour\nfarewell: salut\n");
+        RefreshPushRound round = awaitRound();
+
+        assertThat(round.changedKeys()).isEqualTo(Map.of("demo", Set.of("greeting", "farewell")));
+        assertThat(round.instances()).hasSize(2);
+        assertThat(round.acknowledged()).isEqualTo(1);
+        RefreshPushRound.InstanceAck ack = round.instances().stream()
+                .filter(RefreshPushRound.InstanceAck::acknowledged).findFirst().orElseThrow();
+        assertThat(ack.application()).isEqualTo("demo");
+        assertThat(ack.refreshedKeys()).containsExactly("greeting");
+        assertThat(refreshes).containsOnlyKeys("demo /actuator/refresh");
+        assertThat(refreshes.get("demo /actuator/refresh")).hasValue(1);
+
+        // a save without edits is re-parsed but pushes nothing
+        long before = cache.loads();
+        write("demo.yml", "greeting: bonjour\nfarewell: salut\n");
+        Instant deadline = Instant.now().plusSeconds(20);
+        while (cache.loads() == before && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+        }
+        assertThat(cache.loads()).isGreaterThan(before);
+        Thread.sleep(500);
+        assertThat(pusher.rounds()).hasSize(1);
+    }
+
+    private RefreshPushRound awaitRound() throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(20));
+        List<RefreshPushRound> rounds = pusher.rounds();
+        while (rounds.isEmpty() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+            rounds = pusher.rounds();
+        }
+        assertThat(rounds).hasSize(1);
+        return rounds.get(0);
+    }
+
+    private static void write(String name, String content) throws IOException {
+        Path temp = Files.writeString(sources.resolve(name + ".tmp"), content);
+        Files.move(temp, sources.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static HttpServer startClient(String name) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            refreshes.computeIfAbsent(name + " " + exchange.getRequestURI().getPath(), k -> new AtomicInteger())
+                    .incrementAndGet();
+            byte[] body = "[\"greeting\"]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static String uri(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static int closedPort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.labzang.api.discovery.cache;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A captured backend response, stored by the response cache or shared with single-flight
+ * followers. {@code path} is the client-facing request path, used for prefix purges.
+ */
+record CachedResponse(String path, HttpStatusCode status, HttpHeaders headers, byte[] body,
+                      long storedAtNanos, Duration ttl) {
+
+    static final String X_CACHE = "X-Cache";
+
+    /**
+     * Order of the filters that capture or replay responses: just outside
+     * NettyWriteResponseFilter, so the backend body is written through their decorated
+     * response (route filters otherwise run inside it and never see the body).
+     */
+    static final int FILTER_ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    /** Never replayed: per-connection, per-client or recomputed by this gateway. */
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "upgrade", "date", "set-cookie", "age",
+            "x-cache");
+
+    static HttpHeaders storable(HttpHeaders source) {
+        HttpHeaders copy = new HttpHeaders();
+        source.forEach((name, values) -> {
+            String lower = name.toLowerCase();
+            // CORS headers are written per request by CorsWebFilter for the caller's Origin
+            if (!EXCLUDED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                copy.put(name, values);
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+
+    Mono<Void> writeTo(ServerHttpResponse response) {
+        response.getHeaders().set(X_CACHE, "HIT");
+        response.getHeaders().set(HttpHeaders.AGE,
+                String.valueOf(Duration.ofNanos(System.nanoTime() - storedAtNanos).toSeconds()));
+        return replay(response);
+    }
+
+    Mono<Void> replay(ServerHttpResponse response) {
+        response.setStatusCode(status);
+        headers.forEach((name, values) -> response.getHeaders().putIfAbsent(name, values));
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+}
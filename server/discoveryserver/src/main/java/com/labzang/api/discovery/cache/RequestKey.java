@@ -0,0 +1,105 @@
+package com.labzang.api.discovery.cache;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.function.BiFunction;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Identity of a request for response reuse: method, route, original path, sorted query,
+ * {@code Accept} (upstreams answer JSON, compact JSON or CBOR by it) and a SHA-256 of
+ * the body. Computed once per exchange and shared by every filter that
+ * needs it; requests with a body are switched to a replayable cached body first.
+ */
+final class RequestKey {
+
+    private static final String KEY_ATTR = RequestKey.class.getName() + ".key";
+
+    private RequestKey() {
+    }
+
+    static Mono<Void> resolve(ServerWebExchange exchange, BiFunction<ServerWebExchange, String, Mono<Void>> then) {
+        String known = exchange.getAttribute(KEY_ATTR);
+        if (known != null) {
+            return then.apply(exchange, known);
+        }
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD) {
+            String key = of(exchange, null);
+            exchange.getAttributes().put(KEY_ATTR, key);
+            return then.apply(exchange, key);
+        }
+        return ServerWebExchangeUtils.cacheRequestBodyAndRequest(exchange, cachedRequest -> {
+            DataBuffer body = exchange.getAttribute(CACHED_REQUEST_BODY_ATTR);
+            String key = of(exchange, body != null ? copy(body) : new byte[0]);
+            ServerWebExchange replaying = exchange.mutate().request(cachedRequest).build();
+            replaying.getAttributes().put(KEY_ATTR, key);
+            return then.apply(replaying, key);
+        });
+    }
+
+    static String of(ServerWebExchange exchange, byte[] body) {
+        URI uri = originalUri(exchange);
+        StringBuilder key = new StringBuilder()
+                .append(exchange.getRequest().getMethod().name()).append(' ')
+                .append(routeId(exchange)).append(' ')
+                .append(uri.getRawPath());
+        if (uri.getRawQuery() != null && !uri.getRawQuery().isEmpty()) {
+            String[] params = uri.getRawQuery().split("&");
+            Arrays.sort(params);
+            key.append('?').append(String.join("&", params));
+        }
+        String accept = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT);
+        if (accept != null && !accept.isEmpty()) {
+            key.append(" @").append(accept);
+        }
+        if (body != null) {
+            key.append(" #").append(sha256(body));
+        }
+        return key.toString();
+    }
+
+    /** The URI the client asked for, before StripPrefix and friends rewrote it. */
+    static URI originalUri(ServerWebExchange exchange) {
+        LinkedHashSet<URI> originals = exchange.getAttribute(GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        return originals != null && !originals.isEmpty()
+                ? originals.iterator().next()
+                : exchange.getRequest().getURI();
+    }
+
+    static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    static byte[] copy(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, bytes.length);
+        return bytes;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
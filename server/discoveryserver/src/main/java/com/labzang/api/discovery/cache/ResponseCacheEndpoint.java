@@ -0,0 +1,34 @@
+package com.labzang.api.discovery.cache;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * GET /actuator/responsecache for cache stats, DELETE /actuator/responsecache?prefix=/api/soccer/team
+ * to purge one path prefix (no prefix purges everything). Served on the management port, which
+ * the gateway does not publish.
+ */
+@Component
+@Endpoint(id = "responsecache")
+@RequiredArgsConstructor
+public class ResponseCacheEndpoint {
+
+    private final ResponseCacheStore store;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return store.stats();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> purge(@Nullable String prefix) {
+        return Map.of("purged", store.purge(prefix));
+    }
+}
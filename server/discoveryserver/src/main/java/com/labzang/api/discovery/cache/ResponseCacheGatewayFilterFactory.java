@@ -0,0 +1,182 @@
+package com.labzang.api.discovery.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Mono;
+
+/**
+ * Route filter that answers repeated idempotent reads from {@link ResponseCacheStore}.
+ *
+ * <pre>
+ * filters:
+ *   - name: ResponseCache
+ *     args:
+ *       ttl: 60s
+ *       methods: GET,POST   # POST bodies become part of the key
+ * </pre>
+ *
+ * The key is method, route, path, sorted query and a SHA-256 of the request body. Only 200
+ * responses are stored, for at most the route TTL and never beyond the response's own
+ * max-age/s-maxage; no-store, no-cache and private responses, responses setting cookies
+ * and requests carrying Authorization are never stored. soccerservice answers errors with
+ * HTTP 200 and marks them no-store, which is what keeps those bodies out. A request with
+ * {@code Cache-Control: no-cache} skips the lookup and refreshes the entry, one with
+ * {@code no-store} bypasses the cache. A successful write (any other unsafe method)
+ * through the route purges entries under its first {@code purgeDepth} path segments.
+ * Runs ahead of the route's other filters (see {@link CachedResponse#FILTER_ORDER}), so a
+ * hit is answered before rate or concurrency limits are consulted.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final Set<HttpMethod> READ_ONLY = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE);
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store) {
+        super(Config.class);
+        this.store = store;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String routeId = RequestKey.routeId(exchange);
+            String path = RequestKey.originalUri(exchange).getRawPath();
+
+            if (!config.getMethods().contains(request.getMethod().name())) {
+                if (READ_ONLY.contains(request.getMethod())) {
+                    return chain.filter(exchange);
+                }
+                return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status == null || status.is2xxSuccessful()) {
+                        store.purge(prefix(path, config.getPurgeDepth()));
+                    }
+                }));
+            }
+
+            Directives directives = Directives.parse(request.getHeaders());
+            if (directives.noStore || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+                store.record(routeId, "bypass");
+                return chain.filter(exchange);
+            }
+            boolean revalidate = directives.noCache || directives.maxAgeZero;
+            return RequestKey.resolve(exchange, (keyed, key) -> {
+                if (!revalidate) {
+                    CachedResponse hit = store.get(key);
+                    if (hit != null) {
+                        store.record(routeId, "hit");
+                        return hit.writeTo(keyed.getResponse());
+                    }
+                }
+                store.record(routeId, "miss");
+                keyed.getResponse().getHeaders().set(CachedResponse.X_CACHE, "MISS");
+                TeeResponse tee = new TeeResponse(keyed.getResponse(), store.maxEntryBytes(), (status, headers) -> {
+                    Duration ttl = storableFor(status, headers, config.getTtl());
+                    if (ttl == null) {
+                        return null;
+                    }
+                    HttpHeaders stored = CachedResponse.storable(headers);
+                    return body -> store.put(key, new CachedResponse(path, status, stored, body, System.nanoTime(), ttl));
+                });
+                return chain.filter(keyed.mutate().response(tee).build());
+            });
+        }, CachedResponse.FILTER_ORDER);
+    }
+
+    /** How long a response may be kept, or null when it must not be stored. */
+    static Duration storableFor(HttpStatusCode status, HttpHeaders headers, Duration routeTtl) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        Directives directives = Directives.parse(headers);
+        if (directives.noStore || directives.noCache || directives.isPrivate) {
+            return null;
+        }
+        Duration ttl = routeTtl;
+        if (directives.maxAge != null && directives.maxAge.compareTo(ttl) < 0) {
+            ttl = directives.maxAge;
+        }
+        return ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+
+    static String prefix(String path, int depth) {
+        int index = 0;
+        for (int segment = 0; segment < depth; segment++) {
+            index = path.indexOf('/', index + 1);
+            if (index < 0) {
+                return path;
+            }
+        }
+        return path.substring(0, index);
+    }
+
+    /** The Cache-Control / Pragma directives this filter acts on. */
+    private record Directives(boolean noStore, boolean noCache, boolean isPrivate, boolean maxAgeZero, Duration maxAge) {
+
+        static Directives parse(HttpHeaders headers) {
+            boolean noStore = false;
+            boolean noCache = headers.getOrEmpty(HttpHeaders.PRAGMA).stream().anyMatch(v -> v.contains("no-cache"));
+            boolean isPrivate = false;
+            Duration maxAge = null;
+            Duration sharedMaxAge = null;
+            for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+                for (String directive : value.split(",")) {
+                    String d = directive.trim().toLowerCase();
+                    if (d.equals("no-store")) {
+                        noStore = true;
+                    } else if (d.startsWith("no-cache")) {
+                        noCache = true;
+                    } else if (d.startsWith("private")) {
+                        isPrivate = true;
+                    } else if (d.startsWith("s-maxage=")) {
+                        sharedMaxAge = seconds(d.substring("s-maxage=".length()));
+                    } else if (d.startsWith("max-age=")) {
+                        maxAge = seconds(d.substring("max-age=".length()));
+                    }
+                }
+            }
+            Duration effective = sharedMaxAge != null ? sharedMaxAge : maxAge;
+            return new Directives(noStore, noCache, isPrivate, effective != null && effective.isZero(), effective);
+        }
+
+        private static Duration seconds(String value) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(value.replace("\"", "")));
+            } catch (NumberFormatException e) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        /** Methods whose responses are cached; other unsafe methods purge instead. */
+        private Set<String> methods = Set.of(HttpMethod.GET.name());
+        /** Path segments a write purges under, e.g. 3 for /api/soccer/team. */
+        private int purgeDepth = 3;
+    }
+}
@@ -0,0 +1,129 @@
+package com.labzang.api.discovery.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gateway-wide store behind every route's ResponseCache filter. Bounded by total body
+ * bytes with Caffeine's size eviction (recency/frequency based, close to LRU for this
+ * access pattern); each entry expires after its own TTL.
+ *
+ * Metrics: gateway.response.cache.requests{route,result=hit|miss|bypass}, the
+ * gateway.response.cache.hit.ratio gauge and the standard cache.* meters for
+ * cache=gatewayResponses.
+ */
+@Slf4j
+@Component
+public class ResponseCacheStore {
+
+    static final String CACHE_NAME = "gatewayResponses";
+
+    private final Cache<String, CachedResponse> cache;
+    private final MeterRegistry meterRegistry;
+    private final long maxEntryBytes;
+
+    public ResponseCacheStore(MeterRegistry meterRegistry,
+                              @Value("${gateway.response-cache.max-size:64MB}") DataSize maxSize,
+                              @Value("${gateway.response-cache.max-entry-size:512KB}") DataSize maxEntrySize) {
+        this.meterRegistry = meterRegistry;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse value) -> key.length() + value.body().length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                                                  long currentDuration) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("gateway.response.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of cache lookups answered without calling the backend")
+                .register(meterRegistry);
+    }
+
+    CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    long maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    void record(String routeId, String result) {
+        Counter.builder("gateway.response.cache.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Drops every entry whose request path starts with {@code pathPrefix}, or everything
+     * when it is null or empty. Returns the number of entries removed.
+     */
+    public int purge(String pathPrefix) {
+        if (pathPrefix == null || pathPrefix.isEmpty()) {
+            int size = (int) cache.estimatedSize();
+            cache.invalidateAll();
+            return size;
+        }
+        int[] removed = {0};
+        cache.asMap().entrySet().removeIf(entry -> {
+            boolean match = entry.getValue().path().startsWith(pathPrefix);
+            if (match) {
+                removed[0]++;
+            }
+            return match;
+        });
+        if (removed[0] > 0) {
+            log.debug("Purged {} cached responses under {}", removed[0], pathPrefix);
+        }
+        return removed[0];
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", cache.estimatedSize());
+        result.put("weightBytes", cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRatio", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
@@ -0,0 +1,154 @@
+package com.labzang.api.discovery.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Route filter that collapses identical in-flight requests into one upstream call.
+ *
+ * <pre>
+ * filters:
+ *   - name: SingleFlight
+ *     args:
+ *       max-wait: 2s
+ *       methods: POST
+ * </pre>
+ *
+ * The first request for a key (see {@link RequestKey}) goes upstream as the leader; requests
+ * with the same key that arrive before it finishes wait for its response and receive a
+ * copy, marked {@code X-Single-Flight: COLLAPSED}. A follower that has waited
+ * {@code maxWait}, or whose leader failed, was cancelled or returned a body over
+ * gateway.single-flight.max-body-size, makes its own call instead. Like ResponseCache it
+ * runs ahead of the route's other filters (see {@link CachedResponse#FILTER_ORDER}).
+ *
+ * Metrics: gateway.singleflight.requests{route,result=leader|collapsed|timeout|fallback}
+ * and the gateway.singleflight.inflight gauge.
+ */
+@Component
+public class SingleFlightGatewayFilterFactory extends AbstractGatewayFilterFactory<SingleFlightGatewayFilterFactory.Config> {
+
+    static final String X_SINGLE_FLIGHT = "X-Single-Flight";
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long maxBodyBytes;
+
+    public SingleFlightGatewayFilterFactory(MeterRegistry meterRegistry,
+                                            @Value("${gateway.single-flight.max-body-size:1MB}") DataSize maxBodySize) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.maxBodyBytes = maxBodySize.toBytes();
+        Gauge.builder("gateway.singleflight.inflight", flights, Map::size)
+                .description("Upstream calls currently shared by collapsed requests")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxWait");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (!config.getMethods().contains(exchange.getRequest().getMethod().name())) {
+                return chain.filter(exchange);
+            }
+            return RequestKey.resolve(exchange, (keyed, key) -> {
+                Flight flight = new Flight();
+                Flight leader = flights.putIfAbsent(key, flight);
+                if (leader != null) {
+                    return follow(keyed, chain, leader, config.getMaxWait());
+                }
+                return lead(keyed, chain, key, flight);
+            });
+        }, CachedResponse.FILTER_ORDER);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, Flight flight) {
+        record(exchange, "leader");
+        String path = RequestKey.originalUri(exchange).getRawPath();
+        TeeResponse tee = new TeeResponse(exchange.getResponse(), maxBodyBytes, (status, headers) -> body ->
+                flight.share(new CachedResponse(path, status, CachedResponse.storable(headers), body,
+                        System.nanoTime(), Duration.ZERO)));
+        return chain.filter(exchange.mutate().response(tee).build())
+                .doFinally(signal -> {
+                    // late arrivals start a new flight; waiters with no shared response fall back
+                    flights.remove(key, flight);
+                    flight.abandon();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Flight leader, Duration maxWait) {
+        return leader.response()
+                .<Object>map(shared -> shared)
+                .timeout(maxWait)
+                .defaultIfEmpty("fallback")
+                .onErrorReturn(TimeoutException.class, "timeout")
+                .flatMap(outcome -> {
+                    if (outcome instanceof CachedResponse shared) {
+                        record(exchange, "collapsed");
+                        exchange.getResponse().getHeaders().set(X_SINGLE_FLIGHT, "COLLAPSED");
+                        return shared.replay(exchange.getResponse());
+                    }
+                    record(exchange, (String) outcome);
+                    return chain.filter(exchange);
+                });
+    }
+
+    private void record(ServerWebExchange exchange, String result) {
+        Counter.builder("gateway.singleflight.requests")
+                .tag("route", RequestKey.routeId(exchange))
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /** One upstream call and the response it produced, if any. */
+    private static final class Flight {
+
+        private final Sinks.One<CachedResponse> result = Sinks.one();
+
+        void share(CachedResponse response) {
+            result.tryEmitValue(response);
+        }
+
+        void abandon() {
+            result.tryEmitEmpty();
+        }
+
+        Mono<CachedResponse> response() {
+            return result.asMono();
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        /** Longest a follower waits for the leader before calling upstream itself. */
+        private Duration maxWait = Duration.ofSeconds(2);
+        private Set<String> methods = Set.of(HttpMethod.GET.name());
+    }
+}
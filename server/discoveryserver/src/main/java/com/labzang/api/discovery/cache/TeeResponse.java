@@ -0,0 +1,63 @@
+package com.labzang.api.discovery.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Copies the response body aside while it streams to the client. When the body starts,
+ * {@code onWrite} sees status and headers and returns where the complete body should go,
+ * or null to leave this response alone. Bodies over {@code maxBytes} are not delivered.
+ * Streaming writes (writeAndFlushWith) are never captured.
+ */
+final class TeeResponse extends ServerHttpResponseDecorator {
+
+    private final long maxBytes;
+    private final BiFunction<HttpStatusCode, HttpHeaders, Consumer<byte[]>> onWrite;
+
+    TeeResponse(ServerHttpResponse delegate, long maxBytes,
+                BiFunction<HttpStatusCode, HttpHeaders, Consumer<byte[]>> onWrite) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+        this.onWrite = onWrite;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        Consumer<byte[]> sink = onWrite.apply(getStatusCode(), getHeaders());
+        if (sink == null) {
+            return super.writeWith(body);
+        }
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        AtomicBoolean overflow = new AtomicBoolean();
+        Flux<DataBuffer> tee = Flux.from(body)
+                .map(buffer -> {
+                    if (!overflow.get()) {
+                        if (captured.size() + buffer.readableByteCount() > maxBytes) {
+                            overflow.set(true);
+                            captured.reset();
+                        } else {
+                            captured.writeBytes(RequestKey.copy(buffer));
+                        }
+                    }
+                    return (DataBuffer) buffer;
+                })
+                .doOnComplete(() -> {
+                    if (!overflow.get()) {
+                        sink.accept(captured.toByteArray());
+                    }
+                });
+        return super.writeWith(tee);
+    }
+}
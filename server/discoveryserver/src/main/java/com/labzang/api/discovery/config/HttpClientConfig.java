@@ -0,0 +1,61 @@
+package com.labzang.api.discovery.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.labzang.api.discovery.httpclient.UpstreamConnectionProvider;
+import com.labzang.api.discovery.httpclient.UpstreamPoolProperties;
+import com.labzang.api.discovery.httpclient.UpstreamRoutingFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Gateway HTTP client with per-upstream pools: the stock client built by the gateway,
+ * but on an {@link UpstreamConnectionProvider}, and the routing filter that picks the pool.
+ * Turning off the stock routing filter also turns off its response writer, so that is
+ * registered here as well.
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamPoolProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClientFactory upstreamHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                                                       HttpClientSslConfigurer sslConfigurer,
+                                                       List<HttpClientCustomizer> customizers,
+                                                       UpstreamPoolProperties upstreams, MeterRegistry meterRegistry) {
+        return new HttpClientFactory(properties, serverProperties, sslConfigurer, customizers) {
+            @Override
+            protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+                return new UpstreamConnectionProvider(super.buildConnectionProvider(properties), upstreams, meterRegistry);
+            }
+        };
+    }
+
+    @Bean
+    public UpstreamRoutingFilter upstreamRoutingFilter(HttpClient httpClient,
+                                                       ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                       HttpClientProperties properties,
+                                                       UpstreamPoolProperties upstreams) {
+        return new UpstreamRoutingFilter(httpClient, headersFilters, properties, upstreams);
+    }
+
+    @Bean
+    public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties properties) {
+        return new NettyWriteResponseFilter(properties.getStreamingMediaTypes());
+    }
+}
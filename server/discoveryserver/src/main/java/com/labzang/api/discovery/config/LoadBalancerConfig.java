@@ -0,0 +1,11 @@
+package com.labzang.api.discovery.config;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+import com.labzang.api.discovery.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,134 @@
+package com.labzang.api.discovery.httpclient;
+
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.AttributeKey;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.transport.TransportConfig;
+
+/**
+ * The gateway's connection provider: requests tagged with {@link #UPSTREAM} (see
+ * {@link UpstreamRoutingFilter}) use that upstream's own pool, everything else the pool
+ * built from spring.cloud.gateway.httpclient.pool. Upstream pools start from a copy of the
+ * default pool's settings and apply their overrides on top.
+ *
+ * HTTP/2 connections are pooled by Reactor Netty in one pool derived from the default
+ * pool, so for h2c upstreams only {@code h2c} itself applies.
+ *
+ * Metrics: reactor.netty.connection.provider.* per pool when pool metrics are on, and
+ * gateway.httpclient.acquire.failures{upstream,reason=timeout|queue_full}.
+ */
+public class UpstreamConnectionProvider implements ConnectionProvider {
+
+    /** Channel attribute naming the upstream a request is for. */
+    public static final AttributeKey<String> UPSTREAM = AttributeKey.valueOf("gateway.upstream");
+
+    private static final String DEFAULT = "default";
+
+    private final ConnectionProvider defaultProvider;
+    private final Map<String, ConnectionProvider> providers = new LinkedHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamConnectionProvider(ConnectionProvider defaultProvider, UpstreamPoolProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.defaultProvider = defaultProvider;
+        this.meterRegistry = meterRegistry;
+        properties.getUpstreams().forEach((upstream, pool) -> providers.put(upstream, build(upstream, pool)));
+    }
+
+    private ConnectionProvider build(String upstream, UpstreamPoolProperties.Pool pool) {
+        Builder defaults = defaultProvider.mutate();
+        Builder builder = (defaults != null ? defaults : ConnectionProvider.builder(upstream)).name("gateway-" + upstream);
+        if (pool.getMaxConnections() != null) {
+            builder.maxConnections(pool.getMaxConnections());
+        }
+        if (pool.getPendingAcquireMaxCount() != null) {
+            builder.pendingAcquireMaxCount(pool.getPendingAcquireMaxCount());
+        }
+        if (pool.getPendingAcquireTimeout() != null) {
+            builder.pendingAcquireTimeout(pool.getPendingAcquireTimeout());
+        }
+        if (pool.getMaxIdleTime() != null) {
+            builder.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if (pool.getMaxLifeTime() != null) {
+            builder.maxLifeTime(pool.getMaxLifeTime());
+        }
+        if (pool.getEvictionInterval() != null) {
+            builder.evictInBackground(pool.getEvictionInterval());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public Mono<? extends Connection> acquire(TransportConfig config, ConnectionObserver observer,
+                                              Supplier<? extends SocketAddress> remoteAddress,
+                                              AddressResolverGroup<?> resolverGroup) {
+        Object upstream = config.attributes().get(UPSTREAM);
+        ConnectionProvider provider = upstream != null ? providers.getOrDefault(upstream, defaultProvider) : defaultProvider;
+        String tag = provider != defaultProvider ? (String) upstream : DEFAULT;
+        return provider.acquire(config, observer, remoteAddress, resolverGroup)
+                .doOnError(e -> countFailure(tag, e));
+    }
+
+    private void countFailure(String upstream, Throwable e) {
+        // pool errors only; connect errors surface through the load balancer and circuit breakers
+        String reason = e instanceof TimeoutException ? "timeout"
+                : e.getClass().getSimpleName().equals("PoolAcquirePendingLimitException") ? "queue_full" : null;
+        if (reason != null) {
+            Counter.builder("gateway.httpclient.acquire.failures")
+                    .tag("upstream", upstream)
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    @Override
+    public void disposeWhen(SocketAddress address) {
+        defaultProvider.disposeWhen(address);
+        providers.values().forEach(provider -> provider.disposeWhen(address));
+    }
+
+    @Override
+    public Mono<Void> disposeLater() {
+        return Flux.concat(defaultProvider.disposeLater(),
+                Flux.fromIterable(providers.values()).flatMap(ConnectionProvider::disposeLater)).then();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return defaultProvider.isDisposed();
+    }
+
+    @Override
+    public int maxConnections() {
+        return defaultProvider.maxConnections();
+    }
+
+    @Override
+    public Map<SocketAddress, Integer> maxConnectionsPerHost() {
+        return defaultProvider.maxConnectionsPerHost();
+    }
+
+    @Override
+    public Builder mutate() {
+        return defaultProvider.mutate();
+    }
+
+    @Override
+    public String name() {
+        return defaultProvider.name();
+    }
+}
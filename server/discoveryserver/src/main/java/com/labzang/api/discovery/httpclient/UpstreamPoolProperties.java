@@ -0,0 +1,48 @@
+package com.labzang.api.discovery.httpclient;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Connection pools for individual upstreams, keyed by the host of the route URI (the
+ * service id of an {@code lb://} route). Unset fields inherit spring.cloud.gateway.httpclient.pool.
+ *
+ * <pre>
+ * gateway:
+ *   httpclient:
+ *     upstreams:
+ *       soccerservice:
+ *         max-connections: 200
+ *         pending-acquire-max-count: 400
+ *         h2c: true
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties("gateway.httpclient")
+public class UpstreamPoolProperties {
+
+    private Map<String, Pool> upstreams = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        /** Connections per instance of the upstream. */
+        private Integer maxConnections;
+        /** Requests that may wait for a connection before failing fast; -1 for no limit. */
+        private Integer pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+        /** Keep below the upstream's keep-alive timeout so the gateway closes idle connections first. */
+        private Duration maxIdleTime;
+        private Duration maxLifeTime;
+        private Duration evictionInterval;
+        /** Talk HTTP/2 over cleartext (prior knowledge) and multiplex requests on few connections. */
+        private boolean h2c;
+    }
+}
@@ -0,0 +1,41 @@
+package com.labzang.api.discovery.httpclient;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Replaces the gateway's NettyRoutingFilter (disabled with
+ * spring.cloud.gateway.global-filter.netty-routing.enabled=false) to send requests for a
+ * configured upstream through its own pool, and over h2c where enabled.
+ */
+public class UpstreamRoutingFilter extends NettyRoutingFilter {
+
+    private final UpstreamPoolProperties upstreams;
+
+    public UpstreamRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                 HttpClientProperties properties, UpstreamPoolProperties upstreams) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.upstreams = upstreams;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient client = super.getHttpClient(route, exchange);
+        String upstream = route.getUri().getHost();
+        UpstreamPoolProperties.Pool pool = upstream != null ? upstreams.getUpstreams().get(upstream) : null;
+        if (pool == null) {
+            return client;
+        }
+        client = client.attr(UpstreamConnectionProvider.UPSTREAM, upstream);
+        return pool.isH2c() ? client.protocol(HttpProtocol.H2C) : client;
+    }
+}
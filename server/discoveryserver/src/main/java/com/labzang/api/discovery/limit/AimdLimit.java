@@ -0,0 +1,58 @@
+package com.labzang.api.discovery.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that grows by one after each good call made at more than half the
+ * limit, and shrinks by {@code backoffRatio} after each dropped (failed, 5xx or slow) one.
+ * Acquire and release are compare-and-set on two counters.
+ */
+final class AimdLimit {
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.limit = new AtomicInteger(initialLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /** In-flight count including this call, or -1 when the limit is reached. */
+    int tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit.get()) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    void release() {
+        inflight.decrementAndGet();
+    }
+
+    void onSample(int inflightAtStart, boolean dropped) {
+        if (dropped) {
+            limit.updateAndGet(l -> Math.max(minLimit, (int) (l * backoffRatio)));
+        } else if (inflightAtStart * 2 >= limit.get()) {
+            // only a limit that is actually being used has earned more room
+            limit.updateAndGet(l -> Math.min(maxLimit, l + 1));
+        }
+    }
+
+    int limit() {
+        return limit.get();
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,112 @@
+package com.labzang.api.discovery.limit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Adaptive (AIMD) cap on a route's in-flight upstream calls.
+ *
+ * <pre>
+ * filters:
+ *   - name: ConcurrencyLimit
+ *     args:
+ *       initial-limit: 20
+ *       max-limit: 100
+ *       slow-threshold: 1s
+ * </pre>
+ *
+ * A call over the current limit is answered 503 with Retry-After at once. A call that
+ * errors, returns 5xx or takes longer than {@code slowThreshold} shrinks the limit; good
+ * calls under load grow it again (see {@link AimdLimit}). Place it after ResponseCache and
+ * SingleFlight so only real upstream calls count.
+ *
+ * Metrics: gateway.concurrency.requests{route,result=accepted|rejected} and the
+ * gateway.concurrency.limit and gateway.concurrency.inflight gauges per route.
+ */
+@Component
+public class ConcurrencyLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+
+    /** Current limiter per route; replaced when routes are refreshed, in-flight calls release the old one. */
+    private final Map<String, AimdLimit> limits = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        AimdLimit limit = new AimdLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+                config.getBackoffRatio());
+        limits.put(routeId, limit);
+        Gauge.builder("gateway.concurrency.limit", limits, m -> m.get(routeId).limit())
+                .tag("route", routeId).register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limits, m -> m.get(routeId).inflight())
+                .tag("route", routeId).register(meterRegistry);
+        Counter accepted = counter(routeId, "accepted");
+        Counter rejected = counter(routeId, "rejected");
+        long slowNanos = config.getSlowThreshold().toNanos();
+
+        return (exchange, chain) -> {
+            int inflightAtStart = limit.tryAcquire();
+            if (inflightAtStart < 0) {
+                rejected.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return exchange.getResponse().setComplete();
+            }
+            accepted.increment();
+            long started = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                limit.release();
+                if (signal == SignalType.CANCEL) {
+                    // the client went away; says nothing about the backend
+                    return;
+                }
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                boolean dropped = signal == SignalType.ON_ERROR
+                        || (status != null && status.is5xxServerError())
+                        || System.nanoTime() - started > slowNanos;
+                limit.onSample(inflightAtStart, dropped);
+            });
+        };
+    }
+
+    private Counter counter(String routeId, String result) {
+        return Counter.builder("gateway.concurrency.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        /** Factor applied to the limit after a dropped call. */
+        private double backoffRatio = 0.9;
+        /** Calls slower than this count as dropped. */
+        private Duration slowThreshold = Duration.ofSeconds(1);
+        private String routeId;
+    }
+}
@@ -0,0 +1,167 @@
+package com.labzang.api.discovery.limit;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * In-process token-bucket rate limiter, one bucket per client per route.
+ *
+ * <pre>
+ * filters:
+ *   - name: RateLimit
+ *     args:
+ *       replenish-rate: 10   # tokens per second
+ *       burst-capacity: 20
+ *       key-by: ip           # or route: one bucket shared by all clients
+ * </pre>
+ *
+ * The client is the socket's remote address unless that address matches
+ * {@code gateway.rate-limit.trusted-proxies} (a regex; empty trusts nobody). Then the client
+ * is the right-most X-Forwarded-For (or, without it, Forwarded {@code for=}) hop that is not
+ * itself a trusted proxy, so users behind one proxy, such as the Next.js server, get their
+ * own buckets. Only list proxies that clients cannot reach directly, since a trusted peer
+ * can name any address.
+ *
+ * A request without a token is answered 429 with Retry-After at once, before it reaches
+ * any other filter or the backend. Buckets live only in this gateway instance; with N
+ * gateway instances a client gets up to N times the configured rate.
+ *
+ * Metrics: gateway.ratelimit.requests{route,result=allowed|rejected}.
+ */
+@Component
+public class RateLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<RateLimitGatewayFilterFactory.Config> {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final String FORWARDED = "Forwarded";
+    /** for=192.0.2.60, for="[2001:db8::17]:4711" or for="192.0.2.60:8080"; the port is dropped. */
+    private static final Pattern FORWARDED_FOR = Pattern.compile(
+            "(?i)for=\"?(?:\\[([^\\]]+)\\]|([^\";,:\\s]+))");
+
+    private final MeterRegistry meterRegistry;
+    private final long maxKeys;
+    private final Pattern trustedProxies;
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimitGatewayFilterFactory(MeterRegistry meterRegistry,
+                                         @Value("${gateway.rate-limit.max-keys:100000}") long maxKeys,
+                                         @Value("${gateway.rate-limit.trusted-proxies:}") String trustedProxies) {
+        this(meterRegistry, maxKeys, trustedProxies, System::nanoTime);
+    }
+
+    RateLimitGatewayFilterFactory(MeterRegistry meterRegistry, long maxKeys, String trustedProxies, LongSupplier clock) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.maxKeys = maxKeys;
+        this.trustedProxies = StringUtils.hasText(trustedProxies) ? Pattern.compile(trustedProxies) : null;
+        this.clock = clock;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("replenishRate", "burstCapacity");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        TokenBuckets buckets = new TokenBuckets(config.getReplenishRate(), config.getBurstCapacity(), maxKeys);
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        Counter allowed = counter(routeId, "allowed");
+        Counter rejected = counter(routeId, "rejected");
+        return (exchange, chain) -> {
+            long wait = buckets.tryConsume(key(exchange, config.getKeyBy()), clock.getAsLong());
+            if (wait == 0) {
+                allowed.increment();
+                return chain.filter(exchange);
+            }
+            rejected.increment();
+            exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, (long) Math.ceil(wait / 1e9))));
+            return exchange.getResponse().setComplete();
+        };
+    }
+
+    private String key(ServerWebExchange exchange, KeyBy keyBy) {
+        return keyBy == KeyBy.ROUTE ? "" : clientAddress(exchange.getRequest());
+    }
+
+    String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        String peer = remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown";
+        if (trustedProxies == null || !trustedProxies.matcher(peer).matches()) {
+            return peer;
+        }
+        List<String> hops = forwardedFor(request.getHeaders());
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            if (!trustedProxies.matcher(hops.get(i)).matches()) {
+                return hops.get(i);
+            }
+        }
+        // a chain of trusted proxies only: the one furthest out is as close to the client as it gets
+        return hops.isEmpty() ? peer : hops.get(0);
+    }
+
+    /** Forwarding hops, client first, from X-Forwarded-For or else the Forwarded for= parameters. */
+    private static List<String> forwardedFor(HttpHeaders headers) {
+        List<String> hops = new ArrayList<>();
+        for (String value : headers.getOrEmpty(X_FORWARDED_FOR)) {
+            for (String hop : value.split(",")) {
+                if (!hop.isBlank()) {
+                    hops.add(hop.trim());
+                }
+            }
+        }
+        if (!hops.isEmpty()) {
+            return hops;
+        }
+        for (String value : headers.getOrEmpty(FORWARDED)) {
+            Matcher forwarded = FORWARDED_FOR.matcher(value);
+            while (forwarded.find()) {
+                hops.add(forwarded.group(1) != null ? forwarded.group(1) : forwarded.group(2));
+            }
+        }
+        return hops;
+    }
+
+    private Counter counter(String routeId, String result) {
+        return Counter.builder("gateway.ratelimit.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public enum KeyBy {
+        IP, ROUTE
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private double replenishRate = 10;
+        private int burstCapacity = 20;
+        private KeyBy keyBy = KeyBy.IP;
+        private String routeId;
+    }
+}
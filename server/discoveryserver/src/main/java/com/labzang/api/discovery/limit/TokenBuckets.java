@@ -0,0 +1,44 @@
+package com.labzang.api.discovery.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * One token bucket per key, kept as a single "theoretical arrival time" (GCRA) so taking a
+ * token is one compare-and-set. Memory is bounded by {@code maxKeys}; a key idle long
+ * enough to have refilled its whole burst is dropped, which loses nothing.
+ */
+final class TokenBuckets {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    TokenBuckets(double replenishRate, int burstCapacity, long maxKeys) {
+        this.intervalNanos = (long) (1_000_000_000L / replenishRate);
+        this.toleranceNanos = intervalNanos * burstCapacity;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos))
+                .build();
+    }
+
+    /** Takes a token for {@code key}: 0 on success, otherwise nanoseconds until one is available. */
+    long tryConsume(String key, long now) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now - toleranceNanos;
+            if (ahead > 0) {
+                return ahead;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
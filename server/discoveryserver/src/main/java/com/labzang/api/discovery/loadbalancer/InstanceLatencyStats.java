@@ -0,0 +1,143 @@
+package com.labzang.api.discovery.loadbalancer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Observed latency and in-flight requests per backend instance, shared by every service's
+ * {@link LatencyAwareLoadBalancer}. Latency is a peak-sensitive EWMA: a slower response
+ * replaces the average at once, faster ones pull it down with time constant {@code decay}.
+ * Between responses the average decays towards zero, so an instance that was avoided
+ * after a slow spell is tried again once it has been idle for a few decay periods.
+ *
+ * Metrics: gateway.loadbalancer.latency (EWMA, ms) and gateway.loadbalancer.inflight,
+ * tagged with service and instance.
+ */
+@Component
+public class InstanceLatencyStats {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+
+    @Autowired
+    public InstanceLatencyStats(MeterRegistry meterRegistry,
+                                @Value("${gateway.loadbalancer.latency-aware.decay:10s}") Duration decay,
+                                @Value("${gateway.loadbalancer.latency-aware.failure-penalty:1s}") Duration failurePenalty) {
+        this(meterRegistry, decay, failurePenalty, System::nanoTime);
+    }
+
+    InstanceLatencyStats(MeterRegistry meterRegistry, Duration decay, Duration failurePenalty, LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = decay.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.clock = clock;
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    void started(ServiceInstance instance) {
+        entry(instance).inflight.incrementAndGet();
+    }
+
+    /**
+     * A call abandoned before its response. It took at least {@code elapsedNanos}, so that
+     * raises the average but never lowers it; otherwise an instance whose calls always lose
+     * to a hedge would never get a sample and keep looking free.
+     */
+    void cancelled(ServiceInstance instance, long elapsedNanos) {
+        Entry entry = entry(instance);
+        entry.inflight.updateAndGet(n -> Math.max(0, n - 1));
+        entry.observeAtLeast(elapsedNanos, now());
+    }
+
+    /** Failed calls (connect errors, timeouts) count as at least {@code failurePenalty}. */
+    void completed(ServiceInstance instance, long latencyNanos, boolean failed) {
+        Entry entry = entry(instance);
+        entry.inflight.updateAndGet(n -> Math.max(0, n - 1));
+        entry.observe(failed ? Math.max(latencyNanos, failurePenaltyNanos) : latencyNanos, now());
+    }
+
+    /**
+     * Expected wait on this instance: latency EWMA times (in-flight + 1). An instance with no
+     * response yet costs nothing until its first request is sent, then counts as failing
+     * until that request returns.
+     */
+    double cost(ServiceInstance instance) {
+        Entry entry = entries.get(key(instance));
+        if (entry == null) {
+            return 0;
+        }
+        int inflight = entry.inflight.get();
+        double latency = entry.latency(now());
+        if (latency < 0) {
+            return inflight == 0 ? 0 : (double) failurePenaltyNanos * inflight;
+        }
+        return latency * (inflight + 1);
+    }
+
+    private Entry entry(ServiceInstance instance) {
+        return entries.computeIfAbsent(key(instance), key -> {
+            Entry entry = new Entry();
+            Tags tags = Tags.of("service", String.valueOf(instance.getServiceId()), "instance", key);
+            Gauge.builder("gateway.loadbalancer.latency", entry, e -> e.latency(now()) / 1_000_000d)
+                    .tags(tags).baseUnit("milliseconds").register(meterRegistry);
+            Gauge.builder("gateway.loadbalancer.inflight", entry.inflight, AtomicInteger::get)
+                    .tags(tags).register(meterRegistry);
+            return entry;
+        });
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private final class Entry {
+
+        private final AtomicInteger inflight = new AtomicInteger();
+        private double ewma = -1;
+        private long stamp;
+
+        synchronized void observe(long latencyNanos, long now) {
+            if (ewma < 0 || latencyNanos > ewma) {
+                ewma = latencyNanos;
+            } else {
+                double weight = weight(now);
+                ewma = ewma * weight + latencyNanos * (1 - weight);
+            }
+            stamp = now;
+        }
+
+        synchronized void observeAtLeast(long latencyNanos, long now) {
+            if (latencyNanos > latency(now)) {
+                ewma = latencyNanos;
+                stamp = now;
+            }
+        }
+
+        /** The decayed EWMA in nanoseconds, or -1 before the first response. */
+        synchronized double latency(long now) {
+            return ewma < 0 ? -1 : ewma * weight(now);
+        }
+
+        private double weight(long now) {
+            return Math.exp(-Math.max(0, now - stamp) / decayNanos);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.labzang.api.discovery.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Power-of-two-choices over the instances Eureka lists for a service: two distinct
+ * instances are drawn at random and the one with the lower {@link InstanceLatencyStats#cost}
+ * wins. Comparing only two keeps a slow instance from being hammered by a herd that all
+ * saw the same "best" instance, while still steering nearly all traffic away from it.
+ *
+ * A request carrying {@link #AVOID_INSTANCE_ATTR} (a hedged retry) is sent to any other
+ * instance when there is one.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    /** Exchange attribute naming a {@link ServiceInstance} this request should not go to. */
+    public static final String AVOID_INSTANCE_ATTR = LatencyAwareLoadBalancer.class.getName() + ".avoidInstance";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final String serviceId;
+    private final InstanceLatencyStats stats;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, String serviceId,
+                                    InstanceLatencyStats stats) {
+        this.suppliers = suppliers;
+        this.serviceId = serviceId;
+        this.stats = stats;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        ServiceInstance avoid = avoided(request);
+        return supplier.get(request).next()
+                .map(instances -> choose(avoid != null ? without(instances, avoid) : instances));
+    }
+
+    private static ServiceInstance avoided(Request<?> request) {
+        if (request.getContext() instanceof RequestDataContext context && context.getClientRequest() != null
+                && context.getClientRequest().getAttributes() != null
+                && context.getClientRequest().getAttributes().get(AVOID_INSTANCE_ATTR) instanceof ServiceInstance avoid) {
+            return avoid;
+        }
+        return null;
+    }
+
+    private static List<ServiceInstance> without(List<ServiceInstance> instances, ServiceInstance avoid) {
+        List<ServiceInstance> others = instances.stream()
+                .filter(i -> !(i.getHost().equals(avoid.getHost()) && i.getPort() == avoid.getPort()))
+                .toList();
+        return others.isEmpty() ? instances : others;
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(stats.cost(b) < stats.cost(a) ? b : a);
+    }
+}
@@ -0,0 +1,42 @@
+package com.labzang.api.discovery.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import com.labzang.api.discovery.registry.PushAwareServiceInstanceListSupplier;
+import com.labzang.api.discovery.registry.PushedInstances;
+
+/**
+ * Per-service load balancer configuration, registered as the default for every
+ * {@code lb://} route in {@code LoadBalancerConfig}. Deliberately not a
+ * {@code @Configuration}: it is only loaded into each service's child context, where the
+ * service name is available. With gateway.loadbalancer.latency-aware.enabled=false the
+ * stock round-robin balancer is used. Either way instances come from the stock cached
+ * discovery list with eurekaserver's pushed changes laid over it.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "gateway.loadbalancer.latency-aware.enabled", havingValue = "true", matchIfMissing = true)
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory clientFactory,
+                                                                         InstanceLatencyStats stats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId, stats);
+    }
+
+    @Bean
+    public ServiceInstanceListSupplier pushAwareServiceInstanceListSupplier(ConfigurableApplicationContext context,
+                                                                            PushedInstances pushedInstances) {
+        return new PushAwareServiceInstanceListSupplier(
+                ServiceInstanceListSupplier.builder().withDiscoveryClient().withCaching().build(context),
+                pushedInstances);
+    }
+}
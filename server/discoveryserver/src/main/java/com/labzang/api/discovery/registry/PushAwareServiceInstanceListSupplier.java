@@ -0,0 +1,29 @@
+package com.labzang.api.discovery.registry;
+
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Applies {@link PushedInstances} on top of the cached discovery list, so a pushed change
+ * takes effect on the next request rather than after the next registry fetch and cache
+ * expiry.
+ */
+public class PushAwareServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final PushedInstances pushedInstances;
+
+    public PushAwareServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, PushedInstances pushedInstances) {
+        super(delegate);
+        this.pushedInstances = pushedInstances;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().map(instances -> pushedInstances.overlay(getServiceId(), instances));
+    }
+}
@@ -0,0 +1,99 @@
+package com.labzang.api.discovery.registry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registry changes pushed by eurekaserver that the gateway's own Eureka view may not
+ * show yet. {@link #overlay} lays them over the discovered instances: a cancelled (or
+ * no longer UP) instance is hidden and a newly registered one added. An entry is dropped
+ * as soon as the discovered list agrees with it, or after {@code hold} at the latest, so
+ * the regular registry fetch stays the source of truth and a lost push costs no more than
+ * the usual fetch delay.
+ *
+ * Metrics: gateway.registry.push (received changes, tagged with type).
+ */
+@Component
+public class PushedInstances {
+
+    private final Map<String, Map<String, Entry>> services = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long holdNanos;
+    private final LongSupplier clock;
+
+    @Autowired
+    public PushedInstances(MeterRegistry meterRegistry,
+                           @Value("${gateway.registry-push.hold:60s}") Duration hold) {
+        this(meterRegistry, hold, System::nanoTime);
+    }
+
+    PushedInstances(MeterRegistry meterRegistry, Duration hold, LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.holdNanos = hold.toNanos();
+        this.clock = clock;
+    }
+
+    public void apply(RegistryChange change) {
+        String serviceId = change.app().toLowerCase(Locale.ROOT);
+        ServiceInstance instance = change.isUp()
+                ? new DefaultServiceInstance(change.instanceId(), serviceId, change.host(), change.port(),
+                        Boolean.TRUE.equals(change.secure()), change.metadata())
+                : null;
+        services.computeIfAbsent(serviceId, id -> new ConcurrentHashMap<>())
+                .put(change.instanceId(), new Entry(instance, clock.getAsLong() + holdNanos));
+        meterRegistry.counter("gateway.registry.push", "type", change.type().name()).increment();
+    }
+
+    /**
+     * {@code discovered} with the pushed changes for {@code serviceId} applied.
+     */
+    public List<ServiceInstance> overlay(String serviceId, List<ServiceInstance> discovered) {
+        Map<String, Entry> pushed = services.get(serviceId.toLowerCase(Locale.ROOT));
+        if (pushed == null || pushed.isEmpty()) {
+            return discovered;
+        }
+        long now = clock.getAsLong();
+        pushed.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+
+        List<ServiceInstance> result = new ArrayList<>(discovered.size() + pushed.size());
+        Set<String> seen = new HashSet<>();
+        for (ServiceInstance instance : discovered) {
+            seen.add(instance.getInstanceId());
+            Entry entry = pushed.get(instance.getInstanceId());
+            if (entry == null) {
+                result.add(instance);
+            } else if (entry.instance() != null) {
+                // discovery has caught up with the registration
+                pushed.remove(instance.getInstanceId(), entry);
+                result.add(instance);
+            }
+        }
+        pushed.forEach((instanceId, entry) -> {
+            if (entry.instance() != null) {
+                result.add(entry.instance());
+            } else if (!seen.contains(instanceId)) {
+                // discovery has caught up with the cancellation
+                pushed.remove(instanceId, entry);
+            }
+        });
+        return result;
+    }
+
+    private record Entry(ServiceInstance instance, long expiresAt) {
+    }
+}
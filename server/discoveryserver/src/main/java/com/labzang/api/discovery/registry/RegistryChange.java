@@ -0,0 +1,17 @@
+package com.labzang.api.discovery.registry;
+
+import java.util.Map;
+
+/**
+ * A registry change pushed by eurekaserver (its push.RegistryChange). REGISTERED carries
+ * the instance's address and Eureka status; CANCELLED only names the instance.
+ */
+public record RegistryChange(Type type, String app, String instanceId, String host, Integer port,
+                             Boolean secure, String status, Map<String, String> metadata) {
+
+    public enum Type { REGISTERED, CANCELLED }
+
+    boolean isUp() {
+        return type == Type.REGISTERED && "UP".equals(status) && host != null && port != null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.labzang.api.discovery.registry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives eurekaserver's registry pushes (registry.push.targets there). A push can add
+ * routable instances, so it is only accepted with the shared gateway.registry-push.token;
+ * without a configured token the endpoint answers 404.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/internal/registry")
+public class RegistryPushController {
+
+    static final String TOKEN_HEADER = "X-Registry-Token";
+
+    private final PushedInstances pushedInstances;
+    private final byte[] token;
+
+    public RegistryPushController(PushedInstances pushedInstances,
+                                  @Value("${gateway.registry-push.token:}") String token) {
+        this.pushedInstances = pushedInstances;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostMapping("/events")
+    public ResponseEntity<Void> receive(@RequestHeader(name = TOKEN_HEADER, required = false) String presented,
+                                        @RequestBody RegistryChange change) {
+        if (token.length == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        if (change.type() == null || !StringUtils.hasText(change.app()) || !StringUtils.hasText(change.instanceId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        }
+        log.info("Registry push: {} {}/{} {}", change.type(), change.app(), change.instanceId(),
+                change.status() != null ? change.status() : "");
+        pushedInstances.apply(change);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.labzang.api.discovery.resilience;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Target of the routes' CircuitBreaker {@code fallbackUri: forward:/fallback/{service}}.
+ * Answers in the services' Messenger shape: 504 when the backend timed out, otherwise 503
+ * (backend failing, unreachable or circuit open).
+ */
+@Slf4j
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    @RequestMapping("/{service}")
+    public ResponseEntity<Map<String, Object>> fallback(@PathVariable String service, ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        boolean timedOut = cause instanceof TimeoutException
+                || (cause instanceof ResponseStatusException e && e.getStatusCode().value() == HttpStatus.GATEWAY_TIMEOUT.value());
+        HttpStatus status = timedOut ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.SERVICE_UNAVAILABLE;
+        log.warn("Fallback for {}: {}", service, cause != null ? cause.toString() : "no cause");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", timedOut
+                ? service + " 응답 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요."
+                : service + " 서비스를 일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        body.put("status", status.value());
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "5").body(body);
+    }
+}
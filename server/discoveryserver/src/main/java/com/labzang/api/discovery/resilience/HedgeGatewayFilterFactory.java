@@ -0,0 +1,259 @@
+package com.labzang.api.discovery.resilience;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import com.labzang.api.discovery.loadbalancer.LatencyAwareLoadBalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+/**
+ * Hedged requests for idempotent reads: when a GET has no response after the route's
+ * recent {@code percentile} response time, a second attempt is sent to another instance
+ * and whichever answers first is used. The other attempt is cancelled. An attempt that
+ * fails does not end the request while the other may still answer: a primary that fails
+ * fast, say on a dead instance, is covered by the hedge once the delay has passed.
+ *
+ * <pre>
+ * filters:
+ *   - name: Hedge
+ *     args:
+ *       percentile: 0.95
+ *       min-delay: 20ms
+ *       max-ratio: 0.1   # at most ~1 hedge per 10 requests
+ * </pre>
+ *
+ * Put it last so both attempts see the rewritten path. Each attempt runs the rest of the
+ * chain (load balancer, Netty routing) on a copy of the exchange attributes and its own
+ * status and headers; the winner's are copied back before NettyWriteResponseFilter
+ * streams its body. Until the route has {@value LatencyWindow#RECOMPUTE_EVERY} samples
+ * the delay is {@code initialDelay}. The request fails with the primary's error only if
+ * the hedge fails too or no hedge is sent.
+ *
+ * Metrics: gateway.hedge.requests{route,result=primary|hedged|won|no_budget}: answered
+ * before the delay, hedged but the primary still won, the hedge won, or no hedge budget.
+ */
+@Component
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+    private static final int WINDOW_SIZE = 256;
+
+    private final MeterRegistry meterRegistry;
+
+    public HedgeGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        LatencyWindow window = new LatencyWindow(WINDOW_SIZE, config.getPercentile());
+        Budget budget = new Budget(config.getMaxRatio());
+        Counter primary = counter(routeId, "primary");
+        Counter hedged = counter(routeId, "hedged");
+        Counter won = counter(routeId, "won");
+        Counter noBudget = counter(routeId, "no_budget");
+
+        return (exchange, chain) -> {
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+                return chain.filter(exchange);
+            }
+            budget.deposit();
+            Attempt first = new Attempt(exchange);
+            AtomicBoolean sent = new AtomicBoolean();
+            Mono<Attempt> hedge = Mono.delay(delay(window, config)).flatMap(tick -> {
+                if (!budget.withdraw()) {
+                    noBudget.increment();
+                    return Mono.empty();
+                }
+                sent.set(true);
+                Attempt second = new Attempt(exchange);
+                Response<ServiceInstance> chosen = first.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+                if (chosen != null && chosen.hasServer()) {
+                    second.getAttributes().put(LatencyAwareLoadBalancer.AVOID_INSTANCE_ATTR, chosen.getServer());
+                }
+                return second.run(chain, window);
+            });
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            return Mono.firstWithValue(first.run(chain, window).doOnError(primaryError::set), hedge)
+                    .onErrorMap(NoSuchElementException.class,
+                            e -> primaryError.get() != null ? primaryError.get() : e)
+                    .doOnNext(winner -> {
+                        (winner != first ? won : sent.get() ? hedged : primary).increment();
+                        winner.copyTo(exchange);
+                    })
+                    .then();
+        };
+    }
+
+    private static Duration delay(LatencyWindow window, Config config) {
+        long percentile = window.percentileNanos();
+        if (percentile < 0) {
+            return config.getInitialDelay();
+        }
+        return Duration.ofNanos(Math.max(percentile, config.getMinDelay().toNanos()));
+    }
+
+    private Counter counter(String routeId, String result) {
+        return Counter.builder("gateway.hedge.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** One try at the backend, isolated from the other so both can route independently. */
+    private static final class Attempt extends ServerWebExchangeDecorator {
+
+        private final Map<String, Object> attributes;
+        private final AttemptResponse response;
+
+        Attempt(ServerWebExchange exchange) {
+            super(exchange);
+            this.attributes = new ConcurrentHashMap<>(exchange.getAttributes());
+            this.attributes.computeIfPresent(GATEWAY_ORIGINAL_REQUEST_URL_ATTR,
+                    (name, urls) -> new LinkedHashSet<>((Collection<?>) urls));
+            this.response = new AttemptResponse(exchange.getResponse());
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public ServerHttpResponse getResponse() {
+            return response;
+        }
+
+        Mono<Attempt> run(GatewayFilterChain chain, LatencyWindow window) {
+            long started = System.nanoTime();
+            return chain.filter(this)
+                    .then(Mono.fromCallable(() -> {
+                        window.record(System.nanoTime() - started);
+                        return this;
+                    }))
+                    .doOnCancel(() -> {
+                        // lost the race after the backend answered: drop its unread body
+                        Connection connection = getAttribute(CLIENT_RESPONSE_CONN_ATTR);
+                        if (connection != null) {
+                            connection.dispose();
+                        }
+                    });
+        }
+
+        void copyTo(ServerWebExchange exchange) {
+            exchange.getAttributes().putAll(attributes);
+            ServerHttpResponse target = exchange.getResponse();
+            if (response.status != null) {
+                target.setStatusCode(response.status);
+            }
+            target.getHeaders().clear();
+            target.getHeaders().putAll(response.headers);
+        }
+    }
+
+    /** Keeps status and headers to itself; the body is written later by the winner only. */
+    private static final class AttemptResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private HttpStatusCode status;
+
+        AttemptResponse(ServerHttpResponse delegate) {
+            super(delegate);
+            delegate.getHeaders().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+            this.status = delegate.getStatusCode();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+    }
+
+    /** Hedge credits: each request earns {@code maxRatio} of one, up to a burst of ten. */
+    private static final class Budget {
+
+        private static final long HEDGE = 1_000;
+        private static final long CAPACITY = 10 * HEDGE;
+
+        private final AtomicLong credits = new AtomicLong(CAPACITY);
+        private final long perRequest;
+
+        Budget(double maxRatio) {
+            this.perRequest = Math.round(maxRatio * HEDGE);
+        }
+
+        void deposit() {
+            credits.updateAndGet(c -> Math.min(CAPACITY, c + perRequest));
+        }
+
+        boolean withdraw() {
+            while (true) {
+                long current = credits.get();
+                if (current < HEDGE) {
+                    return false;
+                }
+                if (credits.compareAndSet(current, current - HEDGE)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        /** Recent response-time percentile after which a hedge is sent. */
+        private double percentile = 0.95;
+        private Duration initialDelay = Duration.ofMillis(200);
+        private Duration minDelay = Duration.ofMillis(20);
+        /** Long-run share of requests that may be hedged. */
+        private double maxRatio = 0.1;
+        private String routeId;
+    }
+}
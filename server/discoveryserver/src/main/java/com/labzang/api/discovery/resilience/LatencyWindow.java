@@ -0,0 +1,47 @@
+package com.labzang.api.discovery.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The last {@code size} response times of a route and a percentile over them, recomputed
+ * every {@value #RECOMPUTE_EVERY} samples rather than on each read.
+ */
+final class LatencyWindow {
+
+    static final int RECOMPUTE_EVERY = 16;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, double percentile) {
+        this.samples = new AtomicLongArray(size);
+        this.percentile = percentile;
+    }
+
+    void record(long nanos) {
+        long n = count.incrementAndGet();
+        samples.set((int) ((n - 1) % samples.length()), nanos);
+        if (n % RECOMPUTE_EVERY == 0) {
+            recompute(n);
+        }
+    }
+
+    /** The percentile in nanoseconds, or -1 before the first {@value #RECOMPUTE_EVERY} samples. */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(long n) {
+        int filled = (int) Math.min(n, samples.length());
+        long[] sorted = new long[filled];
+        for (int i = 0; i < filled; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        percentileNanos = sorted[Math.max(0, (int) Math.ceil(percentile * filled) - 1)];
+    }
+}
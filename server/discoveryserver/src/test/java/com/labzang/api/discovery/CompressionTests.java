@@ -0,0 +1,106 @@
+package com.labzang.api.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * The gateway compresses what upstreams send uncompressed: the stub backend answers a
+ * 4 KB JSON body and reports whether an Accept-Encoding header reached it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CompressionTests {
+
+    private static final String ROUTES = "spring.cloud.gateway.server.webflux.routes";
+
+    private static final String BODY = "{\"data\":[" + "{\"team_name\":\"compression\"},".repeat(150) + "{}]}";
+
+    private static final DisposableServer backend = HttpServer.create().port(0)
+            .route(routes -> routes
+                    .get("/teams", (request, response) -> response
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .header("X-Upstream-Accept-Encoding",
+                                    String.valueOf(request.requestHeaders().contains(HttpHeaders.ACCEPT_ENCODING)))
+                            .sendString(Mono.just(BODY)))
+                    .get("/small", (request, response) -> response
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .sendString(Mono.just("{\"data\":1}"))))
+            .bindNow();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("eureka.client.enabled", () -> false);
+        registry.add(ROUTES + "[0].id", () -> "compressed");
+        registry.add(ROUTES + "[0].uri", () -> "http://localhost:" + backend.port());
+        registry.add(ROUTES + "[0].predicates[0]", () -> "Path=/compressed/**");
+        registry.add(ROUTES + "[0].filters[0]", () -> "StripPrefix=1");
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.disposeNow();
+    }
+
+    @Test
+    void brotliWhenTheClientAcceptsIt() {
+        EntityExchangeResult<byte[]> result = fetch("/compressed/teams", "br, gzip");
+
+        assertThat(result.getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(result.getResponseHeaders().getFirst("X-Upstream-Accept-Encoding")).isEqualTo("false");
+        assertThat(result.getResponseBody().length).isLessThan(BODY.length() / 4);
+    }
+
+    @Test
+    void gzipForOlderClients() throws IOException {
+        EntityExchangeResult<byte[]> result = fetch("/compressed/teams", "gzip");
+
+        assertThat(result.getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponseBody()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    void smallAndUnacceptedResponsesAreSentAsIs() {
+        assertThat(fetch("/compressed/small", "br, gzip").getResponseHeaders()
+                .containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        EntityExchangeResult<byte[]> identity = fetch("/compressed/teams", "identity");
+        assertThat(identity.getResponseHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(new String(identity.getResponseBody(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    private EntityExchangeResult<byte[]> fetch(String path, String acceptEncoding) {
+        // the default connector decompresses and drops Content-Encoding
+        WebTestClient client = WebTestClient.bindToServer(new ReactorClientHttpConnector(HttpClient.create()))
+                .baseUrl("http://localhost:" + port)
+                .build();
+        return client.get().uri(path)
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult();
+    }
+}
@@ -0,0 +1,145 @@
+package com.labzang.api.discovery.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTests {
+
+    private ResponseCacheStore store;
+    private GatewayFilter filter;
+    private AtomicInteger backendCalls;
+    private String cacheControl;
+
+    @BeforeEach
+    void setUp() {
+        store = new ResponseCacheStore(new SimpleMeterRegistry(), DataSize.ofMegabytes(1), DataSize.ofKilobytes(64));
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setMethods(Set.of("GET", "POST"));
+        filter = new ResponseCacheGatewayFilterFactory(store).apply(config);
+        backendCalls = new AtomicInteger();
+        cacheControl = null;
+    }
+
+    @Test
+    void runsOutsideTheResponseWriter() {
+        // otherwise NettyWriteResponseFilter writes the backend body past the tee
+        assertThat(((Ordered) filter).getOrder()).isLessThan(NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER);
+    }
+
+    @Test
+    void repeatedGetIsServedFromCache() {
+        MockServerWebExchange first = run(MockServerHttpRequest.get("/api/soccer/team?size=2&cursor=a"));
+        MockServerWebExchange second = run(MockServerHttpRequest.get("/api/soccer/team?cursor=a&size=2"));
+
+        assertThat(backendCalls).hasValue(1);
+        assertThat(first.getResponse().getHeaders().getFirst(CachedResponse.X_CACHE)).isEqualTo("MISS");
+        assertThat(second.getResponse().getHeaders().getFirst(CachedResponse.X_CACHE)).isEqualTo("HIT");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("GET /api/soccer/team 1");
+    }
+
+    @Test
+    void postBodyIsPartOfTheKeyAndStillReachesTheBackend() {
+        run(MockServerHttpRequest.post("/api/search").body("{\"domain\":\"team\",\"keyword\":\"a\"}"));
+        MockServerWebExchange other = run(MockServerHttpRequest.post("/api/search").body("{\"domain\":\"team\",\"keyword\":\"b\"}"));
+        MockServerWebExchange repeat = run(MockServerHttpRequest.post("/api/search").body("{\"domain\":\"team\",\"keyword\":\"a\"}"));
+
+        assertThat(backendCalls).hasValue(2);
+        assertThat(other.getResponse().getBodyAsString().block()).endsWith("keyword\":\"b\"} 2");
+        assertThat(repeat.getResponse().getHeaders().getFirst(CachedResponse.X_CACHE)).isEqualTo("HIT");
+        assertThat(repeat.getResponse().getBodyAsString().block()).endsWith("keyword\":\"a\"} 1");
+    }
+
+    @Test
+    void honoursCacheControl() {
+        cacheControl = "no-store";
+        run(MockServerHttpRequest.get("/api/soccer/stadiums"));
+        run(MockServerHttpRequest.get("/api/soccer/stadiums"));
+        assertThat(backendCalls).hasValue(2);
+
+        cacheControl = null;
+        run(MockServerHttpRequest.get("/api/soccer/stadiums"));
+        run(MockServerHttpRequest.get("/api/soccer/stadiums").header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        assertThat(backendCalls).hasValue(4);
+        run(MockServerHttpRequest.get("/api/soccer/stadiums"));
+        assertThat(backendCalls).hasValue(4);
+    }
+
+    @Test
+    void writeThroughTheRoutePurgesItsResource() {
+        run(MockServerHttpRequest.get("/api/soccer/team"));
+        run(MockServerHttpRequest.get("/api/soccer/stadiums"));
+        run(MockServerHttpRequest.put("/api/soccer/team").body("{}"));
+
+        run(MockServerHttpRequest.get("/api/soccer/team"));
+        run(MockServerHttpRequest.get("/api/soccer/stadiums"));
+
+        // two misses, the PUT, one re-fetch; stadiums stays cached
+        assertThat(backendCalls).hasValue(4);
+    }
+
+    @Test
+    void explicitPurge() {
+        run(MockServerHttpRequest.get("/api/soccer/team"));
+        assertThat(store.purge("/api/soccer")).isEqualTo(1);
+        run(MockServerHttpRequest.get("/api/soccer/team"));
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void prefixKeepsTheFirstSegments() {
+        assertThat(ResponseCacheGatewayFilterFactory.prefix("/api/soccer/team/page", 3)).isEqualTo("/api/soccer/team");
+        assertThat(ResponseCacheGatewayFilterFactory.prefix("/api/soccer", 3)).isEqualTo("/api/soccer");
+    }
+
+    private MockServerWebExchange run(MockServerHttpRequest.BaseBuilder<?> request) {
+        return run(request.build());
+    }
+
+    private MockServerWebExchange run(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, backend()).block();
+        return exchange;
+    }
+
+    /** Echoes method, path and request body, numbered by call. */
+    private GatewayFilterChain backend() {
+        return (ServerWebExchange exchange) -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .map(buffer -> {
+                    String body = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return body;
+                })
+                .defaultIfEmpty("")
+                .flatMap(body -> {
+                    int call = backendCalls.incrementAndGet();
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    if (cacheControl != null) {
+                        exchange.getResponse().getHeaders().setCacheControl(cacheControl);
+                    }
+                    String text = exchange.getRequest().getMethod().name() + " " + exchange.getRequest().getURI().getPath()
+                            + (body.isEmpty() ? "" : " " + body) + " " + call;
+                    return exchange.getResponse().writeWith(Mono.just(
+                            exchange.getResponse().bufferFactory().wrap(text.getBytes(StandardCharsets.UTF_8))));
+                });
+    }
+}
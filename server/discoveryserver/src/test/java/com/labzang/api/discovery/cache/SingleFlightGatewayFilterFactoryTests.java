@@ -0,0 +1,117 @@
+package com.labzang.api.discovery.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class SingleFlightGatewayFilterFactoryTests {
+
+    private static final String SEARCH = "{\"domain\":\"player\",\"keyword\":\"son\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightGatewayFilterFactory factory;
+    private AtomicInteger backendCalls;
+    private Sinks.Empty<Void> gate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        factory = new SingleFlightGatewayFilterFactory(meterRegistry, DataSize.ofKilobytes(64));
+        backendCalls = new AtomicInteger();
+        gate = Sinks.empty();
+    }
+
+    @Test
+    void identicalConcurrentRequestsShareOneUpstreamCall() {
+        GatewayFilter filter = filter(Duration.ofSeconds(5));
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = exchange(SEARCH);
+            exchanges.add(exchange);
+            calls.add(filter.filter(exchange, backend()).cache());
+        }
+        calls.forEach(Mono::subscribe);
+        gate.tryEmitEmpty();
+        Mono.when(calls).block(Duration.ofSeconds(5));
+
+        assertThat(backendCalls).hasValue(1);
+        assertThat(exchanges).allSatisfy(exchange ->
+                assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("result 1"));
+        assertThat(exchanges.stream().filter(e -> "COLLAPSED".equals(
+                e.getResponse().getHeaders().getFirst(SingleFlightGatewayFilterFactory.X_SINGLE_FLIGHT)))).hasSize(4);
+        assertThat(meterRegistry.get("gateway.singleflight.requests").tag("result", "collapsed").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void differentBodiesAreNotCollapsed() {
+        GatewayFilter filter = filter(Duration.ofSeconds(5));
+        Mono<Void> first = filter.filter(exchange(SEARCH), backend()).cache();
+        Mono<Void> second = filter.filter(exchange("{\"domain\":\"team\",\"keyword\":\"son\"}"), backend()).cache();
+        first.subscribe();
+        second.subscribe();
+        gate.tryEmitEmpty();
+        Mono.when(first, second).block(Duration.ofSeconds(5));
+
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void followerStopsWaitingAfterMaxWait() {
+        GatewayFilter filter = filter(Duration.ofMillis(50));
+        MockServerWebExchange leader = exchange(SEARCH);
+        Mono<Void> leading = filter.filter(leader, backend()).cache();
+        leading.subscribe();
+
+        MockServerWebExchange follower = exchange(SEARCH);
+        Mono<Void> following = filter.filter(follower, backend()).cache();
+        following.subscribe();
+        // the follower times out, calls upstream itself and waits at the same gate
+        Mono.delay(Duration.ofMillis(200)).block();
+        gate.tryEmitEmpty();
+        Mono.when(leading, following).block(Duration.ofSeconds(5));
+
+        assertThat(backendCalls).hasValue(2);
+        assertThat(follower.getResponse().getHeaders().getFirst(SingleFlightGatewayFilterFactory.X_SINGLE_FLIGHT)).isNull();
+        assertThat(meterRegistry.get("gateway.singleflight.requests").tag("result", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    private GatewayFilter filter(Duration maxWait) {
+        SingleFlightGatewayFilterFactory.Config config = new SingleFlightGatewayFilterFactory.Config();
+        config.setMaxWait(maxWait);
+        config.setMethods(Set.of("POST"));
+        return factory.apply(config);
+    }
+
+    private static MockServerWebExchange exchange(String body) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/search").body(body));
+    }
+
+    /** Answers once the gate opens, numbering each upstream call. */
+    private GatewayFilterChain backend() {
+        return exchange -> gate.asMono().then(Mono.defer(() -> {
+            int call = backendCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(("result " + call).getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+}
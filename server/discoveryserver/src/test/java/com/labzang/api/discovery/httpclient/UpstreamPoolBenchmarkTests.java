@@ -0,0 +1,113 @@
+package com.labzang.api.discovery.httpclient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Throughput through the gateway to a local stub that answers after {@link #SERVICE_TIME},
+ * with {@link #CONCURRENCY} callers: a starved default pool, the same upstream with its own
+ * larger pool, and the starved pool's connection budget used over h2c.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UpstreamPoolBenchmarkTests {
+
+    private static final String ROUTES = "spring.cloud.gateway.server.webflux.routes";
+    private static final Duration SERVICE_TIME = Duration.ofMillis(20);
+    private static final int CONCURRENCY = 64;
+    private static final int REQUESTS = 2_000;
+    private static final int STARVED_CONNECTIONS = 4;
+
+    private static final DisposableServer backend = HttpServer.create().port(0)
+            .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+            .route(routes -> routes.get("/work", (request, response) ->
+                    response.sendString(Mono.just("ok").delayElement(SERVICE_TIME))))
+            .bindNow();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("eureka.client.enabled", () -> false);
+        String[] upstreams = {"starved", "tuned", "multiplexed"};
+        for (int i = 0; i < upstreams.length; i++) {
+            String upstream = upstreams[i];
+            registry.add("spring.cloud.discovery.client.simple.instances." + upstream + "[0].uri",
+                    () -> "http://localhost:" + backend.port());
+            registry.add(ROUTES + "[" + i + "].id", () -> upstream);
+            registry.add(ROUTES + "[" + i + "].uri", () -> "lb://" + upstream);
+            registry.add(ROUTES + "[" + i + "].predicates[0]", () -> "Path=/" + upstream + "/**");
+            registry.add(ROUTES + "[" + i + "].filters[0]", () -> "StripPrefix=1");
+        }
+        registry.add("spring.cloud.gateway.server.webflux.httpclient.pool.max-connections", () -> STARVED_CONNECTIONS);
+        registry.add("gateway.httpclient.upstreams.tuned.max-connections", () -> CONCURRENCY);
+        registry.add("gateway.httpclient.upstreams.multiplexed.h2c", () -> true);
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.disposeNow();
+    }
+
+    @Test
+    void ownPoolAndH2cOutpaceAStarvedPool() {
+        ConnectionProvider callers = ConnectionProvider.create("benchmark-callers", CONCURRENCY);
+        try {
+            WebClient client = WebClient.builder()
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(callers)))
+                    .baseUrl("http://localhost:" + port)
+                    .build();
+
+            long starved = run(client, "/starved/work");
+            long tuned = run(client, "/tuned/work");
+            long multiplexed = run(client, "/multiplexed/work");
+
+            print("starved (" + STARVED_CONNECTIONS + " conns)", starved);
+            print("tuned (" + CONCURRENCY + " conns)", tuned);
+            print("h2c (" + STARVED_CONNECTIONS + " conns)", multiplexed);
+
+            assertThat(tuned).isLessThan(starved);
+            assertThat(multiplexed).isLessThan(starved);
+        } finally {
+            callers.disposeLater().block();
+        }
+    }
+
+    private static long run(WebClient client, String path) {
+        load(client, path, CONCURRENCY * 2);
+        long started = System.nanoTime();
+        load(client, path, REQUESTS);
+        return System.nanoTime() - started;
+    }
+
+    private static void load(WebClient client, String path, int requests) {
+        Flux.range(0, requests)
+                .flatMap(i -> client.get().uri(path).retrieve().bodyToMono(String.class), CONCURRENCY)
+                .blockLast(Duration.ofMinutes(2));
+    }
+
+    private static void print(String scenario, long nanos) {
+        System.out.printf("%-22s: %,d requests in %,d ms (%,d req/s)%n",
+                scenario, REQUESTS, nanos / 1_000_000, REQUESTS * 1_000_000_000L / nanos);
+    }
+}
@@ -0,0 +1,107 @@
+package com.labzang.api.discovery.httpclient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UpstreamPoolTests {
+
+    private static final String ROUTES = "spring.cloud.gateway.server.webflux.routes";
+
+    private static final DisposableServer backend = HttpServer.create().port(0)
+            .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+            .route(routes -> routes
+                    .get("/protocol", (request, response) -> response.sendString(Mono.just(request.protocol())))
+                    .get("/slow", (request, response) ->
+                            response.sendString(Mono.just("done").delayElement(Duration.ofMillis(300)))))
+            .bindNow();
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("eureka.client.enabled", () -> false);
+        int index = 0;
+        for (String upstream : List.of("tight", "h2c")) {
+            registry.add("spring.cloud.discovery.client.simple.instances." + upstream + "[0].uri",
+                    () -> "http://localhost:" + backend.port());
+            registry.add(ROUTES + "[" + index + "].id", () -> upstream);
+            registry.add(ROUTES + "[" + index + "].uri", () -> "lb://" + upstream);
+            registry.add(ROUTES + "[" + index + "].predicates[0]", () -> "Path=/" + upstream + "/**");
+            registry.add(ROUTES + "[" + index + "].filters[0]", () -> "StripPrefix=1");
+            index++;
+        }
+        registry.add("gateway.httpclient.upstreams.tight.max-connections", () -> 1);
+        registry.add("gateway.httpclient.upstreams.tight.pending-acquire-max-count", () -> 1);
+        registry.add("gateway.httpclient.upstreams.h2c.h2c", () -> true);
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.disposeNow();
+    }
+
+    @Test
+    void replacesTheStockRoutingFilter() {
+        assertThat(context.getBeansOfType(NettyRoutingFilter.class).values())
+                .singleElement().isInstanceOf(UpstreamRoutingFilter.class);
+    }
+
+    @Test
+    void h2cUpstreamIsCalledOverHttp2() {
+        client.get().uri("/h2c/protocol").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("HTTP/2.0");
+        client.get().uri("/tight/protocol").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("HTTP/1.1");
+    }
+
+    @Test
+    void fullPendingQueueFailsFast() {
+        WebClient webClient = WebClient.create("http://localhost:" + port);
+        // one call holds the only connection, one waits for it, the third finds the queue full
+        List<Integer> statuses = Flux.range(0, 3)
+                .flatMap(i -> webClient.get().uri("/tight/slow")
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value())))
+                .collectSortedList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(statuses).hasSize(3);
+        assertThat(statuses.subList(0, 2)).containsOnly(200);
+        assertThat(statuses.get(2)).isGreaterThanOrEqualTo(500);
+        assertThat(meterRegistry.get("gateway.httpclient.acquire.failures")
+                .tag("upstream", "tight").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,84 @@
+package com.labzang.api.discovery.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ConcurrencyLimitGatewayFilterFactoryTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitGatewayFilterFactory factory;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitGatewayFilterFactory.Config config = new ConcurrencyLimitGatewayFilterFactory.Config();
+        config.setInitialLimit(2);
+        config.setMaxLimit(4);
+        config.setBackoffRatio(0.5);
+        config.setRouteId("search-service");
+        // gauges hold the factory's limiter map weakly, so keep the factory reachable
+        factory = new ConcurrencyLimitGatewayFilterFactory(meterRegistry);
+        filter = factory.apply(config);
+    }
+
+    @Test
+    void callsOverTheLimitAreShedWith503() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+        Mono<Void> first = filter.filter(exchange(), backend(gate.asMono(), HttpStatus.OK)).cache();
+        Mono<Void> second = filter.filter(exchange(), backend(gate.asMono(), HttpStatus.OK)).cache();
+        first.subscribe();
+        second.subscribe();
+
+        MockServerWebExchange shed = exchange();
+        filter.filter(shed, backend(gate.asMono(), HttpStatus.OK)).block(Duration.ofSeconds(5));
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        gate.tryEmitEmpty();
+        Mono.when(first, second).block(Duration.ofSeconds(5));
+        MockServerWebExchange later = exchange();
+        filter.filter(later, backend(Mono.empty(), HttpStatus.OK)).block(Duration.ofSeconds(5));
+        assertThat(later.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(gauge("gateway.concurrency.inflight")).isZero();
+    }
+
+    @Test
+    void limitShrinksOnServerErrorsAndGrowsBackUnderLoad() {
+        filter.filter(exchange(), backend(Mono.empty(), HttpStatus.SERVICE_UNAVAILABLE))
+                .block(Duration.ofSeconds(5));
+        assertThat(gauge("gateway.concurrency.limit")).isEqualTo(1);
+
+        // a good call using at least half the limit earns one more slot; one call at a time
+        // stops earning once the limit passes 2
+        for (int i = 0; i < 10; i++) {
+            filter.filter(exchange(), backend(Mono.empty(), HttpStatus.OK)).block(Duration.ofSeconds(5));
+        }
+        assertThat(gauge("gateway.concurrency.limit")).isEqualTo(3);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("route", "search-service").gauge().value();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/search"));
+    }
+
+    /** Answers with {@code status} once {@code gate} completes. */
+    private static GatewayFilterChain backend(Mono<Void> gate, HttpStatus status) {
+        return exchange -> gate.then(Mono.fromRunnable(() -> exchange.getResponse().setStatusCode(status)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.labzang.api.discovery.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class RateLimitGatewayFilterFactoryTests {
+
+    /** The Next.js server every browser request arrives through. */
+    private static final String PROXY = "172.18.0.5";
+
+    private long now;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitGatewayFilterFactory factory;
+    private AtomicInteger backendCalls;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        meterRegistry = new SimpleMeterRegistry();
+        factory = new RateLimitGatewayFilterFactory(meterRegistry, 1_000, PROXY.replace(".", "\\."), () -> now);
+        backendCalls = new AtomicInteger();
+    }
+
+    @Test
+    void burstIsAllowedThenRejectedWithRetryAfter() {
+        GatewayFilter filter = filter(RateLimitGatewayFilterFactory.KeyBy.IP);
+
+        assertThat(run(filter, "10.0.0.1").getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(run(filter, "10.0.0.1").getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        MockServerWebExchange rejected = run(filter, "10.0.0.1");
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(backendCalls).hasValue(2);
+        assertThat(meterRegistry.get("gateway.ratelimit.requests").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void clientsHaveTheirOwnBuckets() {
+        GatewayFilter filter = filter(RateLimitGatewayFilterFactory.KeyBy.IP);
+        run(filter, "10.0.0.1");
+        run(filter, "10.0.0.1");
+
+        assertThat(run(filter, "10.0.0.2").getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void tokensAreReplenishedOverTime() {
+        GatewayFilter filter = filter(RateLimitGatewayFilterFactory.KeyBy.ROUTE);
+        run(filter, "10.0.0.1");
+        run(filter, "10.0.0.2");
+        assertThat(run(filter, "10.0.0.3").getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        now += Duration.ofSeconds(1).toNanos();
+
+        assertThat(run(filter, "10.0.0.3").getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(run(filter, "10.0.0.3").getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void clientsBehindATrustedProxyHaveTheirOwnBuckets() {
+        GatewayFilter filter = filter(RateLimitGatewayFilterFactory.KeyBy.IP);
+        run(filter, PROXY, "203.0.113.1");
+        run(filter, PROXY, "203.0.113.1");
+
+        assertThat(run(filter, PROXY, "203.0.113.1").getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(run(filter, PROXY, "203.0.113.2").getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(run(filter, PROXY, "203.0.113.2").getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void forwardingHeadersAreOnlyTakenFromTrustedProxies() {
+        // right-most untrusted hop: the client cannot pick its key by prepending addresses
+        assertThat(clientOf(PROXY, "X-Forwarded-For", "1.1.1.1, 203.0.113.1")).isEqualTo("203.0.113.1");
+        assertThat(clientOf(PROXY, "X-Forwarded-For", "203.0.113.1, " + PROXY)).isEqualTo("203.0.113.1");
+        assertThat(clientOf(PROXY, "Forwarded", "for=203.0.113.1;proto=https, for=\"[2001:db8::17]:4711\""))
+                .isEqualTo("2001:db8::17");
+        assertThat(clientOf(PROXY, "X-Forwarded-For", null)).isEqualTo(PROXY);
+        // a direct caller's header is ignored
+        assertThat(clientOf("198.51.100.7", "X-Forwarded-For", "203.0.113.1")).isEqualTo("198.51.100.7");
+    }
+
+    private String clientOf(String peer, String header, String value) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/search")
+                .remoteAddress(new InetSocketAddress(peer, 40000));
+        if (value != null) {
+            request.header(header, value);
+        }
+        return factory.clientAddress(request.build());
+    }
+
+    /** One token per second, bursts of two. */
+    private GatewayFilter filter(RateLimitGatewayFilterFactory.KeyBy keyBy) {
+        RateLimitGatewayFilterFactory.Config config = new RateLimitGatewayFilterFactory.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(2);
+        config.setKeyBy(keyBy);
+        config.setRouteId("search-service");
+        return factory.apply(config);
+    }
+
+    private MockServerWebExchange run(GatewayFilter filter, String clientIp) {
+        return run(filter, clientIp, null);
+    }
+
+    private MockServerWebExchange run(GatewayFilter filter, String peerIp, String forwardedFor) {
+        MockServerHttpRequest.BodyBuilder request = MockServerHttpRequest.post("/api/search")
+                .remoteAddress(new InetSocketAddress(peerIp, 40000));
+        if (forwardedFor != null) {
+            request.header("X-Forwarded-For", forwardedFor);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, backend()).block(Duration.ofSeconds(5));
+        return exchange;
+    }
+
+    private GatewayFilterChain backend() {
+        return exchange -> Mono.fromRunnable(() -> {
+            backendCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+        });
+    }
+}
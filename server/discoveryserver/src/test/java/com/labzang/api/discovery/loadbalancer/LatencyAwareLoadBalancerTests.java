@@ -0,0 +1,185 @@
+package com.labzang.api.discovery.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Drives the balancer and {@link LatencyRecordingLifecycle} against fake instances with
+ * injected latency on a simulated clock, so the comparison is deterministic in time.
+ */
+class LatencyAwareLoadBalancerTests {
+
+    private static final String SERVICE = "soccerservice";
+    private static final long MS = 1_000_000L;
+
+    /** Four healthy instances and one stuck in long GC pauses, by port. */
+    private static final Map<Integer, Long> INJECTED_LATENCY_MS = Map.of(
+            8081, 10L, 8082, 10L, 8083, 10L, 8084, 10L, 8085, 150L);
+
+    private long now;
+    private InstanceLatencyStats stats;
+    private LatencyRecordingLifecycle lifecycle;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        stats = new InstanceLatencyStats(new SimpleMeterRegistry(), Duration.ofSeconds(10), Duration.ofSeconds(1), () -> now);
+        lifecycle = new LatencyRecordingLifecycle(stats);
+    }
+
+    @Test
+    void fasterOfTwoInstancesIsChosen() {
+        ServiceInstance fast = instance(8081);
+        ServiceInstance slow = instance(8085);
+        stats.started(fast);
+        stats.completed(fast, 10 * MS, false);
+        stats.started(slow);
+        stats.completed(slow, 150 * MS, false);
+
+        LatencyAwareLoadBalancer balancer = balancer(fast, slow);
+        for (int i = 0; i < 100; i++) {
+            assertThat(choose(balancer).getServer()).isEqualTo(fast);
+        }
+    }
+
+    @Test
+    void avoidedInstanceIsRetriedAfterIdling() {
+        ServiceInstance fast = instance(8081);
+        ServiceInstance slow = instance(8085);
+        stats.started(slow);
+        stats.completed(slow, 150 * MS, false);
+        LatencyAwareLoadBalancer balancer = balancer(fast, slow);
+
+        // the fast instance keeps answering in 10 ms while the slow one gets no traffic
+        for (int i = 0; i < 300; i++) {
+            now += 100 * MS;
+            stats.started(fast);
+            stats.completed(fast, 10 * MS, false);
+        }
+
+        assertThat(choose(balancer).getServer()).isEqualTo(slow);
+    }
+
+    @Test
+    void failedCallsCountAsSlow() {
+        ServiceInstance healthy = instance(8081);
+        ServiceInstance refusing = instance(8082);
+        stats.started(healthy);
+        stats.completed(healthy, 50 * MS, false);
+        stats.started(refusing);
+        stats.completed(refusing, 1 * MS, true);
+
+        assertThat(choose(balancer(healthy, refusing)).getServer()).isEqualTo(healthy);
+    }
+
+    @Test
+    void cancelledCallFreesItsSlotAndCountsAsAtLeastItsDuration() {
+        ServiceInstance abandoned = instance(8081);
+        ServiceInstance fast = instance(8082);
+        stats.started(fast);
+        stats.completed(fast, 10 * MS, false);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/soccer/team"));
+        exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(abandoned));
+        stats.started(abandoned);
+
+        Disposable call = lifecycle.filter(exchange, e -> Mono.never()).subscribe();
+        now += 200 * MS;
+        call.dispose();
+
+        // no longer in flight, but no cheaper than the 200 ms it was seen to take
+        assertThat(stats.cost(abandoned)).isEqualTo(200d * MS);
+        assertThat(choose(balancer(abandoned, fast)).getServer()).isEqualTo(fast);
+    }
+
+    @Test
+    void tailLatencyDropsAgainstRoundRobin() {
+        ServiceInstance[] instances = INJECTED_LATENCY_MS.keySet().stream().sorted()
+                .map(LatencyAwareLoadBalancerTests::instance).toArray(ServiceInstance[]::new);
+
+        long roundRobin = p99(simulate(new RoundRobinLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE, instances), SERVICE)));
+        long latencyAware = p99(simulate(balancer(instances)));
+
+        System.out.printf("p99 round-robin: %d ms, latency-aware: %d ms%n", roundRobin, latencyAware);
+        assertThat(roundRobin).isGreaterThanOrEqualTo(150);
+        assertThat(latencyAware).isLessThan(roundRobin / 3);
+    }
+
+    /**
+     * 5,000 requests arriving every 2 ms. Each call takes its instance's injected latency plus
+     * exponential jitter (mean 2 ms) and is reported to the lifecycle when it ends.
+     */
+    private List<Long> simulate(ReactorServiceInstanceLoadBalancer balancer) {
+        Random jitter = new Random(42);
+        PriorityQueue<Call> inflight = new PriorityQueue<>(Comparator.comparingLong(Call::endsAt));
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            long arrival = i * 2 * MS;
+            while (!inflight.isEmpty() && inflight.peek().endsAt() <= arrival) {
+                Call call = inflight.poll();
+                now = call.endsAt();
+                lifecycle.onComplete(new CompletionContext<ResponseData, ServiceInstance, RequestDataContext>(
+                        CompletionContext.Status.SUCCESS, call.request(), call.response()));
+            }
+            now = arrival;
+            Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+            Response<ServiceInstance> response = balancer.choose(request).block();
+            lifecycle.onStartRequest(request, response);
+
+            long latencyMs = INJECTED_LATENCY_MS.get(response.getServer().getPort())
+                    + Math.round(-2 * Math.log(1 - jitter.nextDouble()));
+            inflight.add(new Call(request, response, now + latencyMs * MS));
+            latencies.add(latencyMs);
+        }
+        return latencies;
+    }
+
+    private record Call(Request<RequestDataContext> request, Response<ServiceInstance> response, long endsAt) {
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = latencies.stream().sorted().toList();
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    private LatencyAwareLoadBalancer balancer(ServiceInstance... instances) {
+        return new LatencyAwareLoadBalancer(ServiceInstanceListSuppliers.toProvider(SERVICE, instances), SERVICE, stats);
+    }
+
+    private static Response<ServiceInstance> choose(LatencyAwareLoadBalancer balancer) {
+        return balancer.choose(new DefaultRequest<>(new RequestDataContext())).block();
+    }
+
+    private static ServiceInstance instance(int port) {
+        return new DefaultServiceInstance(SERVICE + "-" + port, SERVICE, "localhost", port, false);
+    }
+}
@@ -0,0 +1,106 @@
+package com.labzang.api.discovery.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Pushes registry changes the way eurekaserver does and checks that routing follows
+ * them at once, while the (simple) discovery client still lists only the original instance.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RegistryPushTests {
+
+    private static final String ROUTES = "spring.cloud.gateway.server.webflux.routes";
+    private static final String TOKEN = "push-secret";
+
+    private static final DisposableServer original = stub("original");
+    private static final DisposableServer added = stub("added");
+
+    @Autowired
+    private WebTestClient client;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("eureka.client.enabled", () -> false);
+        registry.add("gateway.registry-push.token", () -> TOKEN);
+        registry.add("spring.cloud.discovery.client.simple.instances.pushed[0].uri", () -> "http://localhost:" + original.port());
+        registry.add("spring.cloud.discovery.client.simple.instances.pushed[0].instance-id", () -> "original");
+        registry.add(ROUTES + "[0].id", () -> "pushed");
+        registry.add(ROUTES + "[0].uri", () -> "lb://pushed");
+        registry.add(ROUTES + "[0].predicates[0]", () -> "Path=/pushed/**");
+        registry.add(ROUTES + "[0].filters[0]", () -> "StripPrefix=1");
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        original.disposeNow();
+        added.disposeNow();
+    }
+
+    @Test
+    void pushedChangesApplyBeforeDiscoveryCatchesUp() {
+        assertThat(backends(20)).containsExactly("original");
+
+        push(new RegistryChange(RegistryChange.Type.REGISTERED, "PUSHED", "added", "localhost", added.port(),
+                false, "UP", Map.of())).expectStatus().isAccepted();
+        assertThat(backends(20)).contains("added");
+
+        push(new RegistryChange(RegistryChange.Type.CANCELLED, "PUSHED", "original", null, null, null, null, null))
+                .expectStatus().isAccepted();
+        assertThat(backends(20)).containsExactly("added");
+
+        push(new RegistryChange(RegistryChange.Type.REGISTERED, "PUSHED", "added", "localhost", added.port(),
+                false, "OUT_OF_SERVICE", Map.of())).expectStatus().isAccepted();
+        client.get().uri("/pushed/who").exchange().expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void pushesWithoutTheTokenAreRejected() {
+        RegistryChange change = new RegistryChange(RegistryChange.Type.CANCELLED, "PUSHED", "original",
+                null, null, null, null, null);
+
+        client.post().uri("/internal/registry/events").bodyValue(change)
+                .exchange().expectStatus().isForbidden();
+        client.post().uri("/internal/registry/events").header(RegistryPushController.TOKEN_HEADER, "wrong")
+                .bodyValue(change).exchange().expectStatus().isForbidden();
+    }
+
+    private WebTestClient.ResponseSpec push(RegistryChange change) {
+        return client.post().uri("/internal/registry/events")
+                .header(RegistryPushController.TOKEN_HEADER, TOKEN)
+                .bodyValue(change)
+                .exchange();
+    }
+
+    private Set<String> backends(int requests) {
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < requests; i++) {
+            seen.add(client.get().uri("/pushed/who").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).returnResult().getResponseBody());
+        }
+        return seen;
+    }
+
+    private static DisposableServer stub(String name) {
+        return HttpServer.create().port(0)
+                .route(routes -> routes.get("/who", (request, response) -> response.sendString(Mono.just(name))))
+                .bindNow();
+    }
+}
@@ -0,0 +1,162 @@
+package com.labzang.api.discovery.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Routes through the real gateway filter chain to local stub backends: a fast and a slow
+ * instance of one service, a failing backend and a port nobody listens on.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GatewayResilienceTests {
+
+    private static final String ROUTES = "spring.cloud.gateway.server.webflux.routes";
+
+    private static final Duration SLOW = Duration.ofSeconds(3);
+
+    private static final AtomicInteger flakyCalls = new AtomicInteger();
+
+    private static final DisposableServer fast = HttpServer.create().port(0)
+            .route(routes -> routes.get("/items", (request, response) -> response.sendString(Mono.just("fast"))))
+            .bindNow();
+    private static final DisposableServer slow = HttpServer.create().port(0)
+            .route(routes -> routes.get("/items", (request, response) ->
+                    response.sendString(Mono.just("slow").delayElement(SLOW))))
+            .bindNow();
+    private static final DisposableServer flaky = HttpServer.create().port(0)
+            .route(routes -> routes.get("/items", (request, response) -> {
+                flakyCalls.incrementAndGet();
+                return response.status(500).sendString(Mono.just("boom"));
+            }))
+            .bindNow();
+    private static final int closedPort = closedPort();
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("eureka.client.enabled", () -> false);
+        registry.add("spring.cloud.discovery.client.simple.instances.stub[0].uri", () -> "http://localhost:" + fast.port());
+        registry.add("spring.cloud.discovery.client.simple.instances.stub[1].uri", () -> "http://localhost:" + slow.port());
+        registry.add("spring.cloud.discovery.client.simple.instances.dead[0].uri", () -> "http://localhost:" + closedPort);
+        registry.add("spring.cloud.discovery.client.simple.instances.halfdead[0].uri", () -> "http://localhost:" + closedPort);
+        registry.add("spring.cloud.discovery.client.simple.instances.halfdead[1].uri", () -> "http://localhost:" + fast.port());
+
+        route(registry, 0, "hedged", "lb://stub");
+        registry.add(ROUTES + "[0].filters[1].name", () -> "Hedge");
+        registry.add(ROUTES + "[0].filters[1].args.initial-delay", () -> "100ms");
+        registry.add(ROUTES + "[0].filters[1].args.max-ratio", () -> "1");
+
+        route(registry, 1, "timeout", "http://localhost:" + slow.port());
+        registry.add(ROUTES + "[1].metadata.response-timeout", () -> "300");
+        circuitBreaker(registry, 1, "timeout");
+
+        route(registry, 2, "dead", "lb://dead");
+        circuitBreaker(registry, 2, "dead");
+
+        route(registry, 3, "flaky", "http://localhost:" + flaky.port());
+        circuitBreaker(registry, 3, "flaky");
+        registry.add(ROUTES + "[3].filters[1].args.statusCodes", () -> "500");
+        registry.add("resilience4j.circuitbreaker.instances.flaky.sliding-window-size", () -> 4);
+        registry.add("resilience4j.circuitbreaker.instances.flaky.minimum-number-of-calls", () -> 4);
+
+        route(registry, 4, "halfdead", "lb://halfdead");
+        registry.add(ROUTES + "[4].filters[1].name", () -> "Hedge");
+        registry.add(ROUTES + "[4].filters[1].args.initial-delay", () -> "50ms");
+        registry.add(ROUTES + "[4].filters[1].args.max-ratio", () -> "1");
+    }
+
+    @AfterAll
+    static void stopBackends() {
+        fast.disposeNow();
+        slow.disposeNow();
+        flaky.disposeNow();
+    }
+
+    @Test
+    void slowInstanceIsHedgedToAnotherOne() {
+        long started = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            client.get().uri("/hedged/items").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).isEqualTo("fast");
+        }
+        // all ten took less than the slow instance needs for one answer
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(SLOW);
+        // the slow instance is tried while it has no samples, and loses to the hedge
+        assertThat(meterRegistry.get("gateway.hedge.requests").tag("route", "hedged").tag("result", "won")
+                .counter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void fastFailureOfThePrimaryIsCoveredByTheHedge() {
+        for (int i = 0; i < 10; i++) {
+            client.get().uri("/halfdead/items").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).isEqualTo("fast");
+        }
+    }
+
+    @Test
+    void responseTimeoutFallsBackWith504() {
+        client.get().uri("/timeout/items").exchange()
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT)
+                .expectBody().jsonPath("$.status").isEqualTo(504);
+    }
+
+    @Test
+    void unreachableInstanceFallsBackWith503() {
+        client.get().uri("/dead/items").exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().exists("Retry-After")
+                .expectBody().jsonPath("$.message").exists();
+    }
+
+    @Test
+    void openCircuitStopsCallingTheBackend() {
+        for (int i = 0; i < 8; i++) {
+            client.get().uri("/flaky/items").exchange().expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        assertThat(flakyCalls).hasValue(4);
+    }
+
+    private static void route(DynamicPropertyRegistry registry, int index, String id, String uri) {
+        registry.add(ROUTES + "[" + index + "].id", () -> id);
+        registry.add(ROUTES + "[" + index + "].uri", () -> uri);
+        registry.add(ROUTES + "[" + index + "].predicates[0]", () -> "Path=/" + id + "/**");
+        registry.add(ROUTES + "[" + index + "].filters[0]", () -> "StripPrefix=1");
+    }
+
+    private static void circuitBreaker(DynamicPropertyRegistry registry, int index, String id) {
+        registry.add(ROUTES + "[" + index + "].filters[1].name", () -> "CircuitBreaker");
+        registry.add(ROUTES + "[" + index + "].filters[1].args.name", () -> id);
+        registry.add(ROUTES + "[" + index + "].filters[1].args.fallbackUri", () -> "forward:/fallback/" + id);
+    }
+
+    private static int closedPort() {
+        DisposableServer server = HttpServer.create().port(0).bindNow();
+        int port = server.port();
+        server.disposeNow();
+        return port;
+    }
+}
@@ -0,0 +1,25 @@
+package com.labzang.api.eureka.push;
+
+import java.util.Map;
+
+import com.netflix.appinfo.InstanceInfo;
+
+/**
+ * Body of a registry push. A REGISTERED change carries the instance's address and status
+ * (re-registrations report status changes too); a CANCELLED one only names the instance.
+ */
+public record RegistryChange(Type type, String app, String instanceId, String host, Integer port,
+                             Boolean secure, String status, Map<String, String> metadata) {
+
+    public enum Type { REGISTERED, CANCELLED }
+
+    static RegistryChange registered(InstanceInfo info) {
+        boolean secure = info.isPortEnabled(InstanceInfo.PortType.SECURE);
+        return new RegistryChange(Type.REGISTERED, info.getAppName(), info.getId(), info.getHostName(),
+                secure ? info.getSecurePort() : info.getPort(), secure, info.getStatus().name(), info.getMetadata());
+    }
+
+    static RegistryChange cancelled(String app, String instanceId) {
+        return new RegistryChange(Type.CANCELLED, app, instanceId, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.labzang.api.eureka.push;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes every registration and cancellation (including lease evictions) to the
+ * registry.push.targets as it happens, so the gateway can stop routing to a departed
+ * instance, or start routing to a new one, without waiting for its next delta fetch.
+ *
+ * Only changes this node received directly are pushed; replicated ones are pushed by the
+ * peer that took them. Each target has its own single sender thread, which keeps the
+ * changes for one target in order and keeps a slow target from holding up the registry.
+ * A failed push is only logged: the target still converges through regular fetches.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RegistryPushProperties.class)
+public class RegistryPushNotifier {
+
+    public static final String TOKEN_HEADER = "X-Registry-Token";
+
+    private final RegistryPushProperties properties;
+    private final RestClient restClient;
+    private final Map<URI, ExecutorService> senders = new LinkedHashMap<>();
+
+    public RegistryPushNotifier(RegistryPushProperties properties, RestClient.Builder restClientBuilder) {
+        this.properties = properties;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getTimeout());
+        requestFactory.setReadTimeout(properties.getTimeout());
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        for (URI target : properties.getTargets()) {
+            senders.put(target, Executors.newSingleThreadExecutor(Thread.ofVirtual().name("registry-push").factory()));
+        }
+        if (!senders.isEmpty()) {
+            log.info("Pushing registry changes to {}", senders.keySet());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.values().forEach(ExecutorService::shutdown);
+    }
+
+    @EventListener
+    public void onRegistered(EurekaInstanceRegisteredEvent event) {
+        if (!event.isReplication()) {
+            push(RegistryChange.registered(event.getInstanceInfo()));
+        }
+    }
+
+    @EventListener
+    public void onCanceled(EurekaInstanceCanceledEvent event) {
+        if (!event.isReplication()) {
+            push(RegistryChange.cancelled(event.getAppName(), event.getServerId()));
+        }
+    }
+
+    private void push(RegistryChange change) {
+        senders.forEach((target, sender) -> sender.execute(() -> send(target, change)));
+    }
+
+    private void send(URI target, RegistryChange change) {
+        try {
+            restClient.post()
+                    .uri(target)
+                    .headers(headers -> {
+                        if (StringUtils.hasText(properties.getToken())) {
+                            headers.set(TOKEN_HEADER, properties.getToken());
+                        }
+                    })
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(change)
+                    .retrieve()
+                    .toBodilessEntity();
+            log.debug("Pushed {} {}/{} to {}", change.type(), change.app(), change.instanceId(), target);
+        } catch (RestClientException e) {
+            log.warn("Registry push of {} {}/{} to {} failed: {}",
+                    change.type(), change.app(), change.instanceId(), target, e.getMessage());
+        }
+    }
+}
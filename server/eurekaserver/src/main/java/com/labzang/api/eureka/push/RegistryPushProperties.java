@@ -0,0 +1,35 @@
+package com.labzang.api.eureka.push;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Where {@link RegistryPushNotifier} sends registry changes. Nothing is pushed while
+ * {@code targets} is empty.
+ *
+ * <pre>
+ * registry:
+ *   push:
+ *     targets: http://discoveryserver:8080/internal/registry/events
+ *     token: ${REGISTRY_PUSH_TOKEN}
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties("registry.push")
+public class RegistryPushProperties {
+
+    /** Endpoints receiving a POST per registered or cancelled instance. */
+    private List<URI> targets = new ArrayList<>();
+    /** Sent as X-Registry-Token; receivers reject pushes without the shared value. */
+    private String token;
+    /** Connect and read timeout of one push; a lost push is caught up by the next registry fetch. */
+    private Duration timeout = Duration.ofSeconds(1);
+}
@@ -0,0 +1,157 @@
+package com.labzang.api.eureka.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+
+/**
+ * The registered instances at one point in time, in a compact binary file: a header
+ * (magic, version, time taken, instance count), one record per instance with what
+ * clients route and renew by (ids, addresses, ports, status and overridden status, VIPs,
+ * status/health URLs, lease settings, last dirty timestamp, metadata), and a CRC32 of it
+ * all. Data-center info is restored as MyOwn, which is all this deployment registers.
+ *
+ * The file is written next to the old one and moved over it, so a crash mid-write
+ * leaves the previous snapshot; a torn or foreign file fails the checksum on read.
+ */
+public record RegistrySnapshot(long takenAt, List<InstanceInfo> instances) {
+
+    private static final int MAGIC = 0x45525347; // "ERSG"
+    private static final short VERSION = 1;
+
+    public static void write(Path path, long takenAt, Collection<InstanceInfo> instances) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * (instances.size() + 1));
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(takenAt);
+        out.writeInt(instances.size());
+        for (InstanceInfo instance : instances) {
+            writeInstance(out, instance);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = parent.resolve(path.getFileName() + ".tmp");
+        Files.write(temporary, bytes.toByteArray());
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static RegistrySnapshot read(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length < Integer.BYTES + Short.BYTES + Long.BYTES * 2 + Integer.BYTES) {
+            throw new IOException("truncated (" + bytes.length + " bytes)");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Long.BYTES);
+        if (crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - Long.BYTES, Long.BYTES).getLong()) {
+            throw new IOException("checksum mismatch");
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a registry snapshot");
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("unsupported snapshot version " + version);
+        }
+        long takenAt = in.readLong();
+        int count = in.readInt();
+        List<InstanceInfo> instances = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            instances.add(readInstance(in));
+        }
+        return new RegistrySnapshot(takenAt, instances);
+    }
+
+    private static void writeInstance(DataOutputStream out, InstanceInfo instance) throws IOException {
+        writeString(out, instance.getAppName());
+        writeString(out, instance.getId());
+        writeString(out, instance.getHostName());
+        writeString(out, instance.getIPAddr());
+        out.writeUTF(instance.getStatus().name());
+        out.writeUTF(instance.getOverriddenStatus().name());
+        out.writeInt(instance.getPort());
+        out.writeBoolean(instance.isPortEnabled(InstanceInfo.PortType.UNSECURE));
+        out.writeInt(instance.getSecurePort());
+        out.writeBoolean(instance.isPortEnabled(InstanceInfo.PortType.SECURE));
+        writeString(out, instance.getVIPAddress());
+        writeString(out, instance.getSecureVipAddress());
+        writeString(out, instance.getHomePageUrl());
+        writeString(out, instance.getStatusPageUrl());
+        writeString(out, instance.getHealthCheckUrl());
+        writeString(out, instance.getSecureHealthCheckUrl());
+        LeaseInfo lease = instance.getLeaseInfo();
+        out.writeInt(lease != null ? lease.getRenewalIntervalInSecs() : LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL);
+        out.writeInt(lease != null ? lease.getDurationInSecs() : LeaseInfo.DEFAULT_LEASE_DURATION);
+        out.writeLong(instance.getLastDirtyTimestamp() != null ? instance.getLastDirtyTimestamp() : 0L);
+        Map<String, String> metadata = instance.getMetadata();
+        out.writeInt(metadata.size());
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static InstanceInfo readInstance(DataInputStream in) throws IOException {
+        InstanceInfo.Builder builder = InstanceInfo.Builder.newBuilder()
+                .setAppNameForDeser(readString(in))
+                .setInstanceId(readString(in))
+                .setHostName(readString(in))
+                .setIPAddr(readString(in))
+                .setStatus(InstanceInfo.InstanceStatus.toEnum(in.readUTF()))
+                .setOverriddenStatus(InstanceInfo.InstanceStatus.toEnum(in.readUTF()))
+                .setPort(in.readInt())
+                .enablePort(InstanceInfo.PortType.UNSECURE, in.readBoolean())
+                .setSecurePort(in.readInt())
+                .enablePort(InstanceInfo.PortType.SECURE, in.readBoolean())
+                .setVIPAddressDeser(readString(in))
+                .setSecureVIPAddressDeser(readString(in))
+                .setHomePageUrlForDeser(readString(in))
+                .setStatusPageUrlForDeser(readString(in))
+                .setHealthCheckUrlsForDeser(readString(in), readString(in))
+                .setLeaseInfo(LeaseInfo.Builder.newBuilder()
+                        .setRenewalIntervalInSecs(in.readInt())
+                        .setDurationInSecs(in.readInt())
+                        .build())
+                .setLastDirtyTimestamp(in.readLong())
+                .setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn));
+        int entries = in.readInt();
+        Map<String, String> metadata = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+            metadata.put(in.readUTF(), readString(in));
+        }
+        return builder.setMetadata(metadata).build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,136 @@
+package com.labzang.api.eureka.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Saves the registry to registry.snapshot.path every interval and on shutdown, and loads
+ * it back on start, so a restarted server answers fetches with the instances it had
+ * instead of an empty registry (which the gateway would take as "nothing to route to"
+ * until every client's next heartbeat re-registered it).
+ *
+ * The restore runs once all singletons exist, after the registry is initialised and
+ * before the web server accepts requests. Restored instances are registered as
+ * replications: they are not replicated to peers or pushed to the gateway, which still
+ * has them. They are also quarantined: any that has not renewed within
+ * registry.snapshot.quarantine is cancelled then, whether or not self-preservation would
+ * hold back its eviction. No snapshot is written during the quarantine, so a restart
+ * inside it falls back on the previous one.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RegistrySnapshotProperties.class)
+public class RegistrySnapshotKeeper implements SmartInitializingSingleton {
+
+    private final RegistrySnapshotProperties properties;
+    private final PeerAwareInstanceRegistry registry;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("registry-snapshot").factory());
+    /** Restored instance id to app name, until the quarantine ends. */
+    private final Map<String, String> quarantined = new ConcurrentHashMap<>();
+    private volatile long restoredAt;
+
+    public RegistrySnapshotKeeper(RegistrySnapshotProperties properties, PeerAwareInstanceRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (properties.getPath() == null) {
+            return;
+        }
+        restore(properties.getPath());
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::write, interval, interval, TimeUnit.MILLISECONDS);
+        if (!quarantined.isEmpty()) {
+            scheduler.schedule(this::endQuarantine, properties.getQuarantine().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onClose() {
+        scheduler.shutdownNow();
+        if (properties.getPath() != null) {
+            write();
+        }
+    }
+
+    private void restore(Path path) {
+        if (!Files.exists(path)) {
+            log.info("No registry snapshot at {}, starting empty", path);
+            return;
+        }
+        long started = System.nanoTime();
+        RegistrySnapshot snapshot;
+        try {
+            snapshot = RegistrySnapshot.read(path);
+        } catch (IOException e) {
+            log.warn("Ignoring registry snapshot {}: {}", path, e.getMessage());
+            return;
+        }
+        Duration age = Duration.ofMillis(System.currentTimeMillis() - snapshot.takenAt());
+        if (age.compareTo(properties.getMaxAge()) > 0) {
+            log.info("Ignoring registry snapshot {}: taken {}s ago, max-age is {}s",
+                    path, age.toSeconds(), properties.getMaxAge().toSeconds());
+            return;
+        }
+        for (InstanceInfo instance : snapshot.instances()) {
+            registry.register(instance, instance.getLeaseInfo().getDurationInSecs(), true);
+            quarantined.put(instance.getId(), instance.getAppName());
+        }
+        restoredAt = System.currentTimeMillis();
+        log.info("Restored {} instances from a registry snapshot taken {}s ago in {} ms; unconfirmed ones are dropped after {}s",
+                snapshot.instances().size(), age.toSeconds(), Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                properties.getQuarantine().toSeconds());
+    }
+
+    private void endQuarantine() {
+        int dropped = 0;
+        for (Map.Entry<String, String> entry : quarantined.entrySet()) {
+            InstanceInfo current = registry.getInstanceByAppAndId(entry.getValue(), entry.getKey(), false);
+            // A renewal moves the lease past the restore; a re-registration replaces it.
+            if (current == null || current.getLeaseInfo().getRenewalTimestamp() <= restoredAt) {
+                registry.cancel(entry.getValue(), entry.getKey(), true);
+                dropped++;
+            }
+        }
+        log.info("Registry snapshot quarantine over: {} of {} restored instances renewed, {} dropped",
+                quarantined.size() - dropped, quarantined.size(), dropped);
+        quarantined.clear();
+    }
+
+    private void write() {
+        if (!quarantined.isEmpty()) {
+            return;
+        }
+        List<InstanceInfo> instances = registry.getApplicationsFromLocalRegionOnly().getRegisteredApplications().stream()
+                .flatMap(application -> application.getInstances().stream())
+                .toList();
+        try {
+            RegistrySnapshot.write(properties.getPath(), System.currentTimeMillis(), instances);
+            log.debug("Wrote registry snapshot of {} instances to {}", instances.size(), properties.getPath());
+        } catch (IOException e) {
+            log.warn("Could not write registry snapshot {}: {}", properties.getPath(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.labzang.api.eureka.snapshot;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Where and how often {@link RegistrySnapshotKeeper} saves the registry, and how a saved
+ * one is trusted on the next start. Nothing is saved or restored while {@code path} is unset.
+ *
+ * <pre>
+ * registry:
+ *   snapshot:
+ *     path: /app/data/registry.snapshot
+ *     interval: 30s
+ *     max-age: 10m
+ *     quarantine: 45s
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties("registry.snapshot")
+public class RegistrySnapshotProperties {
+
+    /** Snapshot file; should be on a volume that outlives the container. */
+    private Path path;
+    /** How often the snapshot is rewritten while running; it is also written on shutdown. */
+    private Duration interval = Duration.ofSeconds(30);
+    /** Older snapshots are ignored on start, the instances in them are likely gone. */
+    private Duration maxAge = Duration.ofMinutes(10);
+    /**
+     * How long a restored instance is served without having renewed against this server.
+     * Should be longer than the clients' renewal interval, or live instances are dropped
+     * (and re-register on their next heartbeat).
+     */
+    private Duration quarantine = Duration.ofSeconds(45);
+}
@@ -0,0 +1,61 @@
+package com.labzang.api.eureka;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Time-to-converge with the default Eureka settings and with the fast-convergence
+ * profile, for a graceful scale-down (instances cancel) and a crash (instances stop
+ * heartbeating and are evicted). Convergence is when a client polling the delta at its
+ * fetch interval (30s by default, 5s in the profile) first sees the change; the push
+ * column is when the gateway stand-in was told. Self-preservation is switched off here so
+ * evictions are not held back while the fresh server has no renewal history.
+ *
+ * The default crash case waits for a 90s lease (which Eureka counts twice) plus the 60s
+ * eviction timer, so this takes several minutes:
+ *   ./gradlew :server:eurekaserver:benchmark
+ */
+@Tag("benchmark")
+class RegistryConvergenceBenchmarkTests {
+
+    private static final Map<String, Object> NO_SELF_PRESERVATION = Map.of("eureka.server.enable-self-preservation", false);
+
+    @Test
+    void timeToConverge() throws Exception {
+        try (RegistrySimulation simulation = RegistrySimulation.defaults(NO_SELF_PRESERVATION)) {
+            run("default", simulation, Duration.ofSeconds(30));
+        }
+        try (RegistrySimulation simulation = RegistrySimulation.fastConvergence(NO_SELF_PRESERVATION)) {
+            run("fast-convergence", simulation, Duration.ofSeconds(5));
+        }
+    }
+
+    private static void run(String name, RegistrySimulation simulation, Duration fetchInterval) throws Exception {
+        Set<String> instances = RegistryConvergenceTests.ids(0, 20);
+        instances.forEach(id -> simulation.register(id, 9000));
+        simulation.awaitDelta(instances, "ADDED", Duration.ofSeconds(1), Duration.ofMinutes(2));
+
+        Set<String> cancelled = RegistryConvergenceTests.ids(0, 5);
+        long cancelledAt = System.nanoTime();
+        cancelled.forEach(simulation::cancel);
+        Duration cancelSeen = simulation.awaitDelta(cancelled, "DELETED", fetchInterval, Duration.ofMinutes(3));
+        Duration cancelPushed = simulation.awaitPush("CANCELLED", "sim-0", cancelledAt, Duration.ofSeconds(5));
+
+        Set<String> crashed = RegistryConvergenceTests.ids(5, 7);
+        long crashedAt = System.nanoTime();
+        crashed.forEach(simulation::crash);
+        Duration crashSeen = simulation.awaitDelta(crashed, "DELETED", fetchInterval, Duration.ofMinutes(10));
+        Duration crashPushed = simulation.awaitPush("CANCELLED", "sim-5", crashedAt, Duration.ofMinutes(1));
+
+        System.out.printf("%-17s cancel: seen %6.1fs pushed %6.3fs | crash: seen %6.1fs pushed %6.1fs%n", name,
+                seconds(cancelSeen), seconds(cancelPushed), seconds(crashSeen), seconds(crashPushed));
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
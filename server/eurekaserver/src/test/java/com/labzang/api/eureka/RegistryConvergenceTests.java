@@ -0,0 +1,53 @@
+package com.labzang.api.eureka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The fast-convergence profile against simulated instances: a scale-down is in the delta
+ * by the next 5s client fetch, and the push reaches the gateway stand-in well before that.
+ * The slower default settings are measured by {@link RegistryConvergenceBenchmarkTests}.
+ */
+class RegistryConvergenceTests {
+
+    private static final Duration FETCH_INTERVAL = Duration.ofSeconds(5);
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @Test
+    void scaleDownIsVisibleWithinOneFetchAndPushedAtOnce() throws Exception {
+        try (RegistrySimulation simulation = RegistrySimulation.fastConvergence(Map.of())) {
+            // The first push also pays for class loading and the connection; keep that out of the timings.
+            simulation.register("warm-up", 9000);
+            simulation.awaitPush("REGISTERED", "warm-up", System.nanoTime(), TIMEOUT);
+
+            Set<String> instances = ids(0, 10);
+            long registered = System.nanoTime();
+            instances.forEach(id -> simulation.register(id, 9000));
+            for (String id : instances) {
+                assertThat(simulation.awaitPush("REGISTERED", id, registered, TIMEOUT)).isLessThan(Duration.ofSeconds(1));
+            }
+            simulation.awaitDelta(instances, "ADDED", FETCH_INTERVAL, TIMEOUT);
+
+            Set<String> removed = ids(0, 3);
+            long cancelled = System.nanoTime();
+            removed.forEach(simulation::cancel);
+
+            Duration converged = simulation.awaitDelta(removed, "DELETED", FETCH_INTERVAL, TIMEOUT);
+            assertThat(converged).isLessThan(FETCH_INTERVAL.plusSeconds(2));
+            for (String id : removed) {
+                assertThat(simulation.awaitPush("CANCELLED", id, cancelled, TIMEOUT)).isLessThan(Duration.ofSeconds(1));
+            }
+        }
+    }
+
+    static Set<String> ids(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "sim-" + i).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,248 @@
+package com.labzang.api.eureka;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.eureka.push.RegistryPushNotifier;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A local Eureka server with simulated instances of one service, driven through the same
+ * REST calls real clients make (register, heartbeat, cancel), and an observer that polls
+ * the delta endpoint at a client's fetch interval the way the gateway's Eureka client does.
+ * Registry pushes from the server land in a stub receiver standing in for the gateway.
+ */
+final class RegistrySimulation implements AutoCloseable {
+
+    static final String APP = "SIMSERVICE";
+    private static final String TOKEN = "simulation";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final Map<String, Long> pushes = new ConcurrentHashMap<>();
+    private final Set<String> alive = ConcurrentHashMap.newKeySet();
+    private final Duration renewalInterval;
+    private final Duration leaseDuration;
+    private final HttpServer receiver;
+    private final ConfigurableApplicationContext server;
+    private final String eureka;
+    private final Thread heartbeats;
+
+    private RegistrySimulation(Duration renewalInterval, Duration leaseDuration, String[] profiles,
+                               Map<String, Object> properties) throws IOException {
+        this.renewalInterval = renewalInterval;
+        this.leaseDuration = leaseDuration;
+        receiver = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        receiver.createContext("/internal/registry/events", exchange -> {
+            long received = System.nanoTime();
+            if (TOKEN.equals(exchange.getRequestHeaders().getFirst(RegistryPushNotifier.TOKEN_HEADER))) {
+                JsonNode change = mapper.readTree(exchange.getRequestBody());
+                pushes.putIfAbsent(change.get("type").asText() + ":" + change.get("instanceId").asText(), received);
+            }
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        receiver.start();
+
+        int port = freePort();
+        Map<String, Object> arguments = new LinkedHashMap<>();
+        arguments.put("server.port", port);
+        arguments.put("eureka.instance.hostname", "localhost");
+        arguments.put("registry.push.targets", "http://localhost:" + receiver.getAddress().getPort() + "/internal/registry/events");
+        arguments.put("registry.push.token", TOKEN);
+        arguments.putAll(properties);
+        server = new SpringApplicationBuilder(EurekaApplication.class)
+                .profiles(profiles)
+                .run(arguments.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new));
+        eureka = "http://localhost:" + port + "/eureka";
+
+        heartbeats = Thread.ofVirtual().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(renewalInterval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                alive.forEach(id -> send("PUT", "/apps/" + APP + "/" + id + "?status=UP", null));
+            }
+        });
+    }
+
+    /** The server with its default settings and clients with the Eureka default lease (30s/90s). */
+    static RegistrySimulation defaults(Map<String, Object> properties) throws IOException {
+        return new RegistrySimulation(Duration.ofSeconds(30), Duration.ofSeconds(90), new String[0], properties);
+    }
+
+    /** The fast-convergence profile on the server and its client lease settings (5s/15s). */
+    static RegistrySimulation fastConvergence(Map<String, Object> properties) throws IOException {
+        return new RegistrySimulation(Duration.ofSeconds(5), Duration.ofSeconds(15),
+                new String[] {"fast-convergence"}, properties);
+    }
+
+    void register(String instanceId, int port) {
+        long now = System.currentTimeMillis();
+        Map<String, Object> instance = new LinkedHashMap<>();
+        instance.put("instanceId", instanceId);
+        instance.put("hostName", "localhost");
+        instance.put("app", APP);
+        instance.put("ipAddr", "127.0.0.1");
+        instance.put("status", "UP");
+        instance.put("port", Map.of("$", port, "@enabled", "true"));
+        instance.put("securePort", Map.of("$", 443, "@enabled", "false"));
+        instance.put("dataCenterInfo", Map.of(
+                "@class", "com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo", "name", "MyOwn"));
+        instance.put("leaseInfo", Map.of(
+                "renewalIntervalInSecs", renewalInterval.toSeconds(), "durationInSecs", leaseDuration.toSeconds()));
+        instance.put("vipAddress", APP.toLowerCase());
+        instance.put("lastUpdatedTimestamp", String.valueOf(now));
+        instance.put("lastDirtyTimestamp", String.valueOf(now));
+        send("POST", "/apps/" + APP, Map.of("instance", instance));
+        alive.add(instanceId);
+    }
+
+    /** Graceful shutdown: the instance deregisters itself. */
+    void cancel(String instanceId) {
+        alive.remove(instanceId);
+        send("DELETE", "/apps/" + APP + "/" + instanceId, null);
+    }
+
+    /** Crash: the instance just stops heartbeating and is left to lease eviction. */
+    void crash(String instanceId) {
+        alive.remove(instanceId);
+    }
+
+    /** An instance registered before a server restart renews against this server right away and from then on. */
+    void resume(String instanceId) {
+        send("PUT", "/apps/" + APP + "/" + instanceId + "?status=UP", null);
+        alive.add(instanceId);
+    }
+
+    /** Instance ids the server currently lists for the simulated service. */
+    Set<String> instances() {
+        Set<String> ids = new HashSet<>();
+        for (JsonNode instance : list(get("/apps/" + APP).path("application").path("instance"))) {
+            ids.add(instance.path("instanceId").asText());
+        }
+        return ids;
+    }
+
+    /**
+     * Polls the delta endpoint every {@code fetchInterval}, starting at a random point of
+     * the first interval as a client's fetch would, until every one of {@code instanceIds}
+     * shows up with {@code actionType}. Returns the time from the call to that poll.
+     */
+    Duration awaitDelta(Set<String> instanceIds, String actionType, Duration fetchInterval, Duration timeout)
+            throws InterruptedException, TimeoutException {
+        long started = System.nanoTime();
+        Set<String> pending = new HashSet<>(instanceIds);
+        Thread.sleep(ThreadLocalRandom.current().nextLong(fetchInterval.toMillis()));
+        while (true) {
+            JsonNode applications = get("/apps/delta").path("applications").path("application");
+            for (JsonNode application : list(applications)) {
+                for (JsonNode instance : list(application.path("instance"))) {
+                    if (actionType.equals(instance.path("actionType").asText())) {
+                        pending.remove(instance.path("instanceId").asText());
+                    }
+                }
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            if (pending.isEmpty()) {
+                return elapsed;
+            }
+            if (elapsed.compareTo(timeout) > 0) {
+                throw new TimeoutException(actionType + " not seen in the delta for " + pending);
+            }
+            Thread.sleep(fetchInterval);
+        }
+    }
+
+    /** Time from {@code since} (System.nanoTime) until the push for the instance arrived. */
+    Duration awaitPush(String type, String instanceId, long since, Duration timeout)
+            throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            Long received = pushes.get(type + ":" + instanceId);
+            if (received != null) {
+                return Duration.ofNanos(Math.max(0, received - since));
+            }
+            Thread.sleep(5);
+        }
+        throw new TimeoutException("No " + type + " push for " + instanceId);
+    }
+
+    @Override
+    public void close() {
+        heartbeats.interrupt();
+        server.close();
+        receiver.stop(0);
+    }
+
+    private JsonNode get(String path) {
+        try {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(eureka + path))
+                    .header("Accept", "application/json").GET().build(), HttpResponse.BodyHandlers.ofString());
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void send(String method, String path, Object body) {
+        try {
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body));
+            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(eureka + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, publisher).build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException(method + " " + path + " answered " + response.statusCode());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Eureka's JSON codec writes a single element as an object rather than an array. */
+    private static List<JsonNode> list(JsonNode node) {
+        if (node.isArray()) {
+            List<JsonNode> items = new ArrayList<>();
+            node.forEach(items::add);
+            return items;
+        }
+        return node.isMissingNode() || node.isNull() ? List.of() : List.of(node);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
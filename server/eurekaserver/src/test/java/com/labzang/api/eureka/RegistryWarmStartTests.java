@@ -0,0 +1,49 @@
+package com.labzang.api.eureka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Restarts the server on the same snapshot file: the instances are served from the first
+ * request after the restart, and the one that never renews against the new server is
+ * dropped when the quarantine ends.
+ */
+class RegistryWarmStartTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restartServesTheSnapshotAndDropsWhatDoesNotRenew() throws Exception {
+        Map<String, Object> properties = Map.of(
+                "registry.snapshot.path", directory.resolve("registry.snapshot"),
+                "registry.snapshot.quarantine", "3s");
+        Set<String> instances = RegistryConvergenceTests.ids(0, 3);
+
+        try (RegistrySimulation before = RegistrySimulation.fastConvergence(properties)) {
+            instances.forEach(id -> before.register(id, 9000));
+            assertThat(before.instances()).isEqualTo(instances);
+        }
+        assertThat(Files.size(directory.resolve("registry.snapshot"))).isPositive();
+
+        try (RegistrySimulation after = RegistrySimulation.fastConvergence(properties)) {
+            assertThat(after.instances()).isEqualTo(instances);
+
+            after.resume("sim-0");
+            after.resume("sim-1");
+            long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+            while (after.instances().contains("sim-2") && System.nanoTime() < deadline) {
+                Thread.sleep(200);
+            }
+            assertThat(after.instances()).containsExactlyInAnyOrder("sim-0", "sim-1");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.labzang.api.eureka.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+
+class RegistrySnapshotTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripKeepsWhatClientsRouteAndRenewBy() throws IOException {
+        Path path = directory.resolve("registry.snapshot");
+        InstanceInfo instance = InstanceInfo.Builder.newBuilder()
+                .setAppName("SOCCERSERVICE")
+                .setInstanceId("soccer-1")
+                .setHostName("soccerservice")
+                .setIPAddr("10.0.0.7")
+                .setStatus(InstanceInfo.InstanceStatus.UP)
+                .setOverriddenStatus(InstanceInfo.InstanceStatus.OUT_OF_SERVICE)
+                .setPort(8080)
+                .enablePort(InstanceInfo.PortType.SECURE, false)
+                .setVIPAddress("soccerservice")
+                .setStatusPageUrlForDeser("http://soccerservice:8080/actuator/info")
+                .setHealthCheckUrlsForDeser("http://soccerservice:8080/actuator/health", null)
+                .setLeaseInfo(LeaseInfo.Builder.newBuilder().setRenewalIntervalInSecs(5).setDurationInSecs(15).build())
+                .setLastDirtyTimestamp(1_700_000_000_000L)
+                .setMetadata(Map.of("zone", "a", "management.port", "8080"))
+                .setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn))
+                .build();
+
+        RegistrySnapshot.write(path, 42L, List.of(instance));
+        RegistrySnapshot snapshot = RegistrySnapshot.read(path);
+
+        assertThat(snapshot.takenAt()).isEqualTo(42L);
+        assertThat(snapshot.instances()).singleElement().satisfies(restored -> {
+            assertThat(restored.getAppName()).isEqualTo("SOCCERSERVICE");
+            assertThat(restored.getId()).isEqualTo("soccer-1");
+            assertThat(restored.getHostName()).isEqualTo("soccerservice");
+            assertThat(restored.getIPAddr()).isEqualTo("10.0.0.7");
+            assertThat(restored.getStatus()).isEqualTo(InstanceInfo.InstanceStatus.UP);
+            assertThat(restored.getOverriddenStatus()).isEqualTo(InstanceInfo.InstanceStatus.OUT_OF_SERVICE);
+            assertThat(restored.getPort()).isEqualTo(8080);
+            assertThat(restored.isPortEnabled(InstanceInfo.PortType.UNSECURE)).isTrue();
+            assertThat(restored.isPortEnabled(InstanceInfo.PortType.SECURE)).isFalse();
+            assertThat(restored.getVIPAddress()).isEqualTo("soccerservice");
+            assertThat(restored.getHealthCheckUrl()).isEqualTo("http://soccerservice:8080/actuator/health");
+            assertThat(restored.getLeaseInfo().getRenewalIntervalInSecs()).isEqualTo(5);
+            assertThat(restored.getLeaseInfo().getDurationInSecs()).isEqualTo(15);
+            assertThat(restored.getLastDirtyTimestamp()).isEqualTo(1_700_000_000_000L);
+            assertThat(restored.getMetadata()).containsExactlyInAnyOrderEntriesOf(Map.of("zone", "a", "management.port", "8080"));
+        });
+        assertThat(directory.resolve("registry.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    void tornOrForeignFilesAreRejected() throws IOException {
+        Path path = directory.resolve("registry.snapshot");
+        RegistrySnapshot.write(path, 42L, List.of());
+        byte[] bytes = Files.readAllBytes(path);
+
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThatThrownBy(() -> RegistrySnapshot.read(path)).isInstanceOf(IOException.class);
+
+        Files.writeString(path, "not a snapshot, but long enough to have a checksum");
+        assertThatThrownBy(() -> RegistrySnapshot.read(path)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,22 @@
+package com.labzang.api.soccer.common;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkInsertResult {
+    private int rows;
+    private int batches;
+    private int batchSize;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private int unresolvedReferences;  // *_uk values with no matching stadium/team row
+    private List<Integer> rejectedRows;  // request positions not inserted because of those values
+}
@@ -0,0 +1,45 @@
+package com.labzang.api.soccer.common;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Drops the success message from {@link Messenger} bodies written as compact JSON or
+ * CBOR, and marks every Jackson response as varying by {@code Accept} so caches keep the
+ * encodings apart.
+ *
+ * Errors go out as HTTP 200 with the real status in the body, so a Messenger with a status
+ * of 400 or above is also marked {@code Cache-Control: no-store}; otherwise the gateway's
+ * response cache would keep serving a transient failure.
+ */
+@RestControllerAdvice
+public class CompactResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final MediaType COMPACT_JSON = MediaType.parseMediaType(Messenger.COMPACT_JSON_VALUE);
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (body instanceof Messenger messenger && messenger.getStatus() >= 400) {
+            response.getHeaders().setCacheControl(CacheControl.noStore());
+        }
+        boolean compact = COMPACT_JSON.isCompatibleWith(selectedContentType)
+                || MediaType.APPLICATION_CBOR.isCompatibleWith(selectedContentType);
+        return compact && body instanceof Messenger messenger ? messenger.compact() : body;
+    }
+}
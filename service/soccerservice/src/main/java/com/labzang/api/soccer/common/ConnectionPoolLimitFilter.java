@@ -0,0 +1,100 @@
+package com.labzang.api.soccer.common;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caps requests in flight at a multiple of the JDBC pool size. On platform threads the
+ * Tomcat pool bounds concurrency; on virtual threads nothing does, and every request past
+ * the pool would park in Hikari until connectionTimeout. Here a request waits at most
+ * {@code acquireTimeout} for a slot and is otherwise answered 503 with Retry-After, which
+ * the gateway circuit breaker and its callers already handle. Actuator paths are not
+ * limited so health checks keep answering under load.
+ *
+ * Metrics: soccer.db.limit.permits, soccer.db.limit.inflight, soccer.db.limit.rejected.
+ */
+public class ConnectionPoolLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int limit;
+    private final long acquireTimeoutNanos;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public ConnectionPoolLimitFilter(int limit, Duration acquireTimeout, ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(limit, true);
+        this.limit = limit;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.objectMapper = objectMapper;
+        Gauge.builder("soccer.db.limit.permits", () -> limit)
+                .description("Requests allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("soccer.db.limit.inflight", this, ConnectionPoolLimitFilter::inflight)
+                .description("Requests currently holding a slot")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("soccer.db.limit.rejected")
+                .description("Requests answered 503 after waiting for a slot")
+                .register(meterRegistry);
+    }
+
+    public int inflight() {
+        return limit - permits.availablePermits();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        rejected.increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), Messenger.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.")
+                .build());
+    }
+}
@@ -0,0 +1,65 @@
+package com.labzang.api.soccer.common;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * Serves one page of a keyset-paginated read: decodes {@code cursor}, asks
+     * {@code pageAfter} for up to {@code size + 1} rows past the last id seen and wraps them
+     * in a page. A cursor that was not produced by {@link PageCursor#encode} is answered with
+     * 400 without querying.
+     */
+    public static <T> Messenger fetch(String cursor, Integer size,
+                                      BiFunction<Long, Limit, List<T>> pageAfter, Function<T, Long> idOf) {
+        int pageSize = PageCursor.size(size);
+        long afterId;
+        try {
+            afterId = PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("잘못된 커서입니다.")
+                    .build();
+        }
+        CursorPage<T> page = of(pageAfter.apply(afterId, Limit.of(pageSize + 1)), pageSize, idOf);
+        return Messenger.builder()
+                .status(200)
+                .message("페이지 조회 성공: " + page.getSize() + "건")
+                .data(page)
+                .build();
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code size + 1} as the limit; the extra row
+     * only signals that another page exists and is dropped.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? PageCursor.encode(idOf.apply(content.get(content.size() - 1))) : null;
+        return CursorPage.<T>builder()
+                .content(content)
+                .size(content.size())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+}
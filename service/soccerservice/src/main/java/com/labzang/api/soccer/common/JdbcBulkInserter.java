@@ -0,0 +1,131 @@
+package com.labzang.api.soccer.common;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Multi-row INSERT path that bypasses Hibernate. Entities use IDENTITY ids, which turn
+ * off Hibernate insert batching, so bulk loads go through JDBC batches instead and let
+ * the database assign ids. Runs in the caller's transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JdbcBulkInserter {
+
+    private static final String[] ID_COLUMN = {"id"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${soccer.bulk.batch-size:500}")
+    private int batchSize;
+
+    public <T> BulkInsertResult insert(String table, List<String> columns, List<T> rows,
+                                       Function<T, Object[]> values, BiConsumer<T, Long> inserted) {
+        return insert(table, columns, rows, values, row -> false, inserted);
+    }
+
+    /**
+     * Inserts {@code rows} in JDBC batches, leaving out those {@code unresolved} matches; their
+     * positions in {@code rows} are reported in {@link BulkInsertResult#getRejectedRows()}.
+     * {@code inserted} is called with each written row and the id the database assigned it,
+     * so callers can act on exactly those rows without reading them back.
+     */
+    public <T> BulkInsertResult insert(String table, List<String> columns, List<T> rows,
+                                       Function<T, Object[]> values, Predicate<T> unresolved,
+                                       BiConsumer<T, Long> inserted) {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+
+        List<T> accepted = new ArrayList<>(rows.size());
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (unresolved.test(rows.get(i))) {
+                rejected.add(i);
+            } else {
+                accepted.add(rows.get(i));
+            }
+        }
+
+        long started = System.nanoTime();
+        int batches = 0;
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            List<T> batch = accepted.subList(from, Math.min(from + batchSize, accepted.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, ID_COLUMN), new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Object[] args = values.apply(batch.get(i));
+                    for (int c = 0; c < args.length; c++) {
+                        StatementCreatorUtils.setParameterValue(ps, c + 1, SqlTypeValue.TYPE_UNKNOWN, args[c]);
+                    }
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }, keys);
+            List<Map<String, Object>> ids = keys.getKeyList();
+            for (int i = 0; i < batch.size(); i++) {
+                inserted.accept(batch.get(i), ((Number) ids.get(i).values().iterator().next()).longValue());
+            }
+            batches++;
+        }
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+
+        BulkInsertResult result = BulkInsertResult.builder()
+                .rows(accepted.size())
+                .batches(batches)
+                .batchSize(batchSize)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(accepted.size() * 1_000_000_000L / elapsedNanos)
+                .rejectedRows(rejected)
+                .build();
+        log.info("Bulk insert into {} - {} rows in {} batches, {} ms ({} rows/s), {} rejected",
+                table, result.getRows(), result.getBatches(), result.getElapsedMillis(), result.getRowsPerSecond(),
+                rejected.size());
+        return result;
+    }
+
+    /**
+     * Matches rows that reference one of the {@code missing} natural keys through any of {@code keys}.
+     */
+    @SafeVarargs
+    public static <T> Predicate<T> referencesAny(Set<String> missing, Function<T, String>... keys) {
+        return row -> Stream.of(keys).map(key -> key.apply(row)).anyMatch(missing::contains);
+    }
+
+    /**
+     * Distinct non-null natural keys referenced by {@code rows}, for a single IN lookup.
+     */
+    @SafeVarargs
+    public static <T> Set<String> distinct(List<T> rows, Function<T, String>... keys) {
+        return rows.stream()
+                .flatMap(row -> Stream.of(keys).map(key -> key.apply(row)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
@@ -10,6 +10,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class Messenger {
+
+    /**
+     * Compact JSON, negotiated with {@code Accept}: null fields are left out and so is the
+     * message of a successful response. See CompactResponseAdvice.
+     */
+    public static final String COMPACT_JSON_VALUE = "application/vnd.labzang.compact+json";
+
     private String message;
     private Object data;
     private int status;
@@ -26,6 +33,11 @@ public class Messenger {
         return success("success", data);
     }
     
+    /** This response as sent in compact form: the message is only kept for errors. */
+    public Messenger compact() {
+        return status < 400 ? new Messenger(null, data, status) : this;
+    }
+
     public static Messenger error(String message) {
         return Messenger.builder()
                 .message(message)
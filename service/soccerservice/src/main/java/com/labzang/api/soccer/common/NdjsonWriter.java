@@ -0,0 +1,49 @@
+package com.labzang.api.soccer.common;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes a stream of rows as newline-delimited JSON, one object per line, without
+ * buffering more than a single row. The target stream is flushed periodically but
+ * never closed.
+ */
+public final class NdjsonWriter {
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 500;
+
+    private NdjsonWriter() {
+    }
+
+    public static long write(Stream<?> rows, ObjectMapper objectMapper, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        long count = 0;
+        Iterator<?> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writer.writeValue(generator, iterator.next());
+            // flush the first row right away so clients see bytes before the batch fills
+            if (++count == 1 || count % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+        return count;
+    }
+}
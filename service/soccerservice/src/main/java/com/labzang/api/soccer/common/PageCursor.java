@@ -0,0 +1,61 @@
+package com.labzang.api.soccer.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over the {@code id} column. Clients pass back the
+ * {@code nextCursor} of the previous page; the value itself is not meant to be parsed.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String PREFIX = "id:";
+    /** Longest cursor {@link #encode} can produce; anything longer is rejected before decoding. */
+    static final int MAX_LENGTH = 32;
+
+    private PageCursor() {
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the last id seen, or 0 for the first page.
+     *
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        if (cursor.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Invalid cursor: longer than " + MAX_LENGTH + " characters");
+        }
+        long id;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            id = Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return id;
+    }
+
+    public static int size(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+}
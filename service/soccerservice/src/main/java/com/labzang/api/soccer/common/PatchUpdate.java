@@ -0,0 +1,65 @@
+package com.labzang.api.soccer.common;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+
+/**
+ * Builds a partial UPDATE: only columns given a non-null value are written, and the row is
+ * matched on id and expected version so a concurrent writer makes it update nothing.
+ * Callers check {@link #isEmpty()} before {@link #execute()} so a patch with nothing to
+ * write is rejected without reaching the database.
+ */
+public final class PatchUpdate {
+
+    private final JPAUpdateClause clause;
+    private final NumberPath<Long> idColumn;
+    private final Long id;
+    private final NumberPath<Long> versionColumn;
+    private final Long expectedVersion;
+    private int columns;
+
+    private PatchUpdate(JPAUpdateClause clause, NumberPath<Long> idColumn, Long id,
+                        NumberPath<Long> versionColumn, Long expectedVersion) {
+        this.clause = clause;
+        this.idColumn = idColumn;
+        this.id = id;
+        this.versionColumn = versionColumn;
+        this.expectedVersion = expectedVersion;
+    }
+
+    /** An UPDATE of row {@code id} that only applies while its version is still {@code expectedVersion}. */
+    public static PatchUpdate of(JPAUpdateClause clause, NumberPath<Long> idColumn, Long id,
+                                 NumberPath<Long> versionColumn, Long expectedVersion) {
+        return new PatchUpdate(clause, idColumn, id, versionColumn, expectedVersion);
+    }
+
+    public <T> PatchUpdate set(Path<T> column, T value) {
+        if (value != null) {
+            clause.set(column, value);
+            columns++;
+        }
+        return this;
+    }
+
+    /** True when no column was given a value, i.e. there is nothing to write. */
+    public boolean isEmpty() {
+        return columns == 0;
+    }
+
+    /**
+     * Runs the UPDATE, bumping the version. Returns the number of rows written: 0 when the
+     * row is gone or the version is stale.
+     *
+     * @throws IllegalStateException when the patch {@link #isEmpty() is empty}
+     */
+    public long execute() {
+        if (isEmpty()) {
+            throw new IllegalStateException("no columns to update");
+        }
+        return clause
+                .set(versionColumn, versionColumn.add(1L))
+                .where(idColumn.eq(id), versionColumn.eq(expectedVersion))
+                .execute();
+    }
+}
@@ -0,0 +1,36 @@
+package com.labzang.api.soccer.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine caches for stadium/team ids by natural key. Sizing and TTL come from
+ * spring.cache.caffeine.spec; hit/miss/eviction counts are published as the
+ * cache.gets and cache.evictions metrics under /actuator/metrics.
+ *
+ * The manager is transaction-aware: a put or evict made inside a transaction is applied
+ * after it commits, so a read racing an uncommitted write cannot re-cache the old row
+ * after the write's eviction.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String STADIUMS_BY_UK = "stadiumsByUk";
+    public static final String TEAMS_BY_UK = "teamsByUk";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCacheSpecification(properties.getCaffeine().getSpec());
+        caffeine.setCacheNames(properties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,83 @@
+package com.labzang.api.soccer.config;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * R2DBC connections for the reactive search path (search.ReactiveSearchController),
+ * next to the JDBC pool the JPA stack uses. spring.r2dbc.url wins when set; otherwise the
+ * URL and credentials are taken from spring.datasource, so both stacks always read the
+ * same database. The pool (spring.r2dbc.pool.*) is what bounds reactive search
+ * concurrency: queries beyond max-size wait for a connection without holding a thread.
+ *
+ * Reactive transactions and R2DBC repositories are switched off in application.yaml;
+ * JPA keeps the only transaction manager. Boot's DataSource auto-configuration steps
+ * aside once a ConnectionFactory exists, so the Hikari pool is declared here with the
+ * same spring.datasource and spring.datasource.hikari binding it would have had.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class R2dbcConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (properties.getName() != null) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(R2dbcProperties r2dbc, DataSourceProperties dataSource) {
+        String url = StringUtils.hasText(r2dbc.getUrl()) ? r2dbc.getUrl() : fromJdbcUrl(dataSource.determineUrl());
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+                .username(StringUtils.hasText(r2dbc.getUsername()) ? r2dbc.getUsername() : dataSource.determineUsername())
+                .password(StringUtils.hasText(r2dbc.getPassword()) ? r2dbc.getPassword() : dataSource.determinePassword())
+                .build();
+        R2dbcProperties.Pool pool = r2dbc.getPool();
+        log.info("R2DBC pool for {}: max {} connections", url.replaceAll("//[^@/]*@", "//"), pool.getMaxSize());
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("soccer-r2dbc")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxAcquireTime(pool.getMaxAcquireTime());
+        if (StringUtils.hasText(pool.getValidationQuery())) {
+            builder.validationQuery(pool.getValidationQuery());
+        }
+        return new ConnectionPool(builder.build());
+    }
+
+    /**
+     * jdbc:postgresql://host:port/db?params to r2dbc:postgresql://host:port/db (JDBC-only
+     * params are dropped), and jdbc:h2:mem:name;opts to r2dbc:h2:mem:///name;opts so an
+     * embedded test database is shared by both stacks.
+     */
+    static String fromJdbcUrl(String jdbcUrl) {
+        if (jdbcUrl != null && jdbcUrl.startsWith("jdbc:postgresql://")) {
+            String url = "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+            int params = url.indexOf('?');
+            return params < 0 ? url : url.substring(0, params);
+        }
+        if (jdbcUrl != null && jdbcUrl.startsWith("jdbc:h2:mem:")) {
+            return "r2dbc:h2:mem:///" + jdbcUrl.substring("jdbc:h2:mem:".length());
+        }
+        throw new IllegalStateException("Cannot derive an R2DBC URL from " + jdbcUrl + "; set spring.r2dbc.url");
+    }
+}
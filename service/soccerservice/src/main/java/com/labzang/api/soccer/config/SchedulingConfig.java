@@ -0,0 +1,13 @@
+package com.labzang.api.soccer.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled tasks, currently the live score buffer flush
+ * (soccer.live-score.flush-interval-ms).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,62 @@
+package com.labzang.api.soccer.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.soccer.common.ConnectionPoolLimitFilter;
+import com.labzang.api.soccer.common.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Extras for spring.threads.virtual.enabled=true, which by itself moves Tomcat request
+ * handling, @Async and @Scheduled work onto virtual threads (and with them every JDBC
+ * call they make). Without the Tomcat thread pool as a bound, requests are limited here
+ * to soccer.virtual-threads.requests-per-connection per pooled connection, and pinned
+ * carriers are reported by {@link VirtualThreadPinningMonitor}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolLimitFilter> connectionPoolLimitFilter(
+            DataSource dataSource, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${soccer.virtual-threads.requests-per-connection:4}") int requestsPerConnection,
+            @Value("${soccer.virtual-threads.acquire-timeout:500ms}") Duration acquireTimeout) {
+        HikariConfigMXBean pool = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        if (pool == null) {
+            throw new IllegalStateException("soccer.virtual-threads needs a Hikari DataSource to size its limit");
+        }
+        int limit = pool.getMaximumPoolSize() * requestsPerConnection;
+        log.info("Virtual threads on: {} requests in flight ({} connections x {})",
+                limit, pool.getMaximumPoolSize(), requestsPerConnection);
+
+        FilterRegistrationBean<ConnectionPoolLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConnectionPoolLimitFilter(limit, acquireTimeout, objectMapper, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${soccer.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.labzang.api.soccer.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.labzang.api.soccer.common.Messenger;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Response encodings besides plain JSON, chosen by {@code Accept}: compact JSON
+ * ({@code application/vnd.labzang.compact+json}) for clients that want fewer bytes, and
+ * CBOR ({@code application/cbor}) for service-to-service callers. Both leave out null
+ * fields and success messages. Compact JSON is a second mapper on the default JSON
+ * converter and CBOR comes after it, so {@code Accept: *}{@code /*} still gets plain
+ * JSON. gzip is applied on top by server.compression.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilders;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MediaType compactJson = MediaType.parseMediaType(Messenger.COMPACT_JSON_VALUE);
+        converters.stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(MappingJackson2HttpMessageConverter.class::cast)
+                .forEach(json -> json.registerObjectMappersForType(Object.class, mappers -> {
+                    // replaces the converter's supported types; plain JSON stays first
+                    mappers.put(MediaType.APPLICATION_JSON, json.getObjectMapper());
+                    mappers.put(compactJson, compact().build());
+                    mappers.put(new MediaType("application", "*+json"), json.getObjectMapper());
+                    mappers.put(MediaType.APPLICATION_NDJSON, json.getObjectMapper());
+                }));
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2CborHttpMessageConverter(compact().factory(new CBORFactory()).build()));
+    }
+
+    /** The application's Jackson settings (modules, dates), minus null fields. */
+    private Jackson2ObjectMapperBuilder compact() {
+        return mapperBuilders.getObject().serializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+}
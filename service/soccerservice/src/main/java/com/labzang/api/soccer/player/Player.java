@@ -9,11 +9,16 @@ import com.labzang.api.soccer.team.Team;
 
 @Entity
 @Table(name = "players")
+@NamedEntityGraph(name = Player.WITH_TEAM,
+        attributeNodes = @NamedAttributeNode(value = "team", subgraph = "team"),
+        subgraphs = @NamedSubgraph(name = "team", attributeNodes = @NamedAttributeNode("stadium")))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Player {
+    public static final String WITH_TEAM = "Player.withTeam";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -44,7 +49,7 @@ public class Player {
 
     private String team_uk;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_uk", referencedColumnName = "team_uk", insertable = false, updatable = false)
     private Team team;
 }
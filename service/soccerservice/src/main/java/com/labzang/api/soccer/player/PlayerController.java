@@ -1,5 +1,6 @@
 package com.labzang.api.soccer.player;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -8,8 +9,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.common.NdjsonWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import com.labzang.api.soccer.player.PlayerModel;
 import com.labzang.api.soccer.player.PlayerService;
@@ -32,6 +36,19 @@ public class PlayerController {
         return null;
     }
 
+    @GetMapping("/page")
+    public Messenger findPage(@RequestParam(required = false) String cursor,
+                              @RequestParam(required = false) Integer size) {
+        return playerService.findPage(cursor, size);
+    }
+
+    @GetMapping(value = "/export", produces = NdjsonWriter.CONTENT_TYPE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.CONTENT_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        playerService.exportAll(response.getOutputStream());
+    }
+
     @PostMapping
     public Messenger save(@RequestBody PlayerModel playerDTO) {
         return null;
@@ -42,6 +59,11 @@ public class PlayerController {
         return null;
     }
 
+    @PostMapping("/bulk")
+    public Messenger bulkSave(@RequestBody List<PlayerModel> playerDTOList) {
+        return playerService.bulkSave(playerDTOList);
+    }
+
     @PutMapping
     public Messenger update(@RequestBody PlayerModel playerDTO) {
         return null;
@@ -1,10 +1,50 @@
 package com.labzang.api.soccer.player;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long> , PlayerRepositoryCustom {
 
-}
+    /**
+     * Constructor expression behind the read-only model queries: rows are selected straight
+     * into {@link PlayerModel}, so no managed entity or dirty-checking snapshot is created.
+     */
+    String MODEL_SELECT = "SELECT new com.labzang.api.soccer.player.PlayerModel(p.id, p.player_uk, p.player_name, p.e_player_name, p.nickname, p.join_yyyy, p.position, p.back_no, p.nation, p.birth_date, p.solar, p.height, p.weight, p.team_uk) FROM Player p ";
+
+    @Override
+    @EntityGraph(Player.WITH_TEAM)
+    List<Player> findAll();
+
+    @Override
+    @EntityGraph(Player.WITH_TEAM)
+    Optional<Player> findById(Long id);
 
+    @Query(MODEL_SELECT + "ORDER BY p.id")
+    List<PlayerModel> findAllModels();
+
+    /**
+     * Keyset page: rows with id greater than {@code afterId} in id order, at most {@code limit}.
+     */
+    @Query(MODEL_SELECT + "WHERE p.id > :afterId ORDER BY p.id")
+    List<PlayerModel> findModelPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Whole table as a forward-only stream of models, read in fetch-size chunks without
+     * hydrating entities. Must be consumed inside a transaction and closed.
+     */
+    @Query(MODEL_SELECT + "ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PlayerModel> streamAll();
+}
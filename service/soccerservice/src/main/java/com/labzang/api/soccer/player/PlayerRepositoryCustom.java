@@ -1,6 +1,13 @@
 package com.labzang.api.soccer.player;
 
+import java.util.List;
+
 public interface PlayerRepositoryCustom {
 
+    /**
+     * Case-insensitive substring search on player_name, e_player_name and nickname,
+     * evaluated in the database and capped at {@code limit} rows. Rows are projected
+     * straight into {@link PlayerModel}.
+     */
+    List<PlayerModel> searchByKeyword(String keyword, int limit);
 }
-
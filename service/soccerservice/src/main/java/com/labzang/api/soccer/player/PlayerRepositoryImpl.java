@@ -1,13 +1,39 @@
 package com.labzang.api.soccer.player;
 
+import java.util.List;
+
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 
 import lombok.RequiredArgsConstructor;
 
+import static com.labzang.api.soccer.player.QPlayer.player;
+
 @RequiredArgsConstructor
 public class PlayerRepositoryImpl implements PlayerRepositoryCustom {
+
+    private static final ConstructorExpression<PlayerModel> MODEL = Projections.constructor(PlayerModel.class,
+            player.id, player.player_uk, player.player_name, player.e_player_name, player.nickname,
+            player.join_yyyy, player.position, player.back_no, player.nation, player.birth_date,
+            player.solar, player.height, player.weight, player.team_uk);
+
     private final JPAQueryFactory queryFactory;
 
-    
+    /**
+     * Renders as {@code lower(col) like '%keyword%'} so the lower() trigram indexes
+     * created by {@link PlayerSearchIndexInitializer} can serve the predicate.
+     */
+    @Override
+    public List<PlayerModel> searchByKeyword(String keyword, int limit) {
+        return queryFactory
+                .select(MODEL)
+                .from(player)
+                .where(player.player_name.containsIgnoreCase(keyword)
+                        .or(player.e_player_name.containsIgnoreCase(keyword))
+                        .or(player.nickname.containsIgnoreCase(keyword)))
+                .orderBy(player.player_name.asc(), player.id.asc())
+                .limit(limit)
+                .fetch();
+    }
 }
-
@@ -0,0 +1,45 @@
+package com.labzang.api.soccer.player;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the pg_trgm GIN indexes backing {@link PlayerRepositoryCustom#searchByKeyword}.
+ * Statements are idempotent; if the extension cannot be installed the search still works,
+ * just without index support.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "soccer.search.player.trigram-index", havingValue = "true", matchIfMissing = true)
+public class PlayerSearchIndexInitializer implements ApplicationRunner {
+
+    private static final String[] DDL = {
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_players_player_name_trgm ON players USING gin (lower(player_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_players_e_player_name_trgm ON players USING gin (lower(e_player_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_players_nickname_trgm ON players USING gin (lower(nickname) gin_trgm_ops)"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String statement : DDL) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                log.warn("Player search index setup skipped - {}: {}", statement, e.getMessage());
+                return;
+            }
+        }
+        log.info("Player trigram search indexes ready");
+    }
+}
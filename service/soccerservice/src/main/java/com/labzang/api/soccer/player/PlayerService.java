@@ -1,16 +1,35 @@
 package com.labzang.api.soccer.player;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
+import com.labzang.api.soccer.common.Messenger;
+
 public interface PlayerService {
     public void findById(PlayerModel playerDTO);
 
     public void findAll();
 
+    /**
+     * Keyset page over players ordered by id; {@code cursor} is the previous page's nextCursor.
+     */
+    public Messenger findPage(String cursor, Integer size);
+
+    /**
+     * Writes every player to {@code out} as newline-delimited JSON and returns the row count.
+     */
+    public long exportAll(OutputStream out) throws IOException;
+
     public void save(PlayerModel playerDTO);
 
     public void saveAll(List<PlayerModel> playerDTOList);
 
+    /**
+     * Inserts every row through JDBC batches; team_uk values are resolved in one query.
+     */
+    public Messenger bulkSave(List<PlayerModel> playerDTOList);
+
     public void update(PlayerModel playerDTO);
 
     public void delete(PlayerModel playerDTO);
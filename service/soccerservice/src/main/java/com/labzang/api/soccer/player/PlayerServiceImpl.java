@@ -1,20 +1,48 @@
 package com.labzang.api.soccer.player;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.labzang.api.soccer.common.BulkInsertResult;
+import com.labzang.api.soccer.common.CursorPage;
+import com.labzang.api.soccer.common.JdbcBulkInserter;
+import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.common.NdjsonWriter;
+import com.labzang.api.soccer.search.SearchDocument;
+import com.labzang.api.soccer.search.SearchIndex;
+import com.labzang.api.soccer.search.SearchIndexContributor;
+import com.labzang.api.soccer.team.TeamRepository;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class PlayerServiceImpl implements PlayerService {
+public class PlayerServiceImpl implements PlayerService, SearchIndexContributor {
+
+    /** Upper bound on rows returned by a single keyword search. */
+    private static final int SEARCH_RESULT_LIMIT = 50;
+
+    private static final List<String> BULK_COLUMNS = List.of(
+            "player_uk", "player_name", "e_player_name", "nickname", "join_yyyy", "position", "back_no",
+            "nation", "birth_date", "solar", "height", "weight", "team_uk");
 
     private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcBulkInserter bulkInserter;
+    private final SearchIndex searchIndex;
 
     @Override
     public void findById(PlayerModel playerDTO) {
@@ -26,6 +54,20 @@ public class PlayerServiceImpl implements PlayerService {
         // TODO: implement if needed
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Messenger findPage(String cursor, Integer size) {
+        return CursorPage.fetch(cursor, size, playerRepository::findModelPageAfter, model -> model.id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        try (Stream<PlayerModel> rows = playerRepository.streamAll()) {
+            return NdjsonWriter.write(rows, objectMapper, out);
+        }
+    }
+
     @Override
     public void save(PlayerModel playerDTO) {
         // TODO: implement if needed
@@ -36,6 +78,32 @@ public class PlayerServiceImpl implements PlayerService {
         // TODO: implement if needed
     }
 
+    @Override
+    @Transactional
+    public Messenger bulkSave(List<PlayerModel> playerDTOList) {
+        Set<String> missing = new HashSet<>();
+        Set<String> teamUks = JdbcBulkInserter.distinct(playerDTOList, dto -> dto.team_uk);
+        if (!teamUks.isEmpty()) {
+            missing.addAll(teamUks);
+            teamRepository.findExistingTeam_uks(teamUks).forEach(missing::remove);
+        }
+
+        BulkInsertResult result = bulkInserter.insert("players", BULK_COLUMNS, playerDTOList, dto -> new Object[] {
+                dto.player_uk, dto.player_name, dto.e_player_name, dto.nickname, dto.join_yyyy, dto.position,
+                dto.back_no, dto.nation, dto.birth_date, dto.solar, dto.height, dto.weight, dto.team_uk
+        }, JdbcBulkInserter.referencesAny(missing, dto -> dto.team_uk), (dto, id) -> {
+            dto.id = id;
+            searchIndex.put(toSearchDocument(dto));
+        });
+        result.setUnresolvedReferences(missing.size());
+        return Messenger.builder()
+                .status(200)
+                .message("대량 저장 성공: " + result.getRows() + "건"
+                        + (result.getRejectedRows().isEmpty() ? "" : ", 참조 오류로 제외: " + result.getRejectedRows().size() + "건"))
+                .data(result)
+                .build();
+    }
+
     @Override
     public void update(PlayerModel playerDTO) {
         // TODO: implement if needed
@@ -51,41 +119,33 @@ public class PlayerServiceImpl implements PlayerService {
     public List<PlayerModel> searchByKeyword(String keyword) {
         log.info("Searching players - keyword: {}", keyword);
 
-        // Simple in-memory filtering; replace with DB-level search in production.
-        List<Player> allPlayers = playerRepository.findAll();
+        return playerRepository.searchByKeyword(keyword.trim(), SEARCH_RESULT_LIMIT);
+    }
 
-        String searchKeyword = keyword.toLowerCase();
+    @Override
+    public String searchDomain() {
+        return SearchIndex.PLAYER;
+    }
 
-        return allPlayers.stream()
-                .filter(player ->
-                        (player.getPlayer_name() != null && player.getPlayer_name().toLowerCase().contains(searchKeyword)) ||
-                        (player.getE_player_name() != null && player.getE_player_name().toLowerCase().contains(searchKeyword)) ||
-                        (player.getNickname() != null && player.getNickname().toLowerCase().contains(searchKeyword))
-                )
-                .map(this::convertToModel)
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchDocument> searchDocuments() {
+        return playerRepository.findAllModels().stream()
+                .map(this::toSearchDocument)
                 .collect(Collectors.toList());
     }
 
-    /**
-     * Convert entity to DTO model.
-     */
-    private PlayerModel convertToModel(Player player) {
-        return PlayerModel.builder()
-                .id(player.getId())
-                .player_uk(player.getPlayer_uk())
-                .player_name(player.getPlayer_name())
-                .e_player_name(player.getE_player_name())
-                .nickname(player.getNickname())
-                .join_yyyy(player.getJoin_yyyy())
-                .position(player.getPosition())
-                .back_no(player.getBack_no())
-                .nation(player.getNation())
-                .birth_date(player.getBirth_date())
-                .solar(player.getSolar())
-                .height(player.getHeight())
-                .weight(player.getWeight())
-                .team_uk(player.getTeam_uk())
-                .build();
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchDocument> findSearchDocuments(String keyword, int limit) {
+        return playerRepository.searchByKeyword(keyword.trim(), limit).stream()
+                .map(this::toSearchDocument)
+                .collect(Collectors.toList());
+    }
+
+    private SearchDocument toSearchDocument(PlayerModel model) {
+        return SearchDocument.of(SearchIndex.PLAYER, model.id, model,
+                model.player_name, model.e_player_name, model.nickname);
     }
 }
 
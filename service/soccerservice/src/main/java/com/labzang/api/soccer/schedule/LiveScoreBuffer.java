@@ -0,0 +1,250 @@
+package com.labzang.api.soccer.schedule;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-match buffer for live score events. Bursts for the same match collapse into the
+ * latest score, and everything buffered is written on a short fixed delay as one JDBC
+ * batch, so a feed burst costs one connection checkout per interval rather than one per
+ * event. Events carry absolute scores; a null side means "unchanged".
+ *
+ * Buffered scores stay visible to {@link #readThrough} until the batch that carries them
+ * has committed. Nothing survives a crash between event and flush.
+ *
+ * When a batch fails its rows are written one by one, so a single bad row cannot hold
+ * back the rest. A row that fails on its own is retried on the next ticks and dropped,
+ * logged with its score, after soccer.live-score.max-attempts. A lost connection or a
+ * transient error stops the pass instead and requeues everything without counting.
+ */
+@Slf4j
+@Component
+public class LiveScoreBuffer {
+
+    static final String UPDATE_SQL = "UPDATE schedules SET home_score = COALESCE(?, home_score), "
+            + "away_score = COALESCE(?, away_score), version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    /** Events not yet picked up by a flush. */
+    private final Map<Long, Score> pending = new ConcurrentHashMap<>();
+    /** Events in the batch currently being written; cleared only after commit. */
+    private final Map<Long, Score> inflight = new ConcurrentHashMap<>();
+    /** Bumped after each committed flush, before its rows leave {@link #inflight}. */
+    private final AtomicLong generation = new AtomicLong();
+    /** Held across the JDBC batch; a monitor there would pin the virtual thread running the flush. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    /** Failed single-row writes per schedule id; touched under {@link #flushLock} only. */
+    private final Map<Long, Integer> attempts = new HashMap<>();
+
+    private final Counter events;
+    private final Counter flushedRows;
+    private final Counter unknownRows;
+    private final Counter droppedRows;
+
+    public LiveScoreBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${soccer.live-score.batch-size:500}") int batchSize,
+                           @Value("${soccer.live-score.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.events = Counter.builder("soccer.live.score.events")
+                .description("Score events accepted into the buffer")
+                .register(meterRegistry);
+        this.flushedRows = Counter.builder("soccer.live.score.flushed")
+                .description("Coalesced score rows written to the database")
+                .register(meterRegistry);
+        this.unknownRows = Counter.builder("soccer.live.score.unknown")
+                .description("Buffered scores dropped because the schedule id does not exist")
+                .register(meterRegistry);
+        this.droppedRows = Counter.builder("soccer.live.score.dropped")
+                .description("Buffered scores dropped after failing max-attempts single-row writes")
+                .register(meterRegistry);
+        Gauge.builder("soccer.live.score.pending", pending, Map::size)
+                .description("Matches with buffered scores awaiting flush")
+                .register(meterRegistry);
+    }
+
+    public void record(Long scheduleId, Integer homeScore, Integer awayScore) {
+        pending.merge(scheduleId, new Score(homeScore, awayScore), Score::then);
+        events.increment();
+    }
+
+    /**
+     * Loads a schedule with {@code loader} and overlays any score still buffered for it, so
+     * a caller sees its own events before they are flushed. Retries the load if a flush
+     * committed in between, which would otherwise hide the row from both sides.
+     */
+    public Optional<ScheduleModel> readThrough(Long scheduleId, Function<Long, Optional<ScheduleModel>> loader) {
+        while (true) {
+            long seen = generation.get();
+            Optional<ScheduleModel> model = loader.apply(scheduleId);
+            Score buffered = buffered(scheduleId);
+            if (buffered != null) {
+                model.ifPresent(buffered::applyTo);
+                return model;
+            }
+            if (generation.get() == seen) {
+                return model;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${soccer.live-score.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            for (Long id : new ArrayList<>(pending.keySet())) {
+                // moved into inflight before it leaves pending, so readers always see it somewhere
+                pending.computeIfPresent(id, (key, score) -> {
+                    inflight.merge(key, score, Score::then);
+                    return null;
+                });
+            }
+            if (inflight.isEmpty()) {
+                return;
+            }
+            List<Map.Entry<Long, Score>> batch = new ArrayList<>(inflight.entrySet());
+            int[][] counts;
+            try {
+                counts = transactionTemplate.execute(status ->
+                        jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batchSize, LiveScoreBuffer::bind));
+            } catch (DataAccessException e) {
+                log.warn("Live score flush of {} rows failed, writing them one by one: {}", batch.size(), e.getMessage());
+                flushRowByRow(batch);
+                return;
+            }
+            generation.incrementAndGet();
+            inflight.clear();
+            attempts.clear();
+
+            int unknown = 0;
+            for (int[] chunk : counts) {
+                for (int count : chunk) {
+                    if (count == 0) {
+                        unknown++;
+                    }
+                }
+            }
+            written(batch.size() - unknown, unknown);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Each row in its own statement; rows that fail go back to pending or, after too many tries, are dropped. */
+    private void flushRowByRow(List<Map.Entry<Long, Score>> batch) {
+        List<Map.Entry<Long, Score>> requeue = new ArrayList<>();
+        int written = 0;
+        int unknown = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Map.Entry<Long, Score> entry = batch.get(i);
+            try {
+                if (jdbcTemplate.update(UPDATE_SQL, ps -> bind(ps, entry)) == 0) {
+                    unknown++;
+                } else {
+                    written++;
+                }
+                attempts.remove(entry.getKey());
+            } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+                // not this row's fault: leave the rest for the next tick without counting it against them
+                requeue.addAll(batch.subList(i, batch.size()));
+                log.warn("Live score flush stopped, {} rows requeued: {}", batch.size() - i, e.getMessage());
+                break;
+            } catch (DataAccessException e) {
+                int failed = attempts.merge(entry.getKey(), 1, Integer::sum);
+                if (failed < maxAttempts) {
+                    requeue.add(entry);
+                } else {
+                    attempts.remove(entry.getKey());
+                    droppedRows.increment();
+                    log.error("Live score for schedule {} dropped after {} failed writes, score {}: {}",
+                            entry.getKey(), failed, entry.getValue(), e.getMessage());
+                }
+            }
+        }
+        // hand failed rows back underneath anything that arrived meanwhile, before they leave inflight
+        requeue.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), (newer, older) -> older.then(newer)));
+        generation.incrementAndGet();
+        inflight.clear();
+        written(written, unknown);
+    }
+
+    private void written(int rows, int unknown) {
+        flushedRows.increment(rows);
+        if (unknown > 0) {
+            unknownRows.increment(unknown);
+            log.warn("Live score flush dropped {} rows for unknown schedule ids", unknown);
+        }
+        log.debug("Live score flush wrote {} rows", rows);
+    }
+
+    private static void bind(PreparedStatement ps, Map.Entry<Long, Score> entry) throws SQLException {
+        ps.setObject(1, entry.getValue().homeScore(), Types.INTEGER);
+        ps.setObject(2, entry.getValue().awayScore(), Types.INTEGER);
+        ps.setLong(3, entry.getKey());
+    }
+
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+
+    private Score buffered(Long scheduleId) {
+        Score queued = pending.get(scheduleId);
+        Score writing = inflight.get(scheduleId);
+        if (writing == null) {
+            return queued;
+        }
+        return queued == null ? writing : writing.then(queued);
+    }
+
+    record Score(Integer homeScore, Integer awayScore) {
+
+        Score then(Score next) {
+            return new Score(next.homeScore != null ? next.homeScore : homeScore,
+                    next.awayScore != null ? next.awayScore : awayScore);
+        }
+
+        void applyTo(ScheduleModel model) {
+            if (homeScore != null) {
+                model.home_score = homeScore;
+            }
+            if (awayScore != null) {
+                model.away_score = awayScore;
+            }
+        }
+    }
+}
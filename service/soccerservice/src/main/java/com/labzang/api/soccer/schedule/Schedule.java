@@ -1,6 +1,62 @@
 package com.labzang.api.soccer.schedule;
 
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.labzang.api.soccer.stadium.Stadium;
+import com.labzang.api.soccer.team.Team;
+
+@Entity
+@Table(name = "schedules")
+@NamedEntityGraph(name = Schedule.WITH_TEAMS,
+        attributeNodes = {
+                @NamedAttributeNode("stadium"),
+                @NamedAttributeNode(value = "hometeam", subgraph = "team"),
+                @NamedAttributeNode(value = "awayteam", subgraph = "team")
+        },
+        subgraphs = @NamedSubgraph(name = "team", attributeNodes = @NamedAttributeNode("stadium")))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class Schedule {
-    
-}
+    public static final String WITH_TEAMS = "Schedule.withTeams";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    private String sche_date;
+
+    private String stadium_uk;
+
+    private String gubun;
 
+    private String hometeam_uk;
+
+    private String awayteam_uk;
+
+    private Integer home_score;
+
+    private Integer away_score;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "stadium_uk", referencedColumnName = "stadium_uk", insertable = false, updatable = false)
+    private Stadium stadium;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hometeam_uk", referencedColumnName = "team_uk", insertable = false, updatable = false)
+    private Team hometeam;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "awayteam_uk", referencedColumnName = "team_uk", insertable = false, updatable = false)
+    private Team awayteam;
+}
@@ -1,17 +1,22 @@
 package com.labzang.api.soccer.schedule;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.common.NdjsonWriter;
 
 @RestController
 @RequiredArgsConstructor
@@ -30,6 +35,19 @@ public class ScheduleController {
         return scheduleService.findAll();
     }
 
+    @GetMapping("/page")
+    public Messenger findPage(@RequestParam(required = false) String cursor,
+                              @RequestParam(required = false) Integer size) {
+        return scheduleService.findPage(cursor, size);
+    }
+
+    @GetMapping(value = "/export", produces = NdjsonWriter.CONTENT_TYPE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.CONTENT_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        scheduleService.exportAll(response.getOutputStream());
+    }
+
     @PostMapping
     public Messenger save(@RequestBody ScheduleModel scheduleDTO) {
         return scheduleService.save(scheduleDTO);
@@ -40,11 +58,26 @@ public class ScheduleController {
         return scheduleService.saveAll(scheduleDTOList);
     }
 
+    @PostMapping("/bulk")
+    public Messenger bulkSave(@RequestBody List<ScheduleModel> scheduleDTOList) {
+        return scheduleService.bulkSave(scheduleDTOList);
+    }
+
     @PutMapping
     public Messenger update(@RequestBody ScheduleModel scheduleDTO) {
         return scheduleService.update(scheduleDTO);
     }
 
+    @PatchMapping
+    public Messenger patch(@RequestBody ScheduleModel scheduleDTO) {
+        return scheduleService.patch(scheduleDTO);
+    }
+
+    @PostMapping("/score")
+    public Messenger recordScore(@RequestBody ScheduleModel scheduleDTO) {
+        return scheduleService.recordScore(scheduleDTO);
+    }
+
     @DeleteMapping
     public Messenger delete(@RequestBody ScheduleModel scheduleDTO) {
         return scheduleService.delete(scheduleDTO);
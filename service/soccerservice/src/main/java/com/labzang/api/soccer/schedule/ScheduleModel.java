@@ -1,6 +1,20 @@
 package com.labzang.api.soccer.schedule;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
 public class ScheduleModel {
-    
+    public Long id;
+    public String sche_date;
+    public String stadium_uk;
+    public String gubun;
+    public String hometeam_uk;
+    public String awayteam_uk;
+    public Integer home_score;
+    public Integer away_score;
+    public Long version;
 }
-
@@ -1,24 +1,74 @@
 package com.labzang.api.soccer.schedule;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import com.labzang.api.soccer.schedule.domain.Schedule;
 
 @Repository
-public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
+public interface ScheduleRepository extends JpaRepository<Schedule, Long>, ScheduleRepositoryCustom {
+
+    /**
+     * Constructor expression behind the read-only model queries: rows are selected straight
+     * into {@link ScheduleModel}, so no managed entity or dirty-checking snapshot is created.
+     */
+    String MODEL_SELECT = "SELECT new com.labzang.api.soccer.schedule.ScheduleModel(s.id, s.sche_date, s.stadium_uk, s.gubun, s.hometeam_uk, s.awayteam_uk, s.home_score, s.away_score, s.version) FROM Schedule s ";
+
+    @Override
+    @EntityGraph(Schedule.WITH_TEAMS)
+    List<Schedule> findAll();
+
+    @Override
+    @EntityGraph(Schedule.WITH_TEAMS)
+    Optional<Schedule> findById(Long id);
+
+    @Query(MODEL_SELECT + "ORDER BY s.id")
+    List<ScheduleModel> findAllModels();
+
+    @Query(MODEL_SELECT + "WHERE s.id = :id")
+    Optional<ScheduleModel> findModelById(@Param("id") Long id);
+
+    /**
+     * Keyset page: rows with id greater than {@code afterId} in id order, at most {@code limit}.
+     */
+    @Query(MODEL_SELECT + "WHERE s.id > :afterId ORDER BY s.id")
+    List<ScheduleModel> findModelPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Whole table as a forward-only stream of models, read in fetch-size chunks without
+     * hydrating entities. Must be consumed inside a transaction and closed.
+     */
+    @Query(MODEL_SELECT + "ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ScheduleModel> streamAll();
     
     /**
-     * 검?어??정 검??(?짜, 구분, ?명에??검??
+     * 검색어로 일정 검색 (날짜, 구분, 팀명에서 검색)
      */
+    @EntityGraph(Schedule.WITH_TEAMS)
     @Query("SELECT s FROM Schedule s WHERE " +
            "COALESCE(s.sche_date, '') LIKE CONCAT('%', :keyword, '%') OR " +
            "LOWER(COALESCE(s.gubun, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "COALESCE(s.hometeam_uk, '') LIKE CONCAT('%', :keyword, '%') OR " +
            "COALESCE(s.awayteam_uk, '') LIKE CONCAT('%', :keyword, '%')")
     List<Schedule> findByKeyword(@Param("keyword") String keyword);
-}
-
 
+    /**
+     * Same match as {@link #findByKeyword}, selected into models and capped at {@code limit}.
+     */
+    @Query(MODEL_SELECT + "WHERE " +
+           "COALESCE(s.sche_date, '') LIKE CONCAT('%', :keyword, '%') OR " +
+           "LOWER(COALESCE(s.gubun, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "COALESCE(s.hometeam_uk, '') LIKE CONCAT('%', :keyword, '%') OR " +
+           "COALESCE(s.awayteam_uk, '') LIKE CONCAT('%', :keyword, '%') " +
+           "ORDER BY s.id")
+    List<ScheduleModel> findModelsByKeyword(@Param("keyword") String keyword, Limit limit);
+}
@@ -0,0 +1,14 @@
+package com.labzang.api.soccer.schedule;
+
+import com.labzang.api.soccer.common.PatchUpdate;
+
+public interface ScheduleRepositoryCustom {
+
+    /**
+     * Prepares an UPDATE of the non-null fields of {@code patch} to row {@code patch.id},
+     * guarded by {@code patch.version}. Nothing is written until the caller runs
+     * {@link PatchUpdate#execute()}, which returns 0 when the row is missing or was changed
+     * since that version was read.
+     */
+    PatchUpdate patch(ScheduleModel patch);
+}
@@ -0,0 +1,25 @@
+package com.labzang.api.soccer.schedule;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import lombok.RequiredArgsConstructor;
+import com.labzang.api.soccer.common.PatchUpdate;
+
+import static com.labzang.api.soccer.schedule.QSchedule.schedule;
+
+@RequiredArgsConstructor
+public class ScheduleRepositoryImpl implements ScheduleRepositoryCustom {
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public PatchUpdate patch(ScheduleModel patch) {
+        return PatchUpdate.of(queryFactory.update(schedule), schedule.id, patch.id, schedule.version, patch.version)
+                .set(schedule.sche_date, patch.sche_date)
+                .set(schedule.stadium_uk, patch.stadium_uk)
+                .set(schedule.gubun, patch.gubun)
+                .set(schedule.hometeam_uk, patch.hometeam_uk)
+                .set(schedule.awayteam_uk, patch.awayteam_uk)
+                .set(schedule.home_score, patch.home_score)
+                .set(schedule.away_score, patch.away_score);
+    }
+}
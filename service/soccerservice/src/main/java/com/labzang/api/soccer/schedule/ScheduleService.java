@@ -1,14 +1,21 @@
 package com.labzang.api.soccer.schedule;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import com.labzang.api.soccer.common.Messenger;
 
 public interface ScheduleService {
     public Messenger findById(ScheduleModel scheduleDTO);
     public Messenger findAll();
+    public Messenger findPage(String cursor, Integer size);
+    public long exportAll(OutputStream out) throws IOException;
     public Messenger save(ScheduleModel scheduleDTO);
     public Messenger saveAll(List<ScheduleModel> scheduleDTOList);
+    public Messenger bulkSave(List<ScheduleModel> scheduleDTOList);
     public Messenger update(ScheduleModel scheduleDTO);
+    public Messenger patch(ScheduleModel scheduleDTO);
+    public Messenger recordScore(ScheduleModel scheduleDTO);
     public Messenger delete(ScheduleModel scheduleDTO);
 }
 
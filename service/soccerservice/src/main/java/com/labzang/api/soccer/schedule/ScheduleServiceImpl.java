@@ -1,32 +1,53 @@
 package com.labzang.api.soccer.schedule;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
-import com.labzang.api.common.domain.Messenger;
-import com.labzang.api.soccer.schedule.domain.ScheduleDTO;
-import com.labzang.api.soccer.schedule.domain.Schedule;
-import com.labzang.api.soccer.schedule.repository.ScheduleRepository;
-import com.labzang.api.soccer.stadium.repository.StadiumRepository;
-import com.labzang.api.soccer.team.repository.TeamRepository;
-import com.labzang.api.soccer.stadium.domain.Stadium;
-import com.labzang.api.soccer.team.domain.Team;
+import com.labzang.api.soccer.common.BulkInsertResult;
+import com.labzang.api.soccer.common.CursorPage;
+import com.labzang.api.soccer.common.JdbcBulkInserter;
+import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.common.NdjsonWriter;
+import com.labzang.api.soccer.common.PatchUpdate;
+import com.labzang.api.soccer.search.SearchDocument;
+import com.labzang.api.soccer.search.SearchIndex;
+import com.labzang.api.soccer.search.SearchIndexContributor;
+import com.labzang.api.soccer.stadium.StadiumRepository;
+import com.labzang.api.soccer.team.TeamRepository;
+import com.labzang.api.soccer.stadium.Stadium;
+import com.labzang.api.soccer.team.Team;
 
 @Service
 @RequiredArgsConstructor
-public class ScheduleServiceImpl implements ScheduleService {
+public class ScheduleServiceImpl implements ScheduleService, SearchIndexContributor {
+
+    private static final List<String> BULK_COLUMNS = List.of(
+            "sche_date", "stadium_uk", "gubun", "hometeam_uk", "awayteam_uk", "home_score", "away_score");
 
     private final ScheduleRepository scheduleRepository;
     private final StadiumRepository stadiumRepository;
     private final TeamRepository teamRepository;
+    private final SearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+    private final JdbcBulkInserter bulkInserter;
+    private final LiveScoreBuffer liveScoreBuffer;
 
-    private ScheduleDTO entityToDTO(Schedule entity) {
-        return ScheduleDTO.builder()
+    private ScheduleModel entityToDTO(Schedule entity) {
+        return ScheduleModel.builder()
                 .id(entity.getId())
                 .sche_date(entity.getSche_date())
                 .stadium_uk(entity.getStadium_uk())
@@ -35,26 +56,28 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .awayteam_uk(entity.getAwayteam_uk())
                 .home_score(entity.getHome_score())
                 .away_score(entity.getAway_score())
+                .version(entity.getVersion())
                 .build();
     }
 
-    private Schedule dtoToEntity(ScheduleDTO dto) {
+    private Schedule dtoToEntity(ScheduleModel dto) {
         Stadium stadium = null;
         Team hometeam = null;
         Team awayteam = null;
         
         if (dto.stadium_uk != null) {
-            stadium = stadiumRepository.findByStadium_uk(dto.stadium_uk).orElse(null);
+            stadium = stadiumRepository.findIdByStadium_uk(dto.stadium_uk).map(stadiumRepository::getReferenceById).orElse(null);
         }
         if (dto.hometeam_uk != null) {
-            hometeam = teamRepository.findByTeam_uk(dto.hometeam_uk).orElse(null);
+            hometeam = teamRepository.findIdByTeam_uk(dto.hometeam_uk).map(teamRepository::getReferenceById).orElse(null);
         }
         if (dto.awayteam_uk != null) {
-            awayteam = teamRepository.findByTeam_uk(dto.awayteam_uk).orElse(null);
+            awayteam = teamRepository.findIdByTeam_uk(dto.awayteam_uk).map(teamRepository::getReferenceById).orElse(null);
         }
         
         return Schedule.builder()
                 .id(dto.id)
+                .version(dto.version)
                 .sche_date(dto.sche_date)
                 .stadium_uk(dto.stadium_uk)
                 .gubun(dto.gubun)
@@ -68,53 +91,103 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .build();
     }
 
+    private SearchDocument toSearchDocument(ScheduleModel dto) {
+        return SearchDocument.of(SearchIndex.SCHEDULE, dto.id, dto,
+                dto.sche_date, dto.gubun, dto.hometeam_uk, dto.awayteam_uk);
+    }
+
     @Override
-    public Messenger findById(ScheduleDTO scheduleDTO) {
-        Optional<Schedule> entity = scheduleRepository.findById(scheduleDTO.id);
-        if (entity.isPresent()) {
-            ScheduleDTO dto = entityToDTO(entity.get());
+    public String searchDomain() {
+        return SearchIndex.SCHEDULE;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchDocument> searchDocuments() {
+        return scheduleRepository.findAllModels().stream()
+                .map(this::toSearchDocument)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchDocument> findSearchDocuments(String keyword, int limit) {
+        return scheduleRepository.findModelsByKeyword(keyword.trim(), Limit.of(limit)).stream()
+                .map(this::toSearchDocument)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Messenger findById(ScheduleModel scheduleDTO) {
+        Optional<ScheduleModel> model = liveScoreBuffer.readThrough(scheduleDTO.id, scheduleRepository::findModelById);
+        if (model.isPresent()) {
+            ScheduleModel dto = model.get();
             return Messenger.builder()
-                    .Code(200)
-                    .message("조회 ?공")
+                    .status(200)
+                    .message("조회 성공")
                     .data(dto)
                     .build();
         } else {
             return Messenger.builder()
-                    .Code(404)
-                    .message("?정??찾을 ???습?다.")
+                    .status(404)
+                    .message("일정을 찾을 수 없습니다.")
                     .build();
         }
     }
 
     @Override
     public Messenger findAll() {
-        List<Schedule> entities = scheduleRepository.findAll();
-        List<ScheduleDTO> dtoList = entities.stream()
-                .map(this::entityToDTO)
-                .collect(Collectors.toList());
+        List<ScheduleModel> dtoList = scheduleRepository.findAllModels();
         return Messenger.builder()
-                .Code(200)
-                .message("?체 조회 ?공: " + dtoList.size() + "?)
+                .status(200)
+                .message("전체 조회 성공: " + dtoList.size() + "개")
                 .data(dtoList)
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Messenger findPage(String cursor, Integer size) {
+        return CursorPage.fetch(cursor, size, scheduleRepository::findModelPageAfter, dto -> dto.id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        try (Stream<ScheduleModel> rows = scheduleRepository.streamAll()) {
+            return NdjsonWriter.write(rows, objectMapper, out);
+        }
+    }
+
     @Override
     @Transactional
-    public Messenger save(ScheduleDTO scheduleDTO) {
+    public Messenger save(ScheduleModel scheduleDTO) {
+        if (scheduleDTO.id != null && scheduleDTO.version == null) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id를 지정해 저장하려면 version도 필요합니다.")
+                    .build();
+        }
         Schedule entity = dtoToEntity(scheduleDTO);
         Schedule saved = scheduleRepository.save(entity);
-        ScheduleDTO dto = entityToDTO(saved);
+        ScheduleModel dto = entityToDTO(saved);
+        searchIndex.put(toSearchDocument(dto));
         return Messenger.builder()
-                .Code(200)
-                .message("????공: " + saved.getId())
+                .status(200)
+                .message("저장 성공: " + saved.getId())
                 .data(dto)
                 .build();
     }
 
     @Override
     @Transactional
-    public Messenger saveAll(List<ScheduleDTO> scheduleDTOList) {
+    public Messenger saveAll(List<ScheduleModel> scheduleDTOList) {
+        if (scheduleDTOList.stream().anyMatch(dto -> dto.id != null && dto.version == null)) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id를 지정해 저장하려면 version도 필요합니다.")
+                    .build();
+        }
         List<Schedule> entities = scheduleDTOList.stream()
                 .map(dto -> {
                     Stadium stadium = null;
@@ -122,17 +195,18 @@ public class ScheduleServiceImpl implements ScheduleService {
                     Team awayteam = null;
                     
                     if (dto.stadium_uk != null) {
-                        stadium = stadiumRepository.findByStadium_uk(dto.stadium_uk).orElse(null);
+                        stadium = stadiumRepository.findIdByStadium_uk(dto.stadium_uk).map(stadiumRepository::getReferenceById).orElse(null);
                     }
                     if (dto.hometeam_uk != null) {
-                        hometeam = teamRepository.findByTeam_uk(dto.hometeam_uk).orElse(null);
+                        hometeam = teamRepository.findIdByTeam_uk(dto.hometeam_uk).map(teamRepository::getReferenceById).orElse(null);
                     }
                     if (dto.awayteam_uk != null) {
-                        awayteam = teamRepository.findByTeam_uk(dto.awayteam_uk).orElse(null);
+                        awayteam = teamRepository.findIdByTeam_uk(dto.awayteam_uk).map(teamRepository::getReferenceById).orElse(null);
                     }
                     
                     return Schedule.builder()
                             .id(dto.id)
+                            .version(dto.version)
                             .sche_date(dto.sche_date)
                             .stadium_uk(dto.stadium_uk)
                             .gubun(dto.gubun)
@@ -148,35 +222,70 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .collect(Collectors.toList());
         
         List<Schedule> saved = scheduleRepository.saveAll(entities);
-        List<ScheduleDTO> dtoList = saved.stream()
+        List<ScheduleModel> dtoList = saved.stream()
                 .map(this::entityToDTO)
                 .collect(Collectors.toList());
+        dtoList.forEach(dto -> searchIndex.put(toSearchDocument(dto)));
         return Messenger.builder()
-                .Code(200)
-                .message("?괄 ????공: " + dtoList.size() + "?)
+                .status(200)
+                .message("일괄 저장 성공: " + dtoList.size() + "개")
                 .data(dtoList)
                 .build();
     }
 
     @Override
     @Transactional
-    public Messenger update(ScheduleDTO scheduleDTO) {
+    public Messenger bulkSave(List<ScheduleModel> scheduleDTOList) {
+        // one IN query per referenced type instead of three lookups per row
+        Set<String> missing = new HashSet<>();
+        Set<String> stadiumUks = JdbcBulkInserter.distinct(scheduleDTOList, dto -> dto.stadium_uk);
+        if (!stadiumUks.isEmpty()) {
+            missing.addAll(stadiumUks);
+            stadiumRepository.findExistingStadium_uks(stadiumUks).forEach(missing::remove);
+        }
+        Set<String> teamUks = JdbcBulkInserter.distinct(scheduleDTOList, dto -> dto.hometeam_uk, dto -> dto.awayteam_uk);
+        if (!teamUks.isEmpty()) {
+            missing.addAll(teamUks);
+            teamRepository.findExistingTeam_uks(teamUks).forEach(missing::remove);
+        }
+
+        BulkInsertResult result = bulkInserter.insert("schedules", BULK_COLUMNS, scheduleDTOList, dto -> new Object[] {
+                dto.sche_date, dto.stadium_uk, dto.gubun, dto.hometeam_uk, dto.awayteam_uk, dto.home_score, dto.away_score
+        }, JdbcBulkInserter.referencesAny(missing,
+                dto -> dto.stadium_uk, dto -> dto.hometeam_uk, dto -> dto.awayteam_uk), (dto, id) -> {
+            dto.id = id;
+            dto.version = 0L;  // the column default
+            searchIndex.put(toSearchDocument(dto));
+        });
+        result.setUnresolvedReferences(missing.size());
+        return Messenger.builder()
+                .status(200)
+                .message("대량 저장 성공: " + result.getRows() + "건"
+                        + (result.getRejectedRows().isEmpty() ? "" : ", 참조 오류로 제외: " + result.getRejectedRows().size() + "건"))
+                .data(result)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Messenger update(ScheduleModel scheduleDTO) {
         Optional<Schedule> optionalEntity = scheduleRepository.findById(scheduleDTO.id);
         if (optionalEntity.isPresent()) {
             Schedule existing = optionalEntity.get();
             
             Stadium stadium = scheduleDTO.stadium_uk != null 
-                    ? stadiumRepository.findByStadium_uk(scheduleDTO.stadium_uk).orElse(existing.getStadium()) 
+                    ? stadiumRepository.findIdByStadium_uk(scheduleDTO.stadium_uk).map(stadiumRepository::getReferenceById).orElse(existing.getStadium()) 
                     : existing.getStadium();
             Team hometeam = scheduleDTO.hometeam_uk != null 
-                    ? teamRepository.findByTeam_uk(scheduleDTO.hometeam_uk).orElse(existing.getHometeam()) 
+                    ? teamRepository.findIdByTeam_uk(scheduleDTO.hometeam_uk).map(teamRepository::getReferenceById).orElse(existing.getHometeam()) 
                     : existing.getHometeam();
             Team awayteam = scheduleDTO.awayteam_uk != null 
-                    ? teamRepository.findByTeam_uk(scheduleDTO.awayteam_uk).orElse(existing.getAwayteam()) 
+                    ? teamRepository.findIdByTeam_uk(scheduleDTO.awayteam_uk).map(teamRepository::getReferenceById).orElse(existing.getAwayteam()) 
                     : existing.getAwayteam();
             
             Schedule updated = Schedule.builder()
                     .id(existing.getId())
+                    .version(existing.getVersion())
                     .sche_date(scheduleDTO.sche_date != null ? scheduleDTO.sche_date : existing.getSche_date())
                     .stadium_uk(scheduleDTO.stadium_uk != null ? scheduleDTO.stadium_uk : existing.getStadium_uk())
                     .gubun(scheduleDTO.gubun != null ? scheduleDTO.gubun : existing.getGubun())
@@ -189,35 +298,101 @@ public class ScheduleServiceImpl implements ScheduleService {
                     .awayteam(awayteam)
                     .build();
             
-            Schedule saved = scheduleRepository.save(updated);
-            ScheduleDTO dto = entityToDTO(saved);
+            Schedule saved = scheduleRepository.saveAndFlush(updated);
+            ScheduleModel dto = entityToDTO(saved);
+            searchIndex.put(toSearchDocument(dto));
             return Messenger.builder()
-                    .Code(200)
-                    .message("?정 ?공: " + scheduleDTO.id)
+                    .status(200)
+                    .message("수정 성공: " + scheduleDTO.id)
                     .data(dto)
                     .build();
         } else {
             return Messenger.builder()
-                    .Code(404)
-                    .message("?정???정??찾을 ???습?다.")
+                    .status(404)
+                    .message("수정할 일정을 찾을 수 없습니다.")
+                    .build();
+        }
+    }
+
+    @Override
+    @Transactional
+    public Messenger patch(ScheduleModel scheduleDTO) {
+        if (scheduleDTO.id == null || scheduleDTO.version == null) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id와 version은 필수입니다.")
+                    .build();
+        }
+        PatchUpdate update = scheduleRepository.patch(scheduleDTO);
+        if (update.isEmpty()) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("변경할 필드가 없습니다.")
                     .build();
         }
+        long updated = update.execute();
+        if (updated == 0) {
+            // only the failure path pays for telling a missing row from a stale version
+            return scheduleRepository.existsById(scheduleDTO.id)
+                    ? Messenger.builder()
+                            .status(409)
+                            .message("다른 요청이 먼저 수정했습니다. 최신 버전을 다시 조회해주세요.")
+                            .build()
+                    : Messenger.builder()
+                            .status(404)
+                            .message("수정할 일정을 찾을 수 없습니다.")
+                            .build();
+        }
+        if (scheduleDTO.sche_date != null
+                || scheduleDTO.gubun != null
+                || scheduleDTO.hometeam_uk != null
+                || scheduleDTO.awayteam_uk != null) {
+            scheduleRepository.findModelById(scheduleDTO.id).ifPresent(dto -> searchIndex.put(toSearchDocument(dto)));
+        }
+        return Messenger.builder()
+                .status(200)
+                .message("부분 수정 성공: " + scheduleDTO.id)
+                .data(Map.of("id", scheduleDTO.id, "version", scheduleDTO.version + 1))
+                .build();
+    }
+
+    @Override
+    public Messenger recordScore(ScheduleModel scheduleDTO) {
+        if (scheduleDTO.id == null || (scheduleDTO.home_score == null && scheduleDTO.away_score == null)) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id와 점수가 필요합니다.")
+                    .build();
+        }
+        if ((scheduleDTO.home_score != null && scheduleDTO.home_score < 0)
+                || (scheduleDTO.away_score != null && scheduleDTO.away_score < 0)) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("점수는 0 이상이어야 합니다.")
+                    .build();
+        }
+        liveScoreBuffer.record(scheduleDTO.id, scheduleDTO.home_score, scheduleDTO.away_score);
+        return Messenger.builder()
+                .status(202)
+                .message("점수 반영 대기: " + scheduleDTO.id)
+                .build();
     }
 
     @Override
     @Transactional
-    public Messenger delete(ScheduleDTO scheduleDTO) {
+    public Messenger delete(ScheduleModel scheduleDTO) {
         Optional<Schedule> optionalEntity = scheduleRepository.findById(scheduleDTO.id);
         if (optionalEntity.isPresent()) {
             scheduleRepository.deleteById(scheduleDTO.id);
+            searchIndex.remove(SearchIndex.SCHEDULE, scheduleDTO.id);
             return Messenger.builder()
-                    .Code(200)
-                    .message("?? ?공: " + scheduleDTO.id)
+                    .status(200)
+                    .message("삭제 성공: " + scheduleDTO.id)
                     .build();
         } else {
             return Messenger.builder()
-                    .Code(404)
-                    .message("?????정??찾을 ???습?다.")
+                    .status(404)
+                    .message("삭제할 일정을 찾을 수 없습니다.")
                     .build();
         }
     }
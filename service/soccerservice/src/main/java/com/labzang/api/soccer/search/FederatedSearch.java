@@ -0,0 +1,188 @@
+package com.labzang.api.soccer.search;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keyword search against the database of every {@link SearchIndexContributor} at once.
+ * Each domain runs on its own virtual thread in a read-only transaction, so the request
+ * takes as long as the slowest domain within budget rather than the sum of all of them.
+ *
+ * Every domain query holds a pooled connection, and request-level limits such as
+ * ConnectionPoolLimitFilter count one per request. So domain queries of all requests
+ * together take a permit from soccer.search.federated.max-concurrent-queries first
+ * (default: half the Hikari pool), waiting for one no longer than their budget.
+ *
+ * A domain's budget is soccer.search.federated.budget.&lt;domain&gt;, else .default, and
+ * counts from the start of the request. A domain that misses it, or fails, is left out
+ * and the result is marked partial. Its query is not interrupted, since interrupting a
+ * thread blocked on the socket closes the pooled connection. Instead, on PostgreSQL,
+ * {@code SET LOCAL statement_timeout} gives the query what is left of the budget, and the
+ * server cancels it. Elsewhere the transaction timeout, the budget rounded up to whole
+ * seconds, is the backstop.
+ *
+ * Metrics: soccer.search.federated (per domain and outcome: ok, timeout, error).
+ */
+@Slf4j
+@Component
+public class FederatedSearch {
+
+    private static final String BUDGET = "soccer.search.federated.budget.";
+    private static final String MAX_CONCURRENT_QUERIES = "soccer.search.federated.max-concurrent-queries";
+    private static final Duration DEFAULT_BUDGET = Duration.ofMillis(300);
+
+    private final List<SearchIndexContributor> contributors;
+    private final Map<String, Duration> budgets = new LinkedHashMap<>();
+    private final Map<String, TransactionTemplate> transactions = new LinkedHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore queries;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile Boolean postgres;
+
+    public FederatedSearch(List<SearchIndexContributor> contributors, PlatformTransactionManager transactionManager,
+                           JdbcTemplate jdbcTemplate, Environment environment, MeterRegistry meterRegistry) {
+        this.contributors = contributors;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        this.queries = new Semaphore(environment.getProperty(MAX_CONCURRENT_QUERIES, Integer.class,
+                Math.max(1, poolSize / 2)), true);
+        Duration fallback = environment.getProperty(BUDGET + "default", Duration.class, DEFAULT_BUDGET);
+        for (SearchIndexContributor contributor : contributors) {
+            String domain = contributor.searchDomain();
+            Duration budget = environment.getProperty(BUDGET + domain, Duration.class, fallback);
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.setTimeout((int) Math.max(1, (budget.toMillis() + 999) / 1000));
+            budgets.put(domain, budget);
+            transactions.put(domain, transaction);
+        }
+        log.info("Federated search budgets: {}, at most {} queries at a time", budgets, queries.availablePermits());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Up to {@code limit} hits over all domains, ranked like the index (earliest match
+     * first), each domain contributing at most {@code limit} rows.
+     */
+    public FederatedSearchResult search(String keyword, int limit) {
+        long started = System.nanoTime();
+        Map<String, Future<Timed>> running = new LinkedHashMap<>();
+        for (SearchIndexContributor contributor : contributors) {
+            String domain = contributor.searchDomain();
+            long deadline = started + budgets.get(domain).toNanos();
+            running.put(domain, executor.submit(() -> {
+                if (!queries.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException("No query slot within budget");
+                }
+                try {
+                    long start = System.nanoTime();
+                    List<SearchDocument> documents = transactions.get(domain).execute(status -> {
+                        limitStatements(deadline);
+                        return contributor.findSearchDocuments(keyword, limit);
+                    });
+                    return new Timed(documents, System.nanoTime() - start);
+                } finally {
+                    queries.release();
+                }
+            }));
+        }
+
+        List<SearchDocument> found = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, Future<Timed>> entry : running.entrySet()) {
+            String domain = entry.getKey();
+            Duration budget = budgets.get(domain);
+            long remaining = budget.toNanos() - (System.nanoTime() - started);
+            try {
+                Timed result = entry.getValue().get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                found.addAll(result.documents());
+                timer(domain, "ok").record(result.nanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // left running: its statement timeout ends it without closing the connection
+                missing.add(domain);
+                timer(domain, "timeout").record(budget);
+                log.warn("Federated search - {} exceeded its {} ms budget", domain, budget.toMillis());
+            } catch (ExecutionException e) {
+                missing.add(domain);
+                if (e.getCause() instanceof TimeoutException) {
+                    timer(domain, "timeout").record(budget);
+                    log.warn("Federated search - {} got no query slot within its {} ms budget", domain, budget.toMillis());
+                } else {
+                    timer(domain, "error").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    log.warn("Federated search - {} failed: {}", domain, e.getCause().toString());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Federated search interrupted", e);
+            }
+        }
+
+        List<SearchHit> hits = found.stream()
+                .sorted(SearchIndex.byRelevance(SearchDocument.normalize(keyword)))
+                .limit(limit)
+                .map(document -> SearchHit.builder()
+                        .domain(document.getDomain())
+                        .id(document.getId())
+                        .data(document.getPayload())
+                        .build())
+                .collect(Collectors.toList());
+        return FederatedSearchResult.builder()
+                .hits(hits)
+                .partial(!missing.isEmpty())
+                .missingDomains(missing)
+                .build();
+    }
+
+    /** Has PostgreSQL cancel the transaction's statements once the deadline passes. */
+    private void limitStatements(long deadline) {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        if (postgres) {
+            long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            jdbcTemplate.execute("SET LOCAL statement_timeout = " + millis);
+        }
+    }
+
+    private Timer timer(String domain, String outcome) {
+        return Timer.builder("soccer.search.federated")
+                .description("Per-domain database queries of federated search")
+                .tag("domain", domain)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Timed(List<SearchDocument> documents, long nanos) {
+    }
+}
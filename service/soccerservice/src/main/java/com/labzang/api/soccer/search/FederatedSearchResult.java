@@ -0,0 +1,18 @@
+package com.labzang.api.soccer.search;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FederatedSearchResult {
+    private List<SearchHit> hits;
+    private boolean partial;                // true when a domain missed its budget or failed
+    private List<String> missingDomains;    // domains left out of hits
+}
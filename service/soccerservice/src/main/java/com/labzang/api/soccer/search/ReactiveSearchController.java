@@ -0,0 +1,67 @@
+package com.labzang.api.soccer.search;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking keyword search straight from the database, next to the index-backed
+ * {@link SearchController}. Hits are written one NDJSON line (or SSE event) at a time as
+ * R2DBC decodes them; the servlet thread is released while the query runs and the next
+ * row is only requested once the previous one has been written.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/search/stream")
+public class ReactiveSearchController {
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+
+    private final ReactiveSearchRepository reactiveSearchRepository;
+
+    /**
+     * 선수/팀 DB 검색 스트림
+     * - domain=player 또는 team, 생략하면 둘 다 (도착하는 순서대로 섞여서 전송)
+     * - limit은 도메인별 최대 건수
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SearchHit> search(@RequestParam String keyword,
+                                  @RequestParam(required = false) String domain,
+                                  @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        if (keyword.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "검색어를 입력해주세요.");
+        }
+        int rows = Math.max(1, Math.min(limit, MAX_LIMIT));
+        log.info("스트림 검색 요청 - domain: {}, keyword: {}", domain, keyword);
+
+        if (domain == null || domain.isBlank()) {
+            return Flux.merge(players(keyword, rows), teams(keyword, rows));
+        }
+        return switch (domain) {
+            case SearchIndex.PLAYER -> players(keyword, rows);
+            case SearchIndex.TEAM -> teams(keyword, rows);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "지원하지 않는 검색 도메인입니다: " + domain);
+        };
+    }
+
+    private Flux<SearchHit> players(String keyword, int limit) {
+        return reactiveSearchRepository.searchPlayers(keyword, limit)
+                .map(player -> SearchHit.builder().domain(SearchIndex.PLAYER).id(player.id).data(player).build());
+    }
+
+    private Flux<SearchHit> teams(String keyword, int limit) {
+        return reactiveSearchRepository.searchTeams(keyword, limit)
+                .map(team -> SearchHit.builder().domain(SearchIndex.TEAM).id(team.id).data(team).build());
+    }
+}
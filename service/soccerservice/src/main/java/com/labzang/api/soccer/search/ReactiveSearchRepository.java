@@ -0,0 +1,98 @@
+package com.labzang.api.soccer.search;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.labzang.api.soccer.player.PlayerModel;
+import com.labzang.api.soccer.team.TeamModel;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Keyword search over the players and teams tables through R2DBC. Rows are emitted as
+ * the driver decodes them and fetched in chunks of {@link #FETCH_SIZE} as the subscriber
+ * asks for more, so a slow client slows the query down instead of buffering the result.
+ * The predicates match the JPA ones ({@code lower(col) like '%keyword%'}), so the same
+ * pg_trgm indexes serve them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveSearchRepository {
+
+    static final int FETCH_SIZE = 64;
+
+    private static final String PLAYERS = "SELECT id, player_uk, player_name, e_player_name, nickname, join_yyyy, "
+            + "position, back_no, nation, birth_date, solar, height, weight, team_uk FROM players "
+            + "WHERE lower(player_name) LIKE :pattern ESCAPE '\\' OR lower(e_player_name) LIKE :pattern ESCAPE '\\' "
+            + "OR lower(nickname) LIKE :pattern ESCAPE '\\' "
+            + "ORDER BY player_name, id LIMIT :limit";
+
+    private static final String TEAMS = "SELECT id, version, team_uk, region_name, team_name, e_team_name, orig_yyyy, "
+            + "zip_code1, zip_code2, address, ddd, tel, fax, homepage, owner, stadium_uk FROM teams "
+            + "WHERE lower(team_name) LIKE :pattern ESCAPE '\\' OR lower(e_team_name) LIKE :pattern ESCAPE '\\' "
+            + "OR lower(region_name) LIKE :pattern ESCAPE '\\' "
+            + "ORDER BY team_name, id LIMIT :limit";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<PlayerModel> searchPlayers(String keyword, int limit) {
+        return query(PLAYERS, keyword, limit).map(ReactiveSearchRepository::player).all();
+    }
+
+    public Flux<TeamModel> searchTeams(String keyword, int limit) {
+        return query(TEAMS, keyword, limit).map(ReactiveSearchRepository::team).all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec query(String sql, String keyword, int limit) {
+        return databaseClient.sql(sql)
+                .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)))
+                .bind("pattern", "%" + escape(keyword.trim().toLowerCase()) + "%")
+                .bind("limit", limit);
+    }
+
+    private static String escape(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static PlayerModel player(Readable row) {
+        return PlayerModel.builder()
+                .id(row.get("id", Long.class))
+                .player_uk(row.get("player_uk", String.class))
+                .player_name(row.get("player_name", String.class))
+                .e_player_name(row.get("e_player_name", String.class))
+                .nickname(row.get("nickname", String.class))
+                .join_yyyy(row.get("join_yyyy", String.class))
+                .position(row.get("position", String.class))
+                .back_no(row.get("back_no", String.class))
+                .nation(row.get("nation", String.class))
+                .birth_date(row.get("birth_date", String.class))
+                .solar(row.get("solar", String.class))
+                .height(row.get("height", String.class))
+                .weight(row.get("weight", String.class))
+                .team_uk(row.get("team_uk", String.class))
+                .build();
+    }
+
+    private static TeamModel team(Readable row) {
+        return TeamModel.builder()
+                .id(row.get("id", Long.class))
+                .version(row.get("version", Long.class))
+                .team_uk(row.get("team_uk", String.class))
+                .region_name(row.get("region_name", String.class))
+                .team_name(row.get("team_name", String.class))
+                .e_team_name(row.get("e_team_name", String.class))
+                .orig_yyyy(row.get("orig_yyyy", String.class))
+                .zip_code1(row.get("zip_code1", String.class))
+                .zip_code2(row.get("zip_code2", String.class))
+                .address(row.get("address", String.class))
+                .ddd(row.get("ddd", String.class))
+                .tel(row.get("tel", String.class))
+                .fax(row.get("fax", String.class))
+                .homepage(row.get("homepage", String.class))
+                .owner(row.get("owner", String.class))
+                .stadium_uk(row.get("stadium_uk", String.class))
+                .build();
+    }
+}
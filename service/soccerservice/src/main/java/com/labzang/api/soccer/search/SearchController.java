@@ -1,12 +1,15 @@
 package com.labzang.api.soccer.search;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.labzang.api.soccer.common.Messenger;
-import com.labzang.api.soccer.player.PlayerService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,32 +20,44 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/search")
 public class SearchController {
 
-    private final PlayerService playerService;
+    private static final int SEARCH_RESULT_LIMIT = 50;
+
+    private final SearchIndex searchIndex;
+    private final List<SearchIndexContributor> contributors;
+    private final FederatedSearch federatedSearch;
 
     /**
      * 통합 검색 API
-     * - domain에 따라 다른 서비스를 호출
-     * - keyword로 플레이어 검색
+     * - domain에 따라 인메모리 검색 인덱스에서 조회 (인덱스 준비 전에는 DB 검색으로 대체)
+     * - domain=all 이면 선수/팀/경기장/일정 전체 검색
+     * - domain=federated 이면 전체 도메인을 DB에서 병렬 검색 (도메인별 시간 제한, 초과 시 partial)
      */
     @PostMapping
     public Messenger search(@RequestBody SearchDTO searchDTO) {
         log.info("검색 요청 - domain: {}, keyword: {}", searchDTO.getDomain(), searchDTO.getKeyword());
-        
+
         try {
             String domain = searchDTO.getDomain();
             String keyword = searchDTO.getKeyword();
-            
+
             if (keyword == null || keyword.trim().isEmpty()) {
                 return Messenger.error("검색어를 입력해주세요.");
             }
-            
+
             // domain에 따라 다른 서비스 호출
             switch (domain) {
-                case "player":
-                    return searchPlayers(keyword);
                 case "default":
                     // 기본값은 player 검색
-                    return searchPlayers(keyword);
+                    return searchDomain(SearchIndex.PLAYER, keyword);
+                case SearchIndex.PLAYER:
+                case SearchIndex.TEAM:
+                case SearchIndex.STADIUM:
+                case SearchIndex.SCHEDULE:
+                    return searchDomain(domain, keyword);
+                case "all":
+                    return searchAll(keyword);
+                case "federated":
+                    return searchFederated(keyword);
                 default:
                     return Messenger.error("지원하지 않는 검색 도메인입니다: " + domain);
             }
@@ -51,23 +66,77 @@ public class SearchController {
             return Messenger.error("검색 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
-    
+
+    /**
+     * 단일 도메인 검색 - 결과는 해당 도메인의 Model 목록
+     */
+    private Messenger searchDomain(String domain, String keyword) {
+        List<SearchDocument> documents;
+        if (searchIndex.isReady()) {
+            documents = searchIndex.search(keyword, Set.of(domain), SEARCH_RESULT_LIMIT);
+        } else {
+            // 인덱스 준비 전(워밍업 중 또는 로딩 실패)에는 해당 도메인의 DB 검색으로 대체
+            documents = contributor(domain).findSearchDocuments(keyword, SEARCH_RESULT_LIMIT);
+        }
+        List<Object> results = documents.stream()
+                .map(SearchDocument::getPayload)
+                .collect(Collectors.toList());
+        return result(keyword, results);
+    }
+
     /**
-     * 선수 검색
+     * 전체 도메인 검색 - 결과는 domain 이 표시된 SearchHit 목록
      */
-    private Messenger searchPlayers(String keyword) {
-        log.info("선수 검색 - keyword: {}", keyword);
-        
-        // PlayerService를 통해 선수 검색
-        var players = playerService.searchByKeyword(keyword);
-        
-        if (players.isEmpty()) {
-            return Messenger.success("검색 결과가 없습니다.", players);
+    private Messenger searchAll(String keyword) {
+        if (!searchIndex.isReady()) {
+            // 인덱스 준비 전에는 전체 도메인 DB 병렬 검색으로 대체, 빠진 도메인은 메시지로 알림
+            FederatedSearchResult federated = federatedSearch.search(keyword, SEARCH_RESULT_LIMIT);
+            Messenger result = result(keyword, federated.getHits());
+            result.setMessage(result.getMessage() + partialNote(federated));
+            return result;
         }
-        
+        List<SearchHit> hits = searchIndex.search(keyword, null, SEARCH_RESULT_LIMIT).stream()
+                .map(document -> SearchHit.builder()
+                        .domain(document.getDomain())
+                        .id(document.getId())
+                        .data(document.getPayload())
+                        .build())
+                .collect(Collectors.toList());
+        return result(keyword, hits);
+    }
+
+    /**
+     * 전체 도메인 DB 병렬 검색 - 시간 제한을 넘긴 도메인은 빠지고 partial=true
+     */
+    private Messenger searchFederated(String keyword) {
+        FederatedSearchResult result = federatedSearch.search(keyword, SEARCH_RESULT_LIMIT);
+        String message = result.getHits().isEmpty()
+                ? "검색 결과가 없습니다."
+                : String.format("'%s' 검색 결과 %d건이 발견되었습니다.", keyword, result.getHits().size());
+        return Messenger.success(message + partialNote(result), result);
+    }
+
+    private static String partialNote(FederatedSearchResult result) {
+        return result.isPartial()
+                ? " (시간 초과 또는 오류로 제외된 도메인: " + String.join(", ", result.getMissingDomains()) + ")"
+                : "";
+    }
+
+    private SearchIndexContributor contributor(String domain) {
+        return contributors.stream()
+                .filter(contributor -> contributor.searchDomain().equals(domain))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("검색 도메인 제공자가 없습니다: " + domain));
+    }
+
+    private Messenger result(String keyword, List<?> results) {
+        if (results.isEmpty()) {
+            return Messenger.success("검색 결과가 없습니다.", results);
+        }
+
         return Messenger.success(
-            String.format("'%s' 검색 결과 %d건이 발견되었습니다.", keyword, players.size()),
-            players
+            String.format("'%s' 검색 결과 %d건이 발견되었습니다.", keyword, results.size()),
+            results
         );
     }
 }
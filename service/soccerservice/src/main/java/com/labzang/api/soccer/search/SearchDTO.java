@@ -10,8 +10,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class SearchDTO {
-    private String domain;   // 검???메??(player, team, schedule ??
-    private String keyword;  // 검???워??
+    private String domain;   // 검색 도메인 (player, team, schedule 등)
+    private String keyword;  // 검색 키워드
 }
 
 
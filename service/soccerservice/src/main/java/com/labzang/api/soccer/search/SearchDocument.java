@@ -0,0 +1,48 @@
+package com.labzang.api.soccer.search;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.Getter;
+
+/**
+ * One searchable row in the {@link SearchIndex}: the model returned to callers plus the
+ * normalized text its n-grams are built from.
+ */
+@Getter
+public class SearchDocument {
+    private final String domain;
+    private final Long id;
+    private final Object payload;
+    private final String text;
+
+    private SearchDocument(String domain, Long id, Object payload, String text) {
+        this.domain = domain;
+        this.id = id;
+        this.payload = payload;
+        this.text = text;
+    }
+
+    public static SearchDocument of(String domain, Long id, Object payload, String... fields) {
+        String text = Stream.of(fields)
+                .filter(Objects::nonNull)
+                .map(SearchDocument::normalize)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.joining("\n"));
+        return new SearchDocument(domain, id, payload, text);
+    }
+
+    public static String key(String domain, Long id) {
+        return domain + ":" + id;
+    }
+
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    String key() {
+        return key(domain, id);
+    }
+}
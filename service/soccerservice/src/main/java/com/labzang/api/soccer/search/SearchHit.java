@@ -0,0 +1,16 @@
+package com.labzang.api.soccer.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchHit {
+    private String domain;  // player, team, stadium, schedule
+    private Long id;
+    private Object data;    // PlayerModel, TeamModel, StadiumModel, ScheduleModel
+}
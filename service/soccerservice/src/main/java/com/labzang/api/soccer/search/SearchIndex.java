@@ -0,0 +1,243 @@
+package com.labzang.api.soccer.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process inverted bigram index over players, teams, stadiums and schedules.
+ *
+ * Reads are lock-free against the current segment. Writes are serialized and, inside a
+ * transaction, applied only after commit so rolled-back rows never become searchable.
+ * A rebuild loads a fresh segment off to the side, replays the writes that arrived while
+ * it was loading and then swaps it in.
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    public static final String PLAYER = "player";
+    public static final String TEAM = "team";
+    public static final String STADIUM = "stadium";
+    public static final String SCHEDULE = "schedule";
+
+    private static final int GRAM = 2;
+
+    // Rough per-entry costs on a 64-bit JVM with compressed oops, used for stats only.
+    private static final int DOCUMENT_OVERHEAD_BYTES = 160;
+    private static final int GRAM_OVERHEAD_BYTES = 160;
+    private static final int POSTING_OVERHEAD_BYTES = 40;
+
+    /** Not a monitor: held across the loader's JDBC reads, which would pin a virtual thread. */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Segment segment = new Segment();
+    private volatile boolean ready;
+    private List<Consumer<Segment>> pending;
+    private LocalDateTime lastRebuiltAt;
+    private long lastRebuildMillis;
+
+    public void put(SearchDocument document) {
+        afterCommit(() -> apply(s -> s.add(document)));
+    }
+
+    public void remove(String domain, Long id) {
+        String key = SearchDocument.key(domain, id);
+        afterCommit(() -> apply(s -> s.remove(key)));
+    }
+
+    /**
+     * Returns up to {@code limit} documents whose text contains {@code keyword}, earliest
+     * match first. A null or empty {@code domains} set searches every domain.
+     */
+    public List<SearchDocument> search(String keyword, Set<String> domains, int limit) {
+        String query = SearchDocument.normalize(keyword);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        Segment current = segment;
+
+        Collection<String> candidates;
+        if (query.length() < GRAM) {
+            candidates = current.documents.keySet();
+        } else {
+            candidates = null;
+            for (String gram : grams(query)) {
+                Set<String> posting = current.postings.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                if (candidates == null || posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+        }
+
+        List<SearchDocument> matches = new ArrayList<>();
+        for (String key : candidates) {
+            SearchDocument document = current.documents.get(key);
+            if (document == null || (domains != null && !domains.isEmpty() && !domains.contains(document.getDomain()))) {
+                continue;
+            }
+            if (document.getText().contains(query)) {
+                matches.add(document);
+            }
+        }
+        matches.sort(byRelevance(query));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Earliest match of the normalized {@code query} first, then domain and id so ties are
+     * stable. Documents whose text does not contain the query sort last.
+     */
+    static Comparator<SearchDocument> byRelevance(String query) {
+        return Comparator
+                .comparingInt((SearchDocument d) -> {
+                    int position = d.getText().indexOf(query);
+                    return position < 0 ? Integer.MAX_VALUE : position;
+                })
+                .thenComparing(SearchDocument::getDomain)
+                .thenComparing(SearchDocument::getId);
+    }
+
+    /**
+     * Replaces the index contents with whatever {@code loader} returns. Writes made while
+     * the loader runs are queued and replayed on the new segment before it goes live.
+     */
+    public void rebuild(Supplier<Collection<SearchDocument>> loader) {
+        rebuildLock.lock();
+        try {
+            long started = System.nanoTime();
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            Segment fresh = new Segment();
+            try {
+                loader.get().forEach(fresh::add);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                pending.forEach(op -> op.accept(fresh));
+                pending = null;
+                segment = fresh;
+                ready = true;
+                lastRebuiltAt = LocalDateTime.now();
+                lastRebuildMillis = (System.nanoTime() - started) / 1_000_000;
+            }
+            log.info("Search index rebuilt - {} documents, {} grams in {} ms",
+                    fresh.documents.size(), fresh.postings.size(), lastRebuildMillis);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized SearchIndexStats stats() {
+        Segment current = segment;
+        Map<String, Long> perDomain = new TreeMap<>();
+        long bytes = 0;
+        for (SearchDocument document : current.documents.values()) {
+            perDomain.merge(document.getDomain(), 1L, Long::sum);
+            // text is held once in the document and roughly again in the payload model
+            bytes += DOCUMENT_OVERHEAD_BYTES + 4L * document.getText().length();
+        }
+        long postings = 0;
+        for (Map.Entry<String, Set<String>> entry : current.postings.entrySet()) {
+            postings += entry.getValue().size();
+            bytes += GRAM_OVERHEAD_BYTES + 2L * entry.getKey().length();
+        }
+        bytes += POSTING_OVERHEAD_BYTES * postings;
+        return SearchIndexStats.builder()
+                .ready(ready)
+                .documents(perDomain)
+                .grams(current.postings.size())
+                .postings(postings)
+                .estimatedBytes(bytes)
+                .lastRebuiltAt(lastRebuiltAt != null ? lastRebuiltAt.toString() : null)
+                .lastRebuildMillis(lastRebuildMillis)
+                .build();
+    }
+
+    private synchronized void apply(Consumer<Segment> op) {
+        op.accept(segment);
+        if (pending != null) {
+            pending.add(op);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /** Document store plus gram postings; safe for concurrent readers, one writer at a time. */
+    private static final class Segment {
+        private final Map<String, SearchDocument> documents = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+        void add(SearchDocument document) {
+            String key = document.key();
+            remove(key);
+            documents.put(key, document);
+            for (String gram : grams(document.getText())) {
+                postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+
+        void remove(String key) {
+            SearchDocument previous = documents.remove(key);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : grams(previous.getText())) {
+                Set<String> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(key);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram, posting);
+                    }
+                }
+            }
+        }
+    }
+}
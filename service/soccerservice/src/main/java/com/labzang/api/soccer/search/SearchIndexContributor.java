@@ -0,0 +1,21 @@
+package com.labzang.api.soccer.search;
+
+import java.util.List;
+
+/**
+ * Implemented by domain services that feed the {@link SearchIndex}. Called on warm-up and
+ * on every rebuild; incremental changes are pushed by the service itself. The same
+ * services answer {@link FederatedSearch} straight from the database.
+ */
+public interface SearchIndexContributor {
+
+    String searchDomain();
+
+    List<SearchDocument> searchDocuments();
+
+    /**
+     * Up to {@code limit} documents matching {@code keyword}, queried from the database
+     * rather than the index.
+     */
+    List<SearchDocument> findSearchDocuments(String keyword, int limit);
+}
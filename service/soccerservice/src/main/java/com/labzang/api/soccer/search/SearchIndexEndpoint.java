@@ -0,0 +1,31 @@
+package com.labzang.api.soccer.search;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * GET /actuator/searchindex for document counts and estimated footprint, POST to reload
+ * every domain from the database. On the management port, out of the gateway's reach.
+ */
+@Component
+@Endpoint(id = "searchindex")
+@RequiredArgsConstructor
+public class SearchIndexEndpoint {
+
+    private final SearchIndex searchIndex;
+    private final SearchIndexLoader searchIndexLoader;
+
+    @ReadOperation
+    public SearchIndexStats stats() {
+        return searchIndex.stats();
+    }
+
+    @WriteOperation
+    public SearchIndexStats rebuild() {
+        return searchIndexLoader.rebuild();
+    }
+}
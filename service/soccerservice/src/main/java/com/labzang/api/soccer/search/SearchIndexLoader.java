@@ -0,0 +1,47 @@
+package com.labzang.api.soccer.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms the {@link SearchIndex} at startup and rebuilds it on demand from every
+ * {@link SearchIndexContributor}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexLoader implements ApplicationRunner {
+
+    private final SearchIndex searchIndex;
+    private final List<SearchIndexContributor> contributors;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // keep serving; SearchController falls back to the database until a rebuild succeeds
+            log.warn("Search index warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    public SearchIndexStats rebuild() {
+        searchIndex.rebuild(() -> {
+            List<SearchDocument> documents = new ArrayList<>();
+            for (SearchIndexContributor contributor : contributors) {
+                List<SearchDocument> loaded = contributor.searchDocuments();
+                log.info("Search index loading {} - {} documents", contributor.searchDomain(), loaded.size());
+                documents.addAll(loaded);
+            }
+            return documents;
+        });
+        return searchIndex.stats();
+    }
+}
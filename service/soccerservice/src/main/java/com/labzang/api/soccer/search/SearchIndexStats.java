@@ -0,0 +1,22 @@
+package com.labzang.api.soccer.search;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchIndexStats {
+    private boolean ready;
+    private Map<String, Long> documents;  // per domain
+    private int grams;
+    private long postings;
+    private long estimatedBytes;
+    private String lastRebuiltAt;
+    private long lastRebuildMillis;
+}
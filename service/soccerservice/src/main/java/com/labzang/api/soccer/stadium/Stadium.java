@@ -2,12 +2,13 @@ package com.labzang.api.soccer.stadium;
 
 import java.util.List;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import com.labzang.api.soccer.schedule.domain.Schedule;
-import com.labzang.api.soccer.team.domain.Team;
+import com.labzang.api.soccer.schedule.Schedule;
+import com.labzang.api.soccer.team.Team;
 
 @Entity
 @Table(name = "stadiums")
@@ -20,6 +21,11 @@ public class Stadium {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(unique = true)
     private String stadium_uk;
     
@@ -35,10 +41,10 @@ public class Stadium {
     
     private String tel;
     
-    @OneToMany(mappedBy = "stadium")
+    @OneToMany(mappedBy = "stadium", fetch = FetchType.LAZY)
     private List<Schedule> schedules;
     
-    @OneToMany(mappedBy = "stadium")
+    @OneToMany(mappedBy = "stadium", fetch = FetchType.LAZY)
     private List<Team> teams;
 }
 
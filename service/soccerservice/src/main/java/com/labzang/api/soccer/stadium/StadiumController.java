@@ -1,19 +1,22 @@
 package com.labzang.api.soccer.stadium;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import com.labzang.api.common.domain.Messenger;
-import com.labzang.api.soccer.stadium.domain.StadiumDTO;
-import com.labzang.api.soccer.stadium.service.StadiumService;
+import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.common.NdjsonWriter;
 
 @RestController
 @RequiredArgsConstructor
@@ -32,6 +35,19 @@ public class StadiumController {
         return stadiumService.findAll();
     }
 
+    @GetMapping("/page")
+    public Messenger findPage(@RequestParam(required = false) String cursor,
+                              @RequestParam(required = false) Integer size) {
+        return stadiumService.findPage(cursor, size);
+    }
+
+    @GetMapping(value = "/export", produces = NdjsonWriter.CONTENT_TYPE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.CONTENT_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        stadiumService.exportAll(response.getOutputStream());
+    }
+
     @PostMapping
     public Messenger save(@RequestBody StadiumModel stadiumDTO) {
         return stadiumService.save(stadiumDTO);
@@ -42,11 +58,21 @@ public class StadiumController {
         return stadiumService.saveAll(stadiumDTOList);
     }
 
+    @PostMapping("/bulk")
+    public Messenger bulkSave(@RequestBody List<StadiumModel> stadiumDTOList) {
+        return stadiumService.bulkSave(stadiumDTOList);
+    }
+
     @PutMapping
     public Messenger update(@RequestBody StadiumModel stadiumDTO) {
         return stadiumService.update(stadiumDTO);
     }
 
+    @PatchMapping
+    public Messenger patch(@RequestBody StadiumModel stadiumDTO) {
+        return stadiumService.patch(stadiumDTO);
+    }
+
     @DeleteMapping
     public Messenger delete(@RequestBody StadiumModel stadiumDTO) {
         return stadiumService.delete(stadiumDTO);
@@ -16,5 +16,6 @@ public class StadiumModel {
     public String address;
     public String ddd;
     public String tel;
+    public Long version;
 }
 
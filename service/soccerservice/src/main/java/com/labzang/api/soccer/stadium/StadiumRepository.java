@@ -1,25 +1,80 @@
 package com.labzang.api.soccer.stadium;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import com.labzang.api.soccer.stadium.domain.Stadium;
+import com.labzang.api.soccer.config.CacheConfig;
 
 @Repository
-public interface StadiumRepository extends JpaRepository<Stadium, Long> {
+public interface StadiumRepository extends JpaRepository<Stadium, Long>, StadiumRepositoryCustom {
+
+    /**
+     * Constructor expression behind the read-only model queries: rows are selected straight
+     * into {@link StadiumModel}, so no managed entity or dirty-checking snapshot is created.
+     */
+    String MODEL_SELECT = "SELECT new com.labzang.api.soccer.stadium.StadiumModel(s.id, s.stadium_uk, s.stadium_name, s.hometeam_uk, s.seat_count, s.address, s.ddd, s.tel, s.version) FROM Stadium s ";
+
     @Query("SELECT s FROM Stadium s WHERE s.stadium_uk = :stadiumUk")
     Optional<Stadium> findByStadium_uk(@Param("stadiumUk") String stadiumUk);
+
+    /**
+     * Id of the stadium with this stadium_uk. Cached rather than the entity itself, so every
+     * caller attaches its own reference ({@link #getReferenceById}) instead of sharing a detached one.
+     */
+    @Cacheable(cacheNames = CacheConfig.STADIUMS_BY_UK)
+    @Query("SELECT s.id FROM Stadium s WHERE s.stadium_uk = :stadiumUk")
+    Optional<Long> findIdByStadium_uk(@Param("stadiumUk") String stadiumUk);
+
+    /**
+     * Which of the given stadium_uk values exist, resolved in a single IN query.
+     */
+    @Query("SELECT s.stadium_uk FROM Stadium s WHERE s.stadium_uk IN :stadiumUks")
+    List<String> findExistingStadium_uks(@Param("stadiumUks") Collection<String> stadiumUks);
+
+    @Query(MODEL_SELECT + "ORDER BY s.id")
+    List<StadiumModel> findAllModels();
+
+    @Query(MODEL_SELECT + "WHERE s.id = :id")
+    Optional<StadiumModel> findModelById(@Param("id") Long id);
+
+    /**
+     * Keyset page: rows with id greater than {@code afterId} in id order, at most {@code limit}.
+     */
+    @Query(MODEL_SELECT + "WHERE s.id > :afterId ORDER BY s.id")
+    List<StadiumModel> findModelPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Whole table as a forward-only stream of models, read in fetch-size chunks without
+     * hydrating entities. Must be consumed inside a transaction and closed.
+     */
+    @Query(MODEL_SELECT + "ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<StadiumModel> streamAll();
     
     /**
-     * 검?어?경기??검??(경기?명, 주소?서 검??
+     * 검색어로 경기장 검색 (경기장명, 주소에서 검색)
      */
     @Query("SELECT s FROM Stadium s WHERE " +
            "LOWER(COALESCE(s.stadium_name, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(COALESCE(s.address, '')) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Stadium> findByKeyword(@Param("keyword") String keyword);
-}
-
 
+    /**
+     * Same match as {@link #findByKeyword}, selected into models and capped at {@code limit}.
+     */
+    @Query(MODEL_SELECT + "WHERE " +
+           "LOWER(COALESCE(s.stadium_name, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(COALESCE(s.address, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "ORDER BY s.id")
+    List<StadiumModel> findModelsByKeyword(@Param("keyword") String keyword, Limit limit);
+}
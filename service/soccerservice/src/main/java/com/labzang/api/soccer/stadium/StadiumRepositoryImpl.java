@@ -0,0 +1,25 @@
+package com.labzang.api.soccer.stadium;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import lombok.RequiredArgsConstructor;
+import com.labzang.api.soccer.common.PatchUpdate;
+
+import static com.labzang.api.soccer.stadium.QStadium.stadium;
+
+@RequiredArgsConstructor
+public class StadiumRepositoryImpl implements StadiumRepositoryCustom {
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public PatchUpdate patch(StadiumModel patch) {
+        return PatchUpdate.of(queryFactory.update(stadium), stadium.id, patch.id, stadium.version, patch.version)
+                .set(stadium.stadium_uk, patch.stadium_uk)
+                .set(stadium.stadium_name, patch.stadium_name)
+                .set(stadium.hometeam_uk, patch.hometeam_uk)
+                .set(stadium.seat_count, patch.seat_count)
+                .set(stadium.address, patch.address)
+                .set(stadium.ddd, patch.ddd)
+                .set(stadium.tel, patch.tel);
+    }
+}
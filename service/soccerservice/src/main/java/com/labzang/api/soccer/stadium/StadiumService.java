@@ -1,15 +1,20 @@
 package com.labzang.api.soccer.stadium;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-import com.labzang.api.soccer.stadium.domain.StadiumDTO;
-import com.labzang.api.common.domain.Messenger;
+import com.labzang.api.soccer.common.Messenger;
 
 public interface StadiumService {
     public Messenger findById(StadiumModel stadiumDTO);
     public Messenger findAll();
+    public Messenger findPage(String cursor, Integer size);
+    public long exportAll(OutputStream out) throws IOException;
     public Messenger save(StadiumModel stadiumDTO);
     public Messenger saveAll(List<StadiumModel> stadiumDTOList);
+    public Messenger bulkSave(List<StadiumModel> stadiumDTOList);
     public Messenger update(StadiumModel stadiumDTO);
+    public Messenger patch(StadiumModel stadiumDTO);
     public Messenger delete(StadiumModel stadiumDTO);
 }
 
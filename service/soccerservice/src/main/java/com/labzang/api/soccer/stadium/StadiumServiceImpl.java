@@ -1,23 +1,43 @@
 package com.labzang.api.soccer.stadium;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
-import com.labzang.api.common.domain.Messenger;
-import com.labzang.api.soccer.stadium.domain.StadiumDTO;
-import com.labzang.api.soccer.stadium.domain.Stadium;
-import com.labzang.api.soccer.stadium.repository.StadiumRepository;
+import com.labzang.api.soccer.common.BulkInsertResult;
+import com.labzang.api.soccer.common.CursorPage;
+import com.labzang.api.soccer.common.JdbcBulkInserter;
+import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.common.NdjsonWriter;
+import com.labzang.api.soccer.common.PatchUpdate;
+import com.labzang.api.soccer.config.CacheConfig;
+import com.labzang.api.soccer.search.SearchDocument;
+import com.labzang.api.soccer.search.SearchIndex;
+import com.labzang.api.soccer.search.SearchIndexContributor;
 
 @Service
 @RequiredArgsConstructor
-public class StadiumServiceImpl implements StadiumService {
+public class StadiumServiceImpl implements StadiumService, SearchIndexContributor {
+
+    private static final List<String> BULK_COLUMNS = List.of(
+            "stadium_uk", "stadium_name", "hometeam_uk", "seat_count", "address", "ddd", "tel");
 
     private final StadiumRepository stadiumRepository;
+    private final SearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+    private final JdbcBulkInserter bulkInserter;
 
     private StadiumModel entityToDTO(Stadium entity) {
         return StadiumModel.builder()
@@ -29,12 +49,14 @@ public class StadiumServiceImpl implements StadiumService {
                 .address(entity.getAddress())
                 .ddd(entity.getDdd())
                 .tel(entity.getTel())
+                .version(entity.getVersion())
                 .build();
     }
 
     private Stadium dtoToEntity(StadiumModel dto) {
         return Stadium.builder()
                 .id(dto.id)
+                .version(dto.version)
                 .stadium_uk(dto.stadium_uk)
                 .stadium_name(dto.stadium_name)
                 .hometeam_uk(dto.hometeam_uk)
@@ -45,72 +67,145 @@ public class StadiumServiceImpl implements StadiumService {
                 .build();
     }
 
+    private SearchDocument toSearchDocument(StadiumModel dto) {
+        return SearchDocument.of(SearchIndex.STADIUM, dto.id, dto, dto.stadium_name, dto.address);
+    }
+
+    @Override
+    public String searchDomain() {
+        return SearchIndex.STADIUM;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchDocument> searchDocuments() {
+        return stadiumRepository.findAllModels().stream()
+                .map(this::toSearchDocument)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchDocument> findSearchDocuments(String keyword, int limit) {
+        return stadiumRepository.findModelsByKeyword(keyword.trim(), Limit.of(limit)).stream()
+                .map(this::toSearchDocument)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Messenger findById(StadiumModel stadiumDTO) {
-        Optional<Stadium> entity = stadiumRepository.findById(stadiumDTO.id);
-        if (entity.isPresent()) {
-            StadiumModel dto = entityToDTO(entity.get());
+        Optional<StadiumModel> model = stadiumRepository.findModelById(stadiumDTO.id);
+        if (model.isPresent()) {
+            StadiumModel dto = model.get();
             return Messenger.builder()
-                    .Code(200)
-                    .message("조회 ?공")
+                    .status(200)
+                    .message("조회 성공")
                     .data(dto)
                     .build();
         } else {
             return Messenger.builder()
-                    .Code(404)
-                    .message("경기?을 찾을 ???습?다.")
+                    .status(404)
+                    .message("경기장을 찾을 수 없습니다.")
                     .build();
         }
     }
 
     @Override
     public Messenger findAll() {
-        List<Stadium> entities = stadiumRepository.findAll();
-        List<StadiumModel> dtoList = entities.stream()
-                .map(this::entityToDTO)
-                .collect(Collectors.toList());
+        List<StadiumModel> dtoList = stadiumRepository.findAllModels();
         return Messenger.builder()
-                .Code(200)
-                .message("?체 조회 ?공: " + dtoList.size() + "?)
+                .status(200)
+                .message("전체 조회 성공: " + dtoList.size() + "개")
                 .data(dtoList)
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Messenger findPage(String cursor, Integer size) {
+        return CursorPage.fetch(cursor, size, stadiumRepository::findModelPageAfter, dto -> dto.id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        try (Stream<StadiumModel> rows = stadiumRepository.streamAll()) {
+            return NdjsonWriter.write(rows, objectMapper, out);
+        }
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STADIUMS_BY_UK, allEntries = true)
     public Messenger save(StadiumModel stadiumDTO) {
+        if (stadiumDTO.id != null && stadiumDTO.version == null) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id를 지정해 저장하려면 version도 필요합니다.")
+                    .build();
+        }
         Stadium entity = dtoToEntity(stadiumDTO);
         Stadium saved = stadiumRepository.save(entity);
         StadiumModel dto = entityToDTO(saved);
+        searchIndex.put(toSearchDocument(dto));
         return Messenger.builder()
-                .Code(200)
-                .message("????공: " + saved.getId())
+                .status(200)
+                .message("저장 성공: " + saved.getId())
                 .data(dto)
                 .build();
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STADIUMS_BY_UK, allEntries = true)
     public Messenger saveAll(List<StadiumModel> stadiumDTOList) {
+        if (stadiumDTOList.stream().anyMatch(dto -> dto.id != null && dto.version == null)) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id를 지정해 저장하려면 version도 필요합니다.")
+                    .build();
+        }
         List<Stadium> entities = stadiumDTOList.stream()
                 .map(this::dtoToEntity)
                 .collect(Collectors.toList());
         
         List<Stadium> saved = stadiumRepository.saveAll(entities);
+        saved.forEach(stadium -> searchIndex.put(toSearchDocument(entityToDTO(stadium))));
+        return Messenger.builder()
+                .status(200)
+                .message("일괄 저장 성공: " + saved.size() + "개")
+                .build();
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STADIUMS_BY_UK, allEntries = true)
+    public Messenger bulkSave(List<StadiumModel> stadiumDTOList) {
+        // stadiums reference nothing that needs resolving; hometeam_uk is a plain column
+        BulkInsertResult result = bulkInserter.insert("stadiums", BULK_COLUMNS, stadiumDTOList, dto -> new Object[] {
+                dto.stadium_uk, dto.stadium_name, dto.hometeam_uk, dto.seat_count, dto.address, dto.ddd, dto.tel
+        }, (dto, id) -> {
+            dto.id = id;
+            dto.version = 0L;  // the column default
+            searchIndex.put(toSearchDocument(dto));
+        });
         return Messenger.builder()
-                .Code(200)
-                .message("?괄 ????공: " + saved.size() + "?)
+                .status(200)
+                .message("대량 저장 성공: " + result.getRows() + "건")
+                .data(result)
                 .build();
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STADIUMS_BY_UK, allEntries = true)
     public Messenger update(StadiumModel stadiumDTO) {
         Optional<Stadium> optionalEntity = stadiumRepository.findById(stadiumDTO.id);
         if (optionalEntity.isPresent()) {
             Stadium existing = optionalEntity.get();
             Stadium updated = Stadium.builder()
                     .id(existing.getId())
+                    .version(existing.getVersion())
                     .stadium_uk(stadiumDTO.stadium_uk != null ? stadiumDTO.stadium_uk : existing.getStadium_uk())
                     .stadium_name(stadiumDTO.stadium_name != null ? stadiumDTO.stadium_name : existing.getStadium_name())
                     .hometeam_uk(stadiumDTO.hometeam_uk != null ? stadiumDTO.hometeam_uk : existing.getHometeam_uk())
@@ -122,35 +217,79 @@ public class StadiumServiceImpl implements StadiumService {
                     .teams(existing.getTeams())
                     .build();
             
-            Stadium saved = stadiumRepository.save(updated);
+            Stadium saved = stadiumRepository.saveAndFlush(updated);
             StadiumModel dto = entityToDTO(saved);
+            searchIndex.put(toSearchDocument(dto));
             return Messenger.builder()
-                    .Code(200)
-                    .message("?정 ?공: " + stadiumDTO.id)
+                    .status(200)
+                    .message("수정 성공: " + stadiumDTO.id)
                     .data(dto)
                     .build();
         } else {
             return Messenger.builder()
-                    .Code(404)
-                    .message("?정??경기?을 찾을 ???습?다.")
+                    .status(404)
+                    .message("수정할 경기장을 찾을 수 없습니다.")
+                    .build();
+        }
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STADIUMS_BY_UK, allEntries = true)
+    public Messenger patch(StadiumModel stadiumDTO) {
+        if (stadiumDTO.id == null || stadiumDTO.version == null) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id와 version은 필수입니다.")
+                    .build();
+        }
+        PatchUpdate update = stadiumRepository.patch(stadiumDTO);
+        if (update.isEmpty()) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("변경할 필드가 없습니다.")
                     .build();
         }
+        long updated = update.execute();
+        if (updated == 0) {
+            // only the failure path pays for telling a missing row from a stale version
+            return stadiumRepository.existsById(stadiumDTO.id)
+                    ? Messenger.builder()
+                            .status(409)
+                            .message("다른 요청이 먼저 수정했습니다. 최신 버전을 다시 조회해주세요.")
+                            .build()
+                    : Messenger.builder()
+                            .status(404)
+                            .message("수정할 경기장을 찾을 수 없습니다.")
+                            .build();
+        }
+        if (stadiumDTO.stadium_name != null
+                || stadiumDTO.address != null) {
+            stadiumRepository.findModelById(stadiumDTO.id).ifPresent(dto -> searchIndex.put(toSearchDocument(dto)));
+        }
+        return Messenger.builder()
+                .status(200)
+                .message("부분 수정 성공: " + stadiumDTO.id)
+                .data(Map.of("id", stadiumDTO.id, "version", stadiumDTO.version + 1))
+                .build();
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STADIUMS_BY_UK, allEntries = true)
     public Messenger delete(StadiumModel stadiumDTO) {
         Optional<Stadium> optionalEntity = stadiumRepository.findById(stadiumDTO.id);
         if (optionalEntity.isPresent()) {
             stadiumRepository.deleteById(stadiumDTO.id);
+            searchIndex.remove(SearchIndex.STADIUM, stadiumDTO.id);
             return Messenger.builder()
-                    .Code(200)
-                    .message("?? ?공: " + stadiumDTO.id)
+                    .status(200)
+                    .message("삭제 성공: " + stadiumDTO.id)
                     .build();
         } else {
             return Messenger.builder()
-                    .Code(404)
-                    .message("????경기?을 찾을 ???습?다.")
+                    .status(404)
+                    .message("삭제할 경기장을 찾을 수 없습니다.")
                     .build();
         }
     }
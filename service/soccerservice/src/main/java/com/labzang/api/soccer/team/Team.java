@@ -2,24 +2,33 @@ package com.labzang.api.soccer.team;
 
 import java.util.List;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import com.labzang.api.soccer.player.domain.Player;
-import com.labzang.api.soccer.stadium.domain.Stadium;
+import com.labzang.api.soccer.player.Player;
+import com.labzang.api.soccer.stadium.Stadium;
 
 @Entity
 @Table(name = "teams")
+@NamedEntityGraph(name = Team.WITH_STADIUM, attributeNodes = @NamedAttributeNode("stadium"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Team {
+    public static final String WITH_STADIUM = "Team.withStadium";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(unique = true)
     private String team_uk;
     
@@ -49,10 +58,10 @@ public class Team {
     
     private String stadium_uk;
     
-    @ManyToOne
-    @JoinColumn(name = "stadium_uk", referencedColumnName = "stadium_uk ", insertable = false, updatable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "stadium_uk", referencedColumnName = "stadium_uk", insertable = false, updatable = false)
     private Stadium stadium;
     
-    @OneToMany(mappedBy = "team")
+    @OneToMany(mappedBy = "team", fetch = FetchType.LAZY)
     private List<Player> players;
 }
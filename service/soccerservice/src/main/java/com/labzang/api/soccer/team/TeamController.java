@@ -1,19 +1,22 @@
 package com.labzang.api.soccer.team;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import com.labzang.api.common.domain.Messenger;
-import com.labzang.api.soccer.team.domain.TeamDTO;
-import com.labzang.api.soccer.team.service.TeamService;
+import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.common.NdjsonWriter;
 
 @RestController
 @RequiredArgsConstructor
@@ -32,6 +35,19 @@ public class TeamController {
         return teamService.findAll();
     }
 
+    @GetMapping("/page")
+    public Messenger findPage(@RequestParam(required = false) String cursor,
+                              @RequestParam(required = false) Integer size) {
+        return teamService.findPage(cursor, size);
+    }
+
+    @GetMapping(value = "/export", produces = NdjsonWriter.CONTENT_TYPE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.CONTENT_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        teamService.exportAll(response.getOutputStream());
+    }
+
     @PostMapping
     public Messenger save(@RequestBody TeamModel teamDTO) {
         return teamService.save(teamDTO);
@@ -42,11 +58,21 @@ public class TeamController {
         return teamService.saveAll(teamDTOList);
     }
 
+    @PostMapping("/bulk")
+    public Messenger bulkSave(@RequestBody List<TeamModel> teamDTOList) {
+        return teamService.bulkSave(teamDTOList);
+    }
+
     @PutMapping
     public Messenger update(@RequestBody TeamModel teamDTO) {
         return teamService.update(teamDTO);
     }
 
+    @PatchMapping
+    public Messenger patch(@RequestBody TeamModel teamDTO) {
+        return teamService.patch(teamDTO);
+    }
+
     @DeleteMapping
     public Messenger delete(@RequestBody TeamModel teamDTO) {
         return teamService.delete(teamDTO);
@@ -23,5 +23,6 @@ public class TeamModel {
     public String homepage;
     public String owner;
     public String stadium_uk;
+    public Long version;
 }
 
@@ -1,26 +1,97 @@
 package com.labzang.api.soccer.team;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import com.labzang.api.soccer.team.domain.Team;
+import com.labzang.api.soccer.config.CacheConfig;
 
 @Repository
-public interface TeamRepository extends JpaRepository<Team, Long> {
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
+
+    /**
+     * Constructor expression behind the read-only model queries: rows are selected straight
+     * into {@link TeamModel}, so no managed entity or dirty-checking snapshot is created.
+     */
+    String MODEL_SELECT = "SELECT new com.labzang.api.soccer.team.TeamModel(t.id, t.team_uk, t.region_name, t.team_name, t.e_team_name, t.orig_yyyy, t.zip_code1, t.zip_code2, t.address, t.ddd, t.tel, t.fax, t.homepage, t.owner, t.stadium_uk, t.version) FROM Team t ";
+
+    // Player/Team/Schedule associations join on *_uk columns, which Hibernate cannot proxy,
+    // so they are fetched in the same statement rather than one select per row.
+    @Override
+    @EntityGraph(Team.WITH_STADIUM)
+    List<Team> findAll();
+
+    @Override
+    @EntityGraph(Team.WITH_STADIUM)
+    Optional<Team> findById(Long id);
+
+    @EntityGraph(Team.WITH_STADIUM)
     @Query("SELECT t FROM Team t WHERE t.team_uk = :teamUk")
     Optional<Team> findByTeam_uk(@Param("teamUk") String teamUk);
+
+    /**
+     * Id of the team with this team_uk. Cached rather than the entity itself, so every caller
+     * attaches its own reference ({@link #getReferenceById}) instead of sharing a detached one.
+     */
+    @Cacheable(cacheNames = CacheConfig.TEAMS_BY_UK)
+    @Query("SELECT t.id FROM Team t WHERE t.team_uk = :teamUk")
+    Optional<Long> findIdByTeam_uk(@Param("teamUk") String teamUk);
+
+    /**
+     * Which of the given team_uk values exist, resolved in a single IN query.
+     */
+    @Query("SELECT t.team_uk FROM Team t WHERE t.team_uk IN :teamUks")
+    List<String> findExistingTeam_uks(@Param("teamUks") Collection<String> teamUks);
+
+    @Query(MODEL_SELECT + "ORDER BY t.id")
+    List<TeamModel> findAllModels();
+
+    @Query(MODEL_SELECT + "WHERE t.id = :id")
+    Optional<TeamModel> findModelById(@Param("id") Long id);
+
+    /**
+     * Keyset page: rows with id greater than {@code afterId} in id order, at most {@code limit}.
+     */
+    @Query(MODEL_SELECT + "WHERE t.id > :afterId ORDER BY t.id")
+    List<TeamModel> findModelPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Whole table as a forward-only stream of models, read in fetch-size chunks without
+     * hydrating entities. Must be consumed inside a transaction and closed.
+     */
+    @Query(MODEL_SELECT + "ORDER BY t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<TeamModel> streamAll();
     
     /**
-     * 검?어?? 검??(?? ?문? 지???서 검??
+     * 검색어로 팀 검색 (팀명, 영문명, 지역명에서 검색)
      */
+    @EntityGraph(Team.WITH_STADIUM)
     @Query("SELECT t FROM Team t WHERE " +
            "LOWER(COALESCE(t.team_name, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(COALESCE(t.e_team_name, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(COALESCE(t.region_name, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(COALESCE(t.owner, '')) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Team> findByKeyword(@Param("keyword") String keyword);
-}
 
+    /**
+     * Same match as {@link #findByKeyword}, selected into models and capped at {@code limit}.
+     */
+    @Query(MODEL_SELECT + "WHERE " +
+           "LOWER(COALESCE(t.team_name, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(COALESCE(t.e_team_name, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(COALESCE(t.region_name, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(COALESCE(t.owner, '')) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "ORDER BY t.id")
+    List<TeamModel> findModelsByKeyword(@Param("keyword") String keyword, Limit limit);
+}
@@ -0,0 +1,32 @@
+package com.labzang.api.soccer.team;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import lombok.RequiredArgsConstructor;
+import com.labzang.api.soccer.common.PatchUpdate;
+
+import static com.labzang.api.soccer.team.QTeam.team;
+
+@RequiredArgsConstructor
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public PatchUpdate patch(TeamModel patch) {
+        return PatchUpdate.of(queryFactory.update(team), team.id, patch.id, team.version, patch.version)
+                .set(team.team_uk, patch.team_uk)
+                .set(team.region_name, patch.region_name)
+                .set(team.team_name, patch.team_name)
+                .set(team.e_team_name, patch.e_team_name)
+                .set(team.orig_yyyy, patch.orig_yyyy)
+                .set(team.zip_code1, patch.zip_code1)
+                .set(team.zip_code2, patch.zip_code2)
+                .set(team.address, patch.address)
+                .set(team.ddd, patch.ddd)
+                .set(team.tel, patch.tel)
+                .set(team.fax, patch.fax)
+                .set(team.homepage, patch.homepage)
+                .set(team.owner, patch.owner)
+                .set(team.stadium_uk, patch.stadium_uk);
+    }
+}
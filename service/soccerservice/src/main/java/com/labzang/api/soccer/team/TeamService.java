@@ -1,15 +1,20 @@
 package com.labzang.api.soccer.team;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-import com.labzang.api.soccer.team.domain.TeamDTO;
-import com.labzang.api.common.domain.Messenger;
+import com.labzang.api.soccer.common.Messenger;
 
 public interface TeamService {
     public Messenger findById(TeamModel teamDTO);
     public Messenger findAll();
+    public Messenger findPage(String cursor, Integer size);
+    public long exportAll(OutputStream out) throws IOException;
     public Messenger save(TeamModel teamDTO);
     public Messenger saveAll(List<TeamModel> teamDTOList);
+    public Messenger bulkSave(List<TeamModel> teamDTOList);
     public Messenger update(TeamModel teamDTO);
+    public Messenger patch(TeamModel teamDTO);
     public Messenger delete(TeamModel teamDTO);
 }
 
@@ -1,26 +1,49 @@
 package com.labzang.api.soccer.team;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
-import com.labzang.api.common.domain.Messenger;
-import com.labzang.api.soccer.team.domain.TeamDTO;
-import com.labzang.api.soccer.team.domain.Team;
-import com.labzang.api.soccer.team.repository.TeamRepository;
-import com.labzang.api.soccer.stadium.repository.StadiumRepository;
-import com.labzang.api.soccer.stadium.domain.Stadium;
+import com.labzang.api.soccer.common.BulkInsertResult;
+import com.labzang.api.soccer.common.CursorPage;
+import com.labzang.api.soccer.common.JdbcBulkInserter;
+import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.common.NdjsonWriter;
+import com.labzang.api.soccer.common.PatchUpdate;
+import com.labzang.api.soccer.config.CacheConfig;
+import com.labzang.api.soccer.search.SearchDocument;
+import com.labzang.api.soccer.search.SearchIndex;
+import com.labzang.api.soccer.search.SearchIndexContributor;
+import com.labzang.api.soccer.stadium.Stadium;
+import com.labzang.api.soccer.stadium.StadiumRepository;
 
 @Service
 @RequiredArgsConstructor
-public class TeamServiceImpl implements TeamService {
+public class TeamServiceImpl implements TeamService, SearchIndexContributor {
+
+    private static final List<String> BULK_COLUMNS = List.of(
+            "team_uk", "region_name", "team_name", "e_team_name", "orig_yyyy", "zip_code1", "zip_code2",
+            "address", "ddd", "tel", "fax", "homepage", "owner", "stadium_uk");
 
     private final TeamRepository teamRepository;
     private final StadiumRepository stadiumRepository;
+    private final SearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+    private final JdbcBulkInserter bulkInserter;
 
     private TeamModel entityToDTO(Team entity) {
         return TeamModel.builder()
@@ -39,16 +62,18 @@ public class TeamServiceImpl implements TeamService {
                 .homepage(entity.getHomepage())
                 .owner(entity.getOwner())
                 .stadium_uk(entity.getStadium_uk())
+                .version(entity.getVersion())
                 .build();
     }
 
     private Team dtoToEntity(TeamModel dto) {
         Stadium stadium = null;
         if (dto.stadium_uk != null) {
-            stadium = stadiumRepository.findByStadium_uk(dto.stadium_uk).orElse(null);
+            stadium = stadiumRepository.findIdByStadium_uk(dto.stadium_uk).map(stadiumRepository::getReferenceById).orElse(null);
         }
         return Team.builder()
                 .id(dto.id)
+                .version(dto.version)
                 .team_uk(dto.team_uk)
                 .region_name(dto.region_name)
                 .team_name(dto.team_name)
@@ -67,20 +92,46 @@ public class TeamServiceImpl implements TeamService {
                 .build();
     }
 
+    private SearchDocument toSearchDocument(TeamModel dto) {
+        return SearchDocument.of(SearchIndex.TEAM, dto.id, dto,
+                dto.team_name, dto.e_team_name, dto.region_name, dto.owner);
+    }
+
+    @Override
+    public String searchDomain() {
+        return SearchIndex.TEAM;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchDocument> searchDocuments() {
+        return teamRepository.findAllModels().stream()
+                .map(this::toSearchDocument)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchDocument> findSearchDocuments(String keyword, int limit) {
+        return teamRepository.findModelsByKeyword(keyword.trim(), Limit.of(limit)).stream()
+                .map(this::toSearchDocument)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Messenger findById(TeamModel teamDTO) {
-        Optional<Team> entity = teamRepository.findById(teamDTO.id);
-        if (entity.isPresent()) {
-            TeamModel dto = entityToDTO(entity.get());
+        Optional<TeamModel> model = teamRepository.findModelById(teamDTO.id);
+        if (model.isPresent()) {
+            TeamModel dto = model.get();
             return Messenger.builder()
-                    .Code(200)
-                    .message("조회 ?공")
+                    .status(200)
+                    .message("조회 성공")
                     .data(dto)
                     .build();
         } else {
             return Messenger.builder()
-                    .Code(404)
-                    .message("???찾을 ???습?다.")
+                    .status(404)
+                    .message("팀을 찾을 수 없습니다.")
                     .build();
         }
     }
@@ -88,56 +139,113 @@ public class TeamServiceImpl implements TeamService {
 
     @Override
     public Messenger findAll() {
-        List<Team> entities = teamRepository.findAll();
-        List<TeamModel> dtoList = entities.stream()
-                .map(this::entityToDTO)
-                .collect(Collectors.toList());
+        List<TeamModel> dtoList = teamRepository.findAllModels();
         return Messenger.builder()
-                .Code(200)
-                .message("?체 조회 ?공: " + dtoList.size() + "?)
+                .status(200)
+                .message("전체 조회 성공: " + dtoList.size() + "개")
                 .data(dtoList)
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Messenger findPage(String cursor, Integer size) {
+        return CursorPage.fetch(cursor, size, teamRepository::findModelPageAfter, dto -> dto.id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        try (Stream<TeamModel> rows = teamRepository.streamAll()) {
+            return NdjsonWriter.write(rows, objectMapper, out);
+        }
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TEAMS_BY_UK, allEntries = true)
     public Messenger save(TeamModel teamDTO) {
+        if (teamDTO.id != null && teamDTO.version == null) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id를 지정해 저장하려면 version도 필요합니다.")
+                    .build();
+        }
         Team entity = dtoToEntity(teamDTO);
         Team saved = teamRepository.save(entity);
         TeamModel dto = entityToDTO(saved);
+        searchIndex.put(toSearchDocument(dto));
         return Messenger.builder()
-                .Code(200)
-                .message("????공: " + saved.getId())
+                .status(200)
+                .message("저장 성공: " + saved.getId())
                 .data(dto)
                 .build();
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TEAMS_BY_UK, allEntries = true)
     public Messenger saveAll(List<TeamModel> teamDTOList) {
+        if (teamDTOList.stream().anyMatch(dto -> dto.id != null && dto.version == null)) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id를 지정해 저장하려면 version도 필요합니다.")
+                    .build();
+        }
         List<Team> entities = teamDTOList.stream()
                 .map(this::dtoToEntity)
                 .collect(Collectors.toList());
         
         List<Team> saved = teamRepository.saveAll(entities);
+        saved.forEach(team -> searchIndex.put(toSearchDocument(entityToDTO(team))));
         return Messenger.builder()
-                .Code(200)
-                .message("?괄 ????공: " + saved.size() + "?)
+                .status(200)
+                .message("일괄 저장 성공: " + saved.size() + "개")
                 .build();
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TEAMS_BY_UK, allEntries = true)
+    public Messenger bulkSave(List<TeamModel> teamDTOList) {
+        Set<String> missing = new HashSet<>();
+        Set<String> stadiumUks = JdbcBulkInserter.distinct(teamDTOList, dto -> dto.stadium_uk);
+        if (!stadiumUks.isEmpty()) {
+            missing.addAll(stadiumUks);
+            stadiumRepository.findExistingStadium_uks(stadiumUks).forEach(missing::remove);
+        }
+
+        BulkInsertResult result = bulkInserter.insert("teams", BULK_COLUMNS, teamDTOList, dto -> new Object[] {
+                dto.team_uk, dto.region_name, dto.team_name, dto.e_team_name, dto.orig_yyyy, dto.zip_code1,
+                dto.zip_code2, dto.address, dto.ddd, dto.tel, dto.fax, dto.homepage, dto.owner, dto.stadium_uk
+        }, JdbcBulkInserter.referencesAny(missing, dto -> dto.stadium_uk), (dto, id) -> {
+            dto.id = id;
+            dto.version = 0L;  // the column default
+            searchIndex.put(toSearchDocument(dto));
+        });
+        result.setUnresolvedReferences(missing.size());
+        return Messenger.builder()
+                .status(200)
+                .message("대량 저장 성공: " + result.getRows() + "건"
+                        + (result.getRejectedRows().isEmpty() ? "" : ", 참조 오류로 제외: " + result.getRejectedRows().size() + "건"))
+                .data(result)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TEAMS_BY_UK, allEntries = true)
     public Messenger update(TeamModel teamDTO) {
         Optional<Team> optionalEntity = teamRepository.findById(teamDTO.id);
         if (optionalEntity.isPresent()) {
             Team existing = optionalEntity.get();
             Stadium stadium = teamDTO.stadium_uk != null 
-                    ? stadiumRepository.findByStadium_uk(teamDTO.stadium_uk).orElse(existing.getStadium()) 
+                    ? stadiumRepository.findIdByStadium_uk(teamDTO.stadium_uk).map(stadiumRepository::getReferenceById).orElse(existing.getStadium()) 
                     : existing.getStadium();
             
             Team updated = Team.builder()
                     .id(existing.getId())
+                    .version(existing.getVersion())
                     .team_uk(teamDTO.team_uk != null ? teamDTO.team_uk : existing.getTeam_uk())
                     .region_name(teamDTO.region_name != null ? teamDTO.region_name : existing.getRegion_name())
                     .team_name(teamDTO.team_name != null ? teamDTO.team_name : existing.getTeam_name())
@@ -156,35 +264,81 @@ public class TeamServiceImpl implements TeamService {
                     .players(existing.getPlayers())
                     .build();
             
-            Team saved = teamRepository.save(updated);
+            Team saved = teamRepository.saveAndFlush(updated);
             TeamModel dto = entityToDTO(saved);
+            searchIndex.put(toSearchDocument(dto));
             return Messenger.builder()
-                    .Code(200)
-                    .message("?정 ?공: " + teamDTO.id)
+                    .status(200)
+                    .message("수정 성공: " + teamDTO.id)
                     .data(dto)
                     .build();
         } else {
             return Messenger.builder()
-                    .Code(404)
-                    .message("?정?????찾을 ???습?다.")
+                    .status(404)
+                    .message("수정할 팀을 찾을 수 없습니다.")
                     .build();
         }
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TEAMS_BY_UK, allEntries = true)
+    public Messenger patch(TeamModel teamDTO) {
+        if (teamDTO.id == null || teamDTO.version == null) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("id와 version은 필수입니다.")
+                    .build();
+        }
+        PatchUpdate update = teamRepository.patch(teamDTO);
+        if (update.isEmpty()) {
+            return Messenger.builder()
+                    .status(400)
+                    .message("변경할 필드가 없습니다.")
+                    .build();
+        }
+        long updated = update.execute();
+        if (updated == 0) {
+            // only the failure path pays for telling a missing row from a stale version
+            return teamRepository.existsById(teamDTO.id)
+                    ? Messenger.builder()
+                            .status(409)
+                            .message("다른 요청이 먼저 수정했습니다. 최신 버전을 다시 조회해주세요.")
+                            .build()
+                    : Messenger.builder()
+                            .status(404)
+                            .message("수정할 팀을 찾을 수 없습니다.")
+                            .build();
+        }
+        if (teamDTO.team_name != null
+                || teamDTO.e_team_name != null
+                || teamDTO.region_name != null
+                || teamDTO.owner != null) {
+            teamRepository.findModelById(teamDTO.id).ifPresent(dto -> searchIndex.put(toSearchDocument(dto)));
+        }
+        return Messenger.builder()
+                .status(200)
+                .message("부분 수정 성공: " + teamDTO.id)
+                .data(Map.of("id", teamDTO.id, "version", teamDTO.version + 1))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TEAMS_BY_UK, allEntries = true)
     public Messenger delete(TeamModel teamDTO) {
         Optional<Team> optionalEntity = teamRepository.findById(teamDTO.id);
         if (optionalEntity.isPresent()) {
             teamRepository.deleteById(teamDTO.id);
+            searchIndex.remove(SearchIndex.TEAM, teamDTO.id);
             return Messenger.builder()
-                    .Code(200)
-                    .message("?? ?공: " + teamDTO.id)
+                    .status(200)
+                    .message("삭제 성공: " + teamDTO.id)
                     .build();
         } else {
             return Messenger.builder()
-                    .Code(404)
-                    .message("???????찾을 ???습?다.")
+                    .status(404)
+                    .message("삭제할 팀을 찾을 수 없습니다.")
                     .build();
         }
     }
@@ -0,0 +1,156 @@
+package com.labzang.api.soccer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.labzang.api.soccer.player.Player;
+import com.labzang.api.soccer.player.PlayerRepository;
+import com.labzang.api.soccer.schedule.Schedule;
+import com.labzang.api.soccer.schedule.ScheduleRepository;
+import com.labzang.api.soccer.stadium.Stadium;
+import com.labzang.api.soccer.stadium.StadiumRepository;
+import com.labzang.api.soccer.team.Team;
+import com.labzang.api.soccer.team.TeamRepository;
+
+/**
+ * Fails when a read endpoint regresses into N+1 loading: each request may issue at most
+ * its budgeted number of SQL statements, independent of how many rows it returns. Read
+ * endpoints project straight into models, so they must not hydrate any entity either.
+ * Updates of a team or stadium must not load its players, teams or schedules, however
+ * many rows reference it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountGuardTests {
+
+    private static final int STADIUMS = 3;
+    private static final int TEAMS = 6;
+    private static final int ROWS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @BeforeEach
+    void seed() {
+        if (stadiumRepository.count() > 0) {
+            return;
+        }
+        List<Stadium> stadiums = new ArrayList<>();
+        for (int i = 0; i < STADIUMS; i++) {
+            stadiums.add(Stadium.builder().stadium_uk("D0" + i).stadium_name("Stadium " + i).build());
+        }
+        stadiumRepository.saveAll(stadiums);
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAMS; i++) {
+            teams.add(Team.builder().team_uk("K0" + i).team_name("Team " + i).stadium_uk("D0" + (i % STADIUMS)).build());
+        }
+        teamRepository.saveAll(teams);
+
+        List<Schedule> schedules = new ArrayList<>();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            schedules.add(Schedule.builder()
+                    .sche_date("2024" + (1000 + i))
+                    .stadium_uk("D0" + (i % STADIUMS))
+                    .hometeam_uk("K0" + (i % TEAMS))
+                    .awayteam_uk("K0" + ((i + 1) % TEAMS))
+                    .build());
+            players.add(Player.builder().player_uk("P" + i).player_name("Player " + i).team_uk("K0" + (i % TEAMS)).build());
+        }
+        scheduleRepository.saveAll(schedules);
+        playerRepository.saveAll(players);
+    }
+
+    @ParameterizedTest(name = "GET {0} <= {1} statements")
+    @CsvSource({
+            "/team,             1",
+            "/team/page,        1",
+            "/stadiums,         1",
+            "/stadiums/page,    1",
+            "/schedules,        1",
+            "/schedules/page,   1",
+            "/players/page,     1"
+    })
+    void readEndpointStaysWithinStatementBudget(String path, long budget) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(path).param("size", String.valueOf(ROWS))).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements issued by GET %s", path)
+                .isLessThanOrEqualTo(budget);
+        assertThat(statistics.getEntityLoadCount())
+                .as("entities hydrated by GET %s", path)
+                .isZero();
+    }
+
+    @ParameterizedTest(name = "{0} {1} <= {2} statements")
+    @CsvSource({
+            "PUT,   /team,      2",
+            "PATCH, /team,      2",
+            "PUT,   /stadiums,  2",
+            "PATCH, /stadiums,  2"
+    })
+    void updateEndpointStaysWithinStatementBudget(String method, String path, long budget) throws Exception {
+        // the first stadium and team are referenced by several teams, schedules and players
+        String body = path.equals("/team")
+                ? update(teamRepository.findAll().get(0).getId(), teamRepository.findAll().get(0).getVersion(), "team_name")
+                : update(stadiumRepository.findAll().get(0).getId(), stadiumRepository.findAll().get(0).getVersion(), "stadium_name");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request(HttpMethod.valueOf(method), path).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(200));
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements issued by %s %s", method, path)
+                .isLessThanOrEqualTo(budget);
+        assertThat(statistics.getCollectionLoadCount())
+                .as("collections loaded by %s %s", method, path)
+                .isZero();
+    }
+
+    private static String update(Long id, Long version, String nameField) {
+        return "{\"id\":" + id + ",\"version\":" + version + ",\"" + nameField + "\":\"Renamed " + System.nanoTime() + "\"}";
+    }
+}
@@ -0,0 +1,93 @@
+package com.labzang.api.soccer.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.labzang.api.soccer.team.Team;
+import com.labzang.api.soccer.team.TeamRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CompactResponseTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @BeforeEach
+    void team() {
+        if (teamRepository.count() == 0) {
+            teamRepository.save(Team.builder().team_uk("K99").team_name("compact").build());
+        }
+    }
+
+    @Test
+    void plainJsonIsTheDefault() throws Exception {
+        MockHttpServletResponse response = fetch(MediaType.ALL_VALUE);
+
+        assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getHeader(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        JsonNode body = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertThat(body.has("message")).isTrue();
+        assertThat(body.get("data").get(0).has("fax")).isTrue();
+    }
+
+    @Test
+    void compactJsonDropsNullsAndSuccessMessage() throws Exception {
+        MockHttpServletResponse plain = fetch(MediaType.APPLICATION_JSON_VALUE);
+        MockHttpServletResponse compact = fetch(Messenger.COMPACT_JSON_VALUE);
+
+        assertThat(compact.getContentType()).startsWith(Messenger.COMPACT_JSON_VALUE);
+        JsonNode body = new ObjectMapper().readTree(compact.getContentAsByteArray());
+        assertThat(body.has("message")).isFalse();
+        assertThat(body.get("status").asInt()).isEqualTo(200);
+        assertThat(body.get("data").get(0).has("fax")).isFalse();
+        assertThat(body.get("data").get(0).get("team_name")).isNotNull();
+        assertThat(compact.getContentAsByteArray().length).isLessThan(plain.getContentAsByteArray().length);
+    }
+
+    @Test
+    void cborIsCompactToo() throws Exception {
+        MockHttpServletResponse response = fetch(MediaType.APPLICATION_CBOR_VALUE);
+
+        assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_CBOR_VALUE);
+        JsonNode body = new CBORMapper().readTree(response.getContentAsByteArray());
+        assertThat(body.has("message")).isFalse();
+        assertThat(body.get("data").get(0).has("fax")).isFalse();
+        assertThat(body.get("data").size()).isEqualTo((int) teamRepository.count());
+    }
+
+    @Test
+    void errorBodiesAreMarkedNoStore() throws Exception {
+        MockHttpServletResponse error = mockMvc.perform(get("/team/page").param("cursor", "garbage"))
+                .andReturn().getResponse();
+        MockHttpServletResponse ok = fetch(MediaType.APPLICATION_JSON_VALUE);
+
+        // the HTTP status stays 200; the gateway cache must still not keep it
+        assertThat(error.getStatus()).isEqualTo(200);
+        assertThat(new ObjectMapper().readTree(error.getContentAsByteArray()).get("status").asInt()).isEqualTo(400);
+        assertThat(error.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-store");
+        assertThat(ok.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+    }
+
+    private MockHttpServletResponse fetch(String accept) throws Exception {
+        return mockMvc.perform(get("/team").header(HttpHeaders.ACCEPT, accept)).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,126 @@
+package com.labzang.api.soccer.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.soccer.player.Player;
+import com.labzang.api.soccer.player.PlayerRepository;
+import com.labzang.api.soccer.schedule.Schedule;
+import com.labzang.api.soccer.schedule.ScheduleRepository;
+import com.labzang.api.soccer.stadium.Stadium;
+import com.labzang.api.soccer.stadium.StadiumRepository;
+import com.labzang.api.soccer.team.Team;
+import com.labzang.api.soccer.team.TeamRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NdjsonExportTests {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @BeforeEach
+    void seed() {
+        if (stadiumRepository.findByStadium_uk("X00").isPresent()) {
+            return;
+        }
+        List<Stadium> stadiums = new ArrayList<>();
+        List<Team> teams = new ArrayList<>();
+        List<Schedule> schedules = new ArrayList<>();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            stadiums.add(Stadium.builder().stadium_uk("X0" + i).stadium_name("Export Stadium " + i).build());
+            teams.add(Team.builder().team_uk("XK" + i).team_name("Export Team " + i).build());
+            schedules.add(Schedule.builder().sche_date("2098010" + i).gubun("Y").build());
+            players.add(Player.builder().player_uk("XP" + i).player_name("Export Player " + i).build());
+        }
+        stadiumRepository.saveAll(stadiums);
+        teamRepository.saveAll(teams);
+        scheduleRepository.saveAll(schedules);
+        playerRepository.saveAll(players);
+    }
+
+    @ParameterizedTest(name = "GET {0}/export")
+    @ValueSource(strings = {"/stadiums", "/team", "/schedules", "/players"})
+    void exportWritesOneObjectPerRowAndReleasesTheConnection(String path) throws Exception {
+        Map<String, LongSupplier> counts = Map.of(
+                "/stadiums", stadiumRepository::count,
+                "/team", teamRepository::count,
+                "/schedules", scheduleRepository::count,
+                "/players", playerRepository::count);
+        long rows = counts.get(path).getAsLong();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MockHttpServletResponse response = mockMvc.perform(get(path + "/export")).andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).startsWith(NdjsonWriter.CONTENT_TYPE);
+        String body = response.getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n");
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize((int) rows);
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            assertThat(row.isObject()).as(line).isTrue();
+            assertThat(row.get("id").isNumber()).as(line).isTrue();
+        }
+        assertThat(body).contains(path.equals("/schedules") ? "20980100" : "Export");
+
+        // the read-only transaction, its session and the streaming cursor's connection are all gone
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        assertThat(statistics.getSessionCloseCount()).isEqualTo(statistics.getSessionOpenCount());
+        assertThat(statistics.getTransactionCount()).isEqualTo(statistics.getSuccessfulTransactionCount());
+        assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package com.labzang.api.soccer.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class PageCursorTests {
+
+    @Test
+    void encodedCursorDecodesToTheSameId() {
+        assertThat(PageCursor.decode(PageCursor.encode(42L))).isEqualTo(42L);
+        assertThat(PageCursor.decode(PageCursor.encode(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        assertThat(PageCursor.encode(Long.MAX_VALUE)).hasSizeLessThanOrEqualTo(PageCursor.MAX_LENGTH);
+    }
+
+    @Test
+    void missingCursorStartsAtTheFirstPage() {
+        assertThat(PageCursor.decode(null)).isZero();
+        assertThat(PageCursor.decode(" ")).isZero();
+    }
+
+    @Test
+    void foreignCursorsAreRejected() {
+        assertThatThrownBy(() -> PageCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(raw("offset:10")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(raw("id:abc")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(raw("id:-5")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(raw("id:99999999999999999999")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void oversizedCursorIsRejectedBeforeDecoding() {
+        String huge = raw("id:1" + "0".repeat(10_000));
+
+        assertThatThrownBy(() -> PageCursor.decode(huge))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("longer than");
+    }
+
+    @Test
+    void sizeDefaultsAndIsCapped() {
+        assertThat(PageCursor.size(null)).isEqualTo(PageCursor.DEFAULT_SIZE);
+        assertThat(PageCursor.size(0)).isEqualTo(PageCursor.DEFAULT_SIZE);
+        assertThat(PageCursor.size(5)).isEqualTo(5);
+        assertThat(PageCursor.size(10_000)).isEqualTo(PageCursor.MAX_SIZE);
+    }
+
+    @Test
+    void fetchPagesUntilTheLastRow() {
+        List<Long> ids = LongStream.rangeClosed(1, 5).boxed().toList();
+
+        Messenger first = CursorPage.fetch(null, 3, (afterId, limit) -> after(ids, afterId, limit.max()), id -> id);
+        CursorPage<?> page = (CursorPage<?>) first.getData();
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(page.getContent()).isEqualTo(List.of(1L, 2L, 3L));
+        assertThat(page.isHasNext()).isTrue();
+
+        CursorPage<?> last = (CursorPage<?>) CursorPage.fetch(page.getNextCursor(), 3,
+                (afterId, limit) -> after(ids, afterId, limit.max()), id -> id).getData();
+        assertThat(last.getContent()).isEqualTo(List.of(4L, 5L));
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void badCursorIsA400WithoutQuerying() {
+        AtomicInteger queries = new AtomicInteger();
+
+        Messenger result = CursorPage.fetch("garbage", 3, (afterId, limit) -> {
+            queries.incrementAndGet();
+            return List.<Long>of();
+        }, id -> id);
+
+        assertThat(result.getStatus()).isEqualTo(400);
+        assertThat(queries).hasValue(0);
+    }
+
+    private static List<Long> after(List<Long> ids, long afterId, int limit) {
+        return ids.stream().filter(id -> id > afterId).limit(limit).toList();
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,147 @@
+package com.labzang.api.soccer.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.labzang.api.soccer.SoccerApplication;
+
+/**
+ * Throughput and p99 of the service on platform threads (Tomcat's 200) and on virtual
+ * threads, under {@link #CONCURRENCY} callers. Each request spends {@link #IO} in a
+ * blocking call that needs no connection (a downstream service, say) and {@link #DB_HOLD}
+ * holding a pooled connection, so the platform run is bound by Tomcat threads and the
+ * virtual run by the pool-sized limit. Runs on the in-memory test database.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmarkTests {
+
+    private static final Duration IO = Duration.ofMillis(30);
+    private static final Duration DB_HOLD = Duration.ofMillis(2);
+    private static final int POOL_SIZE = 20;
+    // request time over connection hold time, see soccer.virtual-threads.requests-per-connection
+    private static final int REQUESTS_PER_CONNECTION = 16;
+    private static final int CONCURRENCY = 800;
+    private static final int REQUESTS = 16_000;
+
+    @Test
+    void virtualThreadsOutpacePlatformThreadsOnBlockingWork() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        platform.print("platform threads");
+        virtual.print("virtual threads");
+
+        assertThat(platform.failed()).isZero();
+        assertThat(virtual.failed()).isZero();
+        assertThat(virtual.throughput()).isGreaterThan(platform.throughput());
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SoccerApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "soccer.virtual-threads.requests-per-connection=" + REQUESTS_PER_CONNECTION,
+                        "soccer.virtual-threads.acquire-timeout=10s",
+                        "logging.level.root=WARN")
+                .initializers(ctx -> ((GenericApplicationContext) ctx).registerBean("benchmarkRoute",
+                        RouterFunction.class, () -> route(ctx)))
+                .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/benchmark/io");
+            load(uri, CONCURRENCY * 2);
+            return load(uri, REQUESTS);
+        }
+    }
+
+    private static RouterFunction<ServerResponse> route(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        return RouterFunctions.route().GET("/benchmark/io", request -> {
+            Thread.sleep(IO);
+            Long teams = transactionTemplate.execute(status -> {
+                Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM teams", Long.class);
+                sleep(DB_HOLD);
+                return count;
+            });
+            return ServerResponse.ok().body(Messenger.success(teams));
+        }).build();
+    }
+
+    private static Result load(URI uri, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore inflight = new Semaphore(CONCURRENCY);
+        long started;
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(1)).build();
+            started = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inflight.acquire();
+                callers.submit(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        inflight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        Arrays.sort(latencies);
+        return new Result(requests, elapsed, latencies[(int) (requests * 0.99) - 1], failed.get());
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(int requests, long nanos, long p99Nanos, int failed) {
+
+        long throughput() {
+            return requests * 1_000_000_000L / nanos;
+        }
+
+        void print(String mode) {
+            System.out.printf("%-16s: %,d requests in %,d ms (%,d req/s), p99 %,d ms, %d failed%n",
+                    mode, requests, nanos / 1_000_000, throughput(), p99Nanos / 1_000_000, failed);
+        }
+    }
+}
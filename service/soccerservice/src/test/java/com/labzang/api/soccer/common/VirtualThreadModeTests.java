@@ -0,0 +1,112 @@
+package com.labzang.api.soccer.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+class VirtualThreadModeTests {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void tomcatRunsRequestsOnVirtualThreadsUnderAPoolSizedLimit() {
+        TomcatWebServer server = (TomcatWebServer) context.getWebServer();
+        assertThat(server.getTomcat().getConnector().getProtocolHandler().getExecutor().getClass().getSimpleName())
+                .isEqualTo("VirtualThreadExecutor");
+        // Hikari's default 10 connections x 4
+        assertThat(meterRegistry.get("soccer.db.limit.permits").gauge().value()).isEqualTo(40);
+    }
+
+    @Test
+    void pinnedCarrierIsCounted() throws Exception {
+        Object monitor = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                sleep(100);
+            }
+        }).join();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.get("soccer.virtual.threads.pinned").timer().count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(meterRegistry.get("soccer.virtual.threads.pinned").timer().count()).isPositive();
+    }
+
+    @Test
+    void requestsBeyondTheLimitGet503AfterWaiting() throws Exception {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        ConnectionPoolLimitFilter filter = new ConnectionPoolLimitFilter(1, Duration.ofMillis(50), new ObjectMapper(), meters);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/team"), new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    await(release);
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/team"), rejected, (req, res) -> { });
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, (req, res) -> { });
+
+        release.countDown();
+        holder.join();
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/team"), admitted, (req, res) -> { });
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(new ObjectMapper().readTree(rejected.getContentAsByteArray()).get("status").asInt()).isEqualTo(503);
+        assertThat(health.getStatus()).isEqualTo(200);
+        assertThat(admitted.getStatus()).isEqualTo(200);
+        assertThat(meters.get("soccer.db.limit.rejected").counter().count()).isEqualTo(1);
+        assertThat(filter.inflight()).isZero();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.labzang.api.soccer.player;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Compares reading the players table as managed entities (then copying into models) with
+ * the constructor projection used by the read endpoints. Runs on the in-memory test
+ * database and reports time and heap allocated per row.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class PlayerReadProjectionBenchmarkTests {
+
+    private static final int ROWS = 5_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        if (playerRepository.count() >= ROWS) {
+            return;
+        }
+        List<PlayerModel> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(PlayerModel.builder()
+                    .player_uk(String.format("B%06d", i))
+                    .player_name("Player " + i)
+                    .e_player_name("PLAYER " + i)
+                    .position(i % 2 == 0 ? "MF" : "DF")
+                    .back_no(String.valueOf(i % 99))
+                    .nation("KR")
+                    .birth_date("1990-01-01")
+                    .height("180")
+                    .weight("75")
+                    .build());
+        }
+        playerService.bulkSave(rows);
+    }
+
+    @Test
+    void projectionAllocatesLessThanEntityHydration() {
+        Result entities = measure(() -> playerRepository.findAll().stream()
+                .map(PlayerReadProjectionBenchmarkTests::copy)
+                .collect(Collectors.toList()));
+        Result projection = measure(playerRepository::findAllModels);
+
+        System.out.printf("entity + copy: %,d rows, %,d us/op, %,d bytes/row%n",
+                entities.rows, entities.nanos / 1_000, entities.bytes / entities.rows);
+        System.out.printf("projection   : %,d rows, %,d us/op, %,d bytes/row%n",
+                projection.rows, projection.nanos / 1_000, projection.bytes / projection.rows);
+
+        assertThat(projection.rows).isEqualTo(entities.rows);
+        assertThat(projection.bytes).isLessThan(entities.bytes);
+    }
+
+    private Result measure(Supplier<List<PlayerModel>> read) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP; i++) {
+            readOnly.execute(status -> read.get());
+        }
+        long rows = 0;
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            rows = readOnly.execute(status -> read.get()).size();
+        }
+        long nanos = (System.nanoTime() - started) / ITERATIONS;
+        bytes = (threads.getCurrentThreadAllocatedBytes() - bytes) / ITERATIONS;
+        return new Result(rows, nanos, bytes);
+    }
+
+    /** The entity-to-model copy the read paths used before they projected directly. */
+    private static PlayerModel copy(Player player) {
+        return PlayerModel.builder()
+                .id(player.getId())
+                .player_uk(player.getPlayer_uk())
+                .player_name(player.getPlayer_name())
+                .e_player_name(player.getE_player_name())
+                .nickname(player.getNickname())
+                .join_yyyy(player.getJoin_yyyy())
+                .position(player.getPosition())
+                .back_no(player.getBack_no())
+                .nation(player.getNation())
+                .birth_date(player.getBirth_date())
+                .solar(player.getSolar())
+                .height(player.getHeight())
+                .weight(player.getWeight())
+                .team_uk(player.getTeam_uk())
+                .build();
+    }
+
+    private record Result(long rows, long nanos, long bytes) {
+    }
+}
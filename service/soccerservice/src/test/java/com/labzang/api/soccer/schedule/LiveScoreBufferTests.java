@@ -0,0 +1,122 @@
+package com.labzang.api.soccer.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.labzang.api.soccer.common.Messenger;
+
+/**
+ * The scheduled flush is pushed out of the way so each test decides when the buffer
+ * reaches the database.
+ */
+@SpringBootTest(properties = "soccer.live-score.flush-interval-ms=3600000")
+@ActiveProfiles("test")
+class LiveScoreBufferTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private LiveScoreBuffer liveScoreBuffer;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void burstIsVisibleBeforeFlushAndCoalescedIntoOneRowWrite() {
+        liveScoreBuffer.flush();
+        Schedule match = scheduleRepository.save(Schedule.builder().sche_date("20240401").home_score(0).away_score(0).build());
+        Schedule other = scheduleRepository.save(Schedule.builder().sche_date("20240402").home_score(0).away_score(0).build());
+
+        scheduleService.recordScore(score(match.getId(), 1, null));
+        scheduleService.recordScore(score(match.getId(), null, 1));
+        scheduleService.recordScore(score(match.getId(), 2, null));
+        scheduleService.recordScore(score(other.getId(), 0, 3));
+
+        ScheduleModel seen = (ScheduleModel) scheduleService.findById(ScheduleModel.builder().id(match.getId()).build()).getData();
+        assertThat(seen.home_score).isEqualTo(2);
+        assertThat(seen.away_score).isEqualTo(1);
+        assertThat(scheduleRepository.findModelById(match.getId()).orElseThrow().home_score).isZero();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        liveScoreBuffer.flush();
+        // the flush goes through JDBC, not Hibernate
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        ScheduleModel stored = scheduleRepository.findModelById(match.getId()).orElseThrow();
+        assertThat(stored.home_score).isEqualTo(2);
+        assertThat(stored.away_score).isEqualTo(1);
+        assertThat(stored.version).isEqualTo(match.getVersion() + 1);
+        assertThat(scheduleRepository.findModelById(other.getId()).orElseThrow().away_score).isEqualTo(3);
+    }
+
+    @Test
+    void unknownScheduleIsDroppedOnFlush() {
+        scheduleService.recordScore(score(-1L, 1, 0));
+        liveScoreBuffer.flush();
+
+        assertThat(scheduleService.findById(ScheduleModel.builder().id(-1L).build()).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void rowThatAlwaysFailsDoesNotBlockOthersAndIsDroppedAfterMaxAttempts() {
+        liveScoreBuffer.flush();
+        Schedule poison = scheduleRepository.save(Schedule.builder().sche_date("20240403").home_score(0).away_score(0).build());
+        Schedule healthy = scheduleRepository.save(Schedule.builder().sche_date("20240404").home_score(0).away_score(0).build());
+        jdbcTemplate.execute("ALTER TABLE schedules ADD CONSTRAINT live_score_cap CHECK (home_score < 1000)");
+        try {
+            scheduleService.recordScore(score(poison.getId(), 1000, null));
+            scheduleService.recordScore(score(healthy.getId(), 4, null));
+
+            liveScoreBuffer.flush();
+            assertThat(scheduleRepository.findModelById(healthy.getId()).orElseThrow().home_score).isEqualTo(4);
+            assertThat(homeScoreSeen(poison)).isEqualTo(1000);
+
+            // later events still get through while the bad row is being retried
+            scheduleService.recordScore(score(healthy.getId(), 5, null));
+            liveScoreBuffer.flush();
+            assertThat(scheduleRepository.findModelById(healthy.getId()).orElseThrow().home_score).isEqualTo(5);
+            assertThat(homeScoreSeen(poison)).isEqualTo(1000);
+
+            // third failed attempt (soccer.live-score.max-attempts): dropped, no longer overlaid
+            liveScoreBuffer.flush();
+            assertThat(homeScoreSeen(poison)).isZero();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE schedules DROP CONSTRAINT live_score_cap");
+        }
+    }
+
+    @Test
+    void rejectsEventsWithoutScores() {
+        Messenger missing = scheduleService.recordScore(ScheduleModel.builder().id(1L).build());
+        Messenger negative = scheduleService.recordScore(score(1L, -1, null));
+
+        assertThat(missing.getStatus()).isEqualTo(400);
+        assertThat(negative.getStatus()).isEqualTo(400);
+    }
+
+    private Integer homeScoreSeen(Schedule schedule) {
+        return ((ScheduleModel) scheduleService.findById(ScheduleModel.builder().id(schedule.getId()).build())
+                .getData()).home_score;
+    }
+
+    private static ScheduleModel score(Long id, Integer home, Integer away) {
+        return ScheduleModel.builder().id(id).home_score(home).away_score(away).build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.labzang.api.soccer.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.labzang.api.soccer.common.BulkInsertResult;
+import com.labzang.api.soccer.stadium.StadiumModel;
+import com.labzang.api.soccer.stadium.StadiumService;
+import com.labzang.api.soccer.team.TeamModel;
+import com.labzang.api.soccer.team.TeamService;
+
+/**
+ * Compares the per-row saveAll path with the JDBC batch bulkSave path. Needs a live
+ * database; each run is rolled back.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class ScheduleBulkSaveBenchmarkTests {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private StadiumService stadiumService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Test
+    void bulkSaveOutpacesSaveAll() {
+        // bulkSave rejects rows whose stadium/team keys do not resolve
+        references("S");
+        references("B");
+
+        long started = System.nanoTime();
+        scheduleService.saveAll(fixtures("S"));
+        long saveAllNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        BulkInsertResult bulk = (BulkInsertResult) scheduleService.bulkSave(fixtures("B")).getData();
+        long bulkNanos = System.nanoTime() - started;
+
+        System.out.printf("saveAll : %,d rows in %,d ms (%,d rows/s)%n",
+                ROWS, saveAllNanos / 1_000_000, ROWS * 1_000_000_000L / saveAllNanos);
+        System.out.printf("bulkSave: %,d rows in %,d ms (%,d rows/s, %d batches)%n",
+                ROWS, bulkNanos / 1_000_000, ROWS * 1_000_000_000L / bulkNanos, bulk.getBatches());
+
+        assertThat(bulk.getRows()).isEqualTo(ROWS);
+        assertThat(bulkNanos).isLessThan(saveAllNanos);
+    }
+
+    private void references(String prefix) {
+        List<StadiumModel> stadiums = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            stadiums.add(StadiumModel.builder().stadium_uk(prefix + "D" + i).stadium_name(prefix + " Stadium " + i).build());
+        }
+        stadiumService.bulkSave(stadiums);
+        List<TeamModel> teams = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            teams.add(TeamModel.builder().team_uk(prefix + "K" + i).team_name(prefix + " Team " + i).build());
+        }
+        teamService.bulkSave(teams);
+    }
+
+    private static List<ScheduleModel> fixtures(String prefix) {
+        List<ScheduleModel> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(ScheduleModel.builder()
+                    .sche_date(String.format("2099%04d", i % 10_000))
+                    .stadium_uk(prefix + "D" + (i % 20))
+                    .gubun("Y")
+                    .hometeam_uk(prefix + "K" + (i % 16))
+                    .awayteam_uk(prefix + "K" + ((i + 1) % 16))
+                    .home_score(i % 5)
+                    .away_score(i % 3)
+                    .build());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,76 @@
+package com.labzang.api.soccer.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.labzang.api.soccer.common.BulkInsertResult;
+import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.search.SearchDocument;
+import com.labzang.api.soccer.search.SearchIndex;
+import com.labzang.api.soccer.stadium.Stadium;
+import com.labzang.api.soccer.stadium.StadiumRepository;
+import com.labzang.api.soccer.team.Team;
+import com.labzang.api.soccer.team.TeamRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleBulkSaveTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Test
+    void rowsWithUnknownReferencesAreRejectedAndTheRestIndexed() {
+        stadiumRepository.save(Stadium.builder().stadium_uk("BD1").stadium_name("Bulk Stadium").build());
+        teamRepository.save(Team.builder().team_uk("BK1").team_name("Bulk Home").build());
+        teamRepository.save(Team.builder().team_uk("BK2").team_name("Bulk Away").build());
+        long before = scheduleRepository.count();
+
+        Messenger result = scheduleService.bulkSave(List.of(
+                fixture("20990101", "BK1", "BK2"),
+                fixture("20990102", "BK1", "NOPE"),
+                fixture("20990103", "BK2", "BK1")));
+
+        BulkInsertResult inserted = (BulkInsertResult) result.getData();
+        assertThat(result.getStatus()).isEqualTo(200);
+        assertThat(inserted.getRows()).isEqualTo(2);
+        assertThat(inserted.getRejectedRows()).containsExactly(1);
+        assertThat(inserted.getUnresolvedReferences()).isEqualTo(1);
+        assertThat(scheduleRepository.count()).isEqualTo(before + 2);
+
+        List<SearchDocument> indexed = searchIndex.search("2099010", Set.of(SearchIndex.SCHEDULE), 10);
+        assertThat(indexed).extracting(doc -> ((ScheduleModel) doc.getPayload()).sche_date)
+                .containsExactlyInAnyOrder("20990101", "20990103");
+        assertThat(indexed).allSatisfy(doc ->
+                assertThat(scheduleRepository.findById(doc.getId())).isPresent());
+    }
+
+    private static ScheduleModel fixture(String date, String home, String away) {
+        return ScheduleModel.builder()
+                .sche_date(date)
+                .stadium_uk("BD1")
+                .gubun("Y")
+                .hometeam_uk(home)
+                .awayteam_uk(away)
+                .build();
+    }
+}
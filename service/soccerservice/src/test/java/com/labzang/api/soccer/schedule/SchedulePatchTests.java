@@ -0,0 +1,72 @@
+package com.labzang.api.soccer.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.labzang.api.soccer.common.Messenger;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchedulePatchTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void scorePatchIsOneUpdateAndBumpsVersion() {
+        Schedule saved = scheduleRepository.save(Schedule.builder()
+                .sche_date("20240301").gubun("Y").home_score(0).away_score(0).build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Messenger result = scheduleService.patch(ScheduleModel.builder()
+                .id(saved.getId()).version(saved.getVersion()).home_score(1).build());
+
+        assertThat(result.getStatus()).isEqualTo(200);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(((Map<?, ?>) result.getData()).get("version")).isEqualTo(saved.getVersion() + 1);
+
+        ScheduleModel reloaded = scheduleRepository.findModelById(saved.getId()).orElseThrow();
+        assertThat(reloaded.home_score).isEqualTo(1);
+        assertThat(reloaded.away_score).isZero();
+        assertThat(reloaded.gubun).isEqualTo("Y");
+        assertThat(reloaded.version).isEqualTo(saved.getVersion() + 1);
+    }
+
+    @Test
+    void stalePatchIsRejected() {
+        Schedule saved = scheduleRepository.save(Schedule.builder().sche_date("20240302").build());
+        scheduleService.patch(ScheduleModel.builder()
+                .id(saved.getId()).version(saved.getVersion()).away_score(2).build());
+
+        Messenger stale = scheduleService.patch(ScheduleModel.builder()
+                .id(saved.getId()).version(saved.getVersion()).away_score(3).build());
+
+        assertThat(stale.getStatus()).isEqualTo(409);
+        assertThat(scheduleRepository.findModelById(saved.getId()).orElseThrow().away_score).isEqualTo(2);
+    }
+
+    @Test
+    void missingRowAndEmptyPatch() {
+        assertThat(scheduleService.patch(ScheduleModel.builder().id(-1L).version(0L).gubun("N").build())
+                .getStatus()).isEqualTo(404);
+        assertThat(scheduleService.patch(ScheduleModel.builder().id(-1L).version(0L).build())
+                .getStatus()).isEqualTo(400);
+    }
+}
@@ -0,0 +1,198 @@
+package com.labzang.api.soccer.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.labzang.api.soccer.common.Messenger;
+import com.labzang.api.soccer.player.Player;
+import com.labzang.api.soccer.player.PlayerRepository;
+import com.labzang.api.soccer.stadium.Stadium;
+import com.labzang.api.soccer.stadium.StadiumRepository;
+import com.labzang.api.soccer.team.Team;
+import com.labzang.api.soccer.team.TeamRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = {
+        "soccer.search.federated.budget.default=5s",
+        "soccer.search.federated.budget.slow=200ms"})
+@ActiveProfiles("test")
+class FederatedSearchTests {
+
+    @Autowired
+    private SearchController searchController;
+
+    @Autowired
+    private FederatedSearch federatedSearch;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (teamRepository.findAll().stream().noneMatch(t -> "FDT".equals(t.getTeam_uk()))) {
+            teamRepository.save(Team.builder().team_uk("FDT").team_name("Federal FC").region_name("Busan").build());
+            stadiumRepository.save(Stadium.builder().stadium_uk("FDS").stadium_name("Old Federal Arena").build());
+            playerRepository.save(Player.builder().player_uk("FDP").player_name("Kim").e_player_name("Federal Kim").build());
+        }
+    }
+
+    @Test
+    void mergesDomainsAndRanksByMatchPosition() {
+        FederatedSearchResult result = federatedSearch.search("federal", 50);
+
+        assertThat(result.getHits()).extracting(SearchHit::getDomain)
+                .containsExactly(SearchIndex.TEAM, SearchIndex.PLAYER, SearchIndex.STADIUM);
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.getMissingDomains()).containsExactly(SlowContributor.DOMAIN);
+    }
+
+    @Test
+    void slowDomainIsDroppedWithinItsBudget() {
+        long started = System.nanoTime();
+        Messenger response = searchController.search(SearchDTO.builder().domain("federated").keyword("FEDERAL").build());
+        long tookMillis = (System.nanoTime() - started) / 1_000_000;
+
+        FederatedSearchResult result = (FederatedSearchResult) response.getData();
+        assertThat(tookMillis).isLessThan(SlowContributor.DELAY_MILLIS);
+        assertThat(result.getHits()).hasSize(3);
+        assertThat(result.isPartial()).isTrue();
+        assertThat(response.getMessage()).contains(SlowContributor.DOMAIN);
+    }
+
+    @Test
+    void allSearchBeforeTheIndexIsReadyReportsMissingDomains() {
+        SearchController cold = new SearchController(new SearchIndex(), List.of(), federatedSearch);
+
+        Messenger response = cold.search(SearchDTO.builder().domain("all").keyword("federal").build());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat((List<?>) response.getData()).hasSize(3);
+        assertThat(response.getMessage()).contains(SlowContributor.DOMAIN);
+    }
+
+    @Test
+    void limitAppliesAcrossDomains() {
+        FederatedSearchResult result = federatedSearch.search("federal", 2);
+
+        assertThat(result.getHits()).extracting(SearchHit::getDomain)
+                .containsExactly(SearchIndex.TEAM, SearchIndex.PLAYER);
+        assertThat(result.getMissingDomains()).containsExactly(SlowContributor.DOMAIN);
+    }
+
+    @Test
+    void domainQueriesShareTheConnectionLimit() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<SearchIndexContributor> contributors = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            contributors.add(new CountingContributor("d" + i, active, peak));
+        }
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("soccer.search.federated.budget.default", "5s")
+                .withProperty("soccer.search.federated.max-concurrent-queries", "2");
+        environment.setConversionService(new ApplicationConversionService());
+        FederatedSearch bounded = new FederatedSearch(contributors, transactionManager, jdbcTemplate,
+                environment, new SimpleMeterRegistry());
+        try {
+            FederatedSearchResult result = bounded.search("x", 10);
+
+            assertThat(result.getHits()).hasSize(6);
+            assertThat(result.isPartial()).isFalse();
+            assertThat(peak).hasValue(2);
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @TestConfiguration
+    static class SlowDomain {
+
+        @Bean
+        SlowContributor slowContributor() {
+            return new SlowContributor();
+        }
+    }
+
+    /** A domain whose query never finishes inside its 200 ms budget. */
+    static class SlowContributor implements SearchIndexContributor {
+
+        static final String DOMAIN = "slow";
+        static final long DELAY_MILLIS = 3_000;
+
+        @Override
+        public String searchDomain() {
+            return DOMAIN;
+        }
+
+        @Override
+        public List<SearchDocument> searchDocuments() {
+            return List.of();
+        }
+
+        @Override
+        public List<SearchDocument> findSearchDocuments(String keyword, int limit) {
+            try {
+                Thread.sleep(DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(SearchDocument.of(DOMAIN, 1L, keyword, keyword));
+        }
+    }
+
+    /** Takes 100 ms and records how many domain queries ran at once. */
+    private record CountingContributor(String domain, AtomicInteger active, AtomicInteger peak)
+            implements SearchIndexContributor {
+
+        @Override
+        public String searchDomain() {
+            return domain;
+        }
+
+        @Override
+        public List<SearchDocument> searchDocuments() {
+            return List.of();
+        }
+
+        @Override
+        public List<SearchDocument> findSearchDocuments(String keyword, int limit) {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+            return List.of(SearchDocument.of(domain, 1L, keyword, keyword));
+        }
+    }
+}
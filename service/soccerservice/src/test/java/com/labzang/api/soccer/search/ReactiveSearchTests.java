@@ -0,0 +1,114 @@
+package com.labzang.api.soccer.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.soccer.player.Player;
+import com.labzang.api.soccer.player.PlayerModel;
+import com.labzang.api.soccer.player.PlayerRepository;
+import com.labzang.api.soccer.team.Team;
+import com.labzang.api.soccer.team.TeamRepository;
+
+import reactor.core.publisher.Flux;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ReactiveSearchTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ReactiveSearchRepository reactiveSearchRepository;
+
+    @BeforeEach
+    void seed() {
+        if (playerRepository.findAll().stream().noneMatch(p -> p.getPlayer_uk().startsWith("RX"))) {
+            for (int i = 0; i < 30; i++) {
+                playerRepository.save(Player.builder()
+                        .player_uk(String.format("RX%03d", i))
+                        .player_name("Reactive " + i)
+                        .e_player_name("REACTIVE " + i)
+                        .position("FW")
+                        .build());
+            }
+            playerRepository.save(Player.builder().player_uk("RX100_").player_name("100% Striker").build());
+            teamRepository.save(Team.builder().team_uk("RXT").team_name("Reactive United").region_name("Seoul").build());
+        }
+    }
+
+    @Test
+    void streamsPlayersAndTeamsAsNdjson() throws Exception {
+        ResponseEntity<String> response = get("keyword=reactive&limit=10");
+
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+        List<JsonNode> hits = lines(response.getBody());
+        assertThat(hits).hasSize(11);
+        assertThat(hits).filteredOn(hit -> hit.get("domain").asText().equals(SearchIndex.TEAM)).singleElement()
+                .satisfies(hit -> assertThat(hit.get("data").get("team_name").asText()).isEqualTo("Reactive United"));
+        assertThat(hits).filteredOn(hit -> hit.get("domain").asText().equals(SearchIndex.PLAYER))
+                .extracting(hit -> hit.get("data").get("player_name").asText())
+                .first().isEqualTo("Reactive 0");
+    }
+
+    @Test
+    void domainFilterAndLikeWildcardsAreLiteral() throws Exception {
+        assertThat(lines(get("keyword=REACTIVE&domain=team").getBody())).hasSize(1);
+        List<JsonNode> percent = lines(get("keyword=%25&domain=player").getBody());
+        assertThat(percent).singleElement()
+                .satisfies(hit -> assertThat(hit.get("data").get("player_name").asText()).isEqualTo("100% Striker"));
+        assertThat(get("keyword=%20").getStatusCode()).isEqualTo(HttpStatusCode.valueOf(400));
+        assertThat(get("keyword=a&domain=stadium").getStatusCode()).isEqualTo(HttpStatusCode.valueOf(400));
+    }
+
+    @Test
+    void rowsAreFetchedOnDemand() {
+        Flux<PlayerModel> players = reactiveSearchRepository.searchPlayers("reactive", 500);
+
+        List<String> firstTwo = players.limitRate(1).take(2).map(player -> player.player_uk).collectList().block();
+
+        assertThat(firstTwo).containsExactly("RX000", "RX001");
+    }
+
+    private ResponseEntity<String> get(String query) {
+        return RestClient.create().get()
+                .uri(URI.create("http://localhost:" + port + "/search/stream?" + query))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange((request, response) -> ResponseEntity.status(response.getStatusCode())
+                        .headers(response.getHeaders())
+                        .body(new String(response.getBody().readAllBytes())));
+    }
+
+    private static List<JsonNode> lines(String body) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        return Arrays.stream(body.split("\n")).filter(line -> !line.isBlank()).map(line -> {
+            try {
+                return mapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+    }
+}
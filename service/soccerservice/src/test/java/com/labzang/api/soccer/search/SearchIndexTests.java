@@ -0,0 +1,119 @@
+package com.labzang.api.soccer.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.labzang.api.soccer.common.Messenger;
+
+class SearchIndexTests {
+
+    private final SearchIndex index = new SearchIndex();
+
+    @Test
+    void rebuildMakesDocumentsSearchableEarliestMatchFirst() {
+        assertThat(index.isReady()).isFalse();
+
+        index.rebuild(() -> List.of(
+                team(1L, "Seoul United"),
+                team(2L, "United Busan"),
+                SearchDocument.of(SearchIndex.STADIUM, 3L, "United Arena", "United Arena")));
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("UNITED", Set.of(SearchIndex.TEAM), 10))
+                .extracting(SearchDocument::getId).containsExactly(2L, 1L);
+        // ties on position go by domain, then id
+        assertThat(index.search("united", null, 10))
+                .extracting(SearchDocument::getId).containsExactly(3L, 2L, 1L);
+        assertThat(index.search("united", null, 1)).hasSize(1);
+        assertThat(index.search("daegu", null, 10)).isEmpty();
+        assertThat(index.stats().getDocuments()).containsEntry(SearchIndex.TEAM, 2L);
+    }
+
+    @Test
+    void writesDuringRebuildAreReplayedOnTheNewSegment() {
+        index.rebuild(() -> List.of(team(1L, "Old Name")));
+
+        index.rebuild(() -> {
+            // a commit that lands while the loader is reading: the loaded rows predate it
+            index.put(team(1L, "New Name"));
+            index.put(team(2L, "Added Meanwhile"));
+            index.remove(SearchIndex.TEAM, 3L);
+            // still served from the old segment until the swap
+            assertThat(index.search("new name", null, 10)).extracting(SearchDocument::getId).containsExactly(1L);
+            return List.of(team(1L, "Old Name"), team(3L, "Deleted Meanwhile"));
+        });
+
+        assertThat(index.search("old name", null, 10)).isEmpty();
+        assertThat(index.search("new name", null, 10)).extracting(SearchDocument::getId).containsExactly(1L);
+        assertThat(index.search("meanwhile", null, 10)).extracting(SearchDocument::getId).containsExactly(2L);
+    }
+
+    @Test
+    void failedRebuildKeepsTheCurrentSegment() {
+        index.rebuild(() -> List.of(team(1L, "Kept")));
+
+        assertThatThrownBy(() -> index.rebuild(() -> {
+            throw new IllegalStateException("database down");
+        })).hasMessage("database down");
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("kept", null, 10)).hasSize(1);
+        index.put(team(2L, "After Failure"));
+        assertThat(index.search("after failure", null, 10)).hasSize(1);
+    }
+
+    @Test
+    void transactionalWritesApplyOnlyAfterCommit() {
+        index.rebuild(List::of);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.put(team(1L, "Uncommitted"));
+            assertThat(index.search("uncommitted", null, 10)).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(index.search("uncommitted", null, 10)).hasSize(1);
+    }
+
+    @Test
+    void searchFallsBackToTheDatabaseUntilTheIndexIsReady() {
+        SearchIndexContributor teams = new SearchIndexContributor() {
+            @Override
+            public String searchDomain() {
+                return SearchIndex.TEAM;
+            }
+
+            @Override
+            public List<SearchDocument> searchDocuments() {
+                return List.of(team(1L, "From Index"));
+            }
+
+            @Override
+            public List<SearchDocument> findSearchDocuments(String keyword, int limit) {
+                return List.of(team(2L, "From Database"));
+            }
+        };
+        SearchController controller = new SearchController(index, List.of(teams), null);
+        SearchDTO request = SearchDTO.builder().domain(SearchIndex.TEAM).keyword("from").build();
+
+        Messenger cold = controller.search(request);
+        assertThat(cold.getStatus()).isEqualTo(200);
+        assertThat(cold.getData()).isEqualTo(List.of("From Database"));
+
+        new SearchIndexLoader(index, List.of(teams)).rebuild();
+        assertThat(controller.search(request).getData()).isEqualTo(List.of("From Index"));
+    }
+
+    private static SearchDocument team(Long id, String name) {
+        return SearchDocument.of(SearchIndex.TEAM, id, name, name);
+    }
+}
@@ -0,0 +1,61 @@
+package com.labzang.api.soccer.team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.labzang.api.soccer.config.CacheConfig;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamCacheTests {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void idIsCachedInsteadOfTheEntity() {
+        Team saved = teamRepository.save(Team.builder().team_uk("C01").team_name("Cached").build());
+
+        assertThat(teamRepository.findIdByTeam_uk("C01")).contains(saved.getId());
+
+        Cache.ValueWrapper cached = teamsByUk().get("C01");
+        assertThat(cached).isNotNull();
+        assertThat(cached.get()).isEqualTo(saved.getId());
+    }
+
+    @Test
+    void evictionWaitsForCommit() {
+        Team saved = teamRepository.save(Team.builder().team_uk("C02").team_name("Before").build());
+        teamRepository.findIdByTeam_uk("C02");
+        assertThat(teamsByUk().get("C02")).isNotNull();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            teamService.update(TeamModel.builder().id(saved.getId()).team_name("After").build());
+            // an uncommitted write must not open the cache to a re-read of the old row
+            assertThat(teamsByUk().get("C02")).isNotNull();
+        });
+
+        assertThat(teamsByUk().get("C02")).isNull();
+    }
+
+    private Cache teamsByUk() {
+        return cacheManager.getCache(CacheConfig.TEAMS_BY_UK);
+    }
+}
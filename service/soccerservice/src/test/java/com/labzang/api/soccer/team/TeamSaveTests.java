@@ -0,0 +1,58 @@
+package com.labzang.api.soccer.team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.labzang.api.soccer.common.Messenger;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamSaveTests {
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Test
+    void saveWithIdAndVersionUpdatesTheRow() {
+        TeamModel created = (TeamModel) teamService.save(TeamModel.builder().team_uk("S01").team_name("First").build()).getData();
+
+        Messenger resaved = teamService.save(TeamModel.builder()
+                .id(created.id).version(created.version).team_uk("S01").team_name("Second").build());
+
+        assertThat(resaved.getStatus()).isEqualTo(200);
+        Team row = teamRepository.findById(created.id).orElseThrow();
+        assertThat(row.getTeam_name()).isEqualTo("Second");
+        assertThat(row.getVersion()).isEqualTo(created.version + 1);
+    }
+
+    @Test
+    void saveAllWithIdsUpdatesTheRows() {
+        TeamModel created = (TeamModel) teamService.save(TeamModel.builder().team_uk("S02").team_name("Before").build()).getData();
+
+        Messenger result = teamService.saveAll(List.of(
+                TeamModel.builder().id(created.id).version(created.version).team_uk("S02").team_name("After").build(),
+                TeamModel.builder().team_uk("S03").team_name("New").build()));
+
+        assertThat(result.getStatus()).isEqualTo(200);
+        assertThat(teamRepository.findById(created.id).orElseThrow().getTeam_name()).isEqualTo("After");
+    }
+
+    @Test
+    void idWithoutVersionIsRejected() {
+        TeamModel created = (TeamModel) teamService.save(TeamModel.builder().team_uk("S04").team_name("Kept").build()).getData();
+
+        assertThat(teamService.save(TeamModel.builder().id(created.id).team_name("Lost").build()).getStatus()).isEqualTo(400);
+        assertThat(teamService.saveAll(List.of(TeamModel.builder().id(created.id).team_name("Lost").build())).getStatus())
+                .isEqualTo(400);
+        assertThat(teamRepository.findById(created.id).orElseThrow().getTeam_name()).isEqualTo("Kept");
+    }
+}